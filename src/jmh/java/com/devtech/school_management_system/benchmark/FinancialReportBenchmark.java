@@ -0,0 +1,120 @@
+package com.devtech.school_management_system.benchmark;
+
+import com.devtech.school_management_system.dto.FinancialReportDTO;
+import com.devtech.school_management_system.enums.PaymentStatus;
+import com.devtech.school_management_system.repository.FeePaymentRepository;
+import com.devtech.school_management_system.repository.PaymentDailyRollupRepository;
+import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.ClassPaymentStatusTotals;
+import com.devtech.school_management_system.repository.projection.DailyPaymentTotals;
+import com.devtech.school_management_system.service.FinancialReportService;
+import com.devtech.school_management_system.service.PaymentRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Financial report assembly over a synthetic term of fee payments. The payments are grouped in setup the way
+ * the database GROUP BY and rollup queries would, so the measured part is the service's own aggregation of
+ * class/status and daily totals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FinancialReportBenchmark {
+
+    private static final String[] FORMS = {"Form 1", "Form 2", "Form 3", "Form 4", "Form 5", "Form 6"};
+    private static final String[] SECTIONS = {"A", "B", "C", "D"};
+
+    @Param({"10000", "100000"})
+    public int payments;
+
+    private FinancialReportService service;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        startDate = LocalDate.of(2025, 1, 6);
+        endDate = startDate.plusDays(90);
+
+        // key: form|section|status -> {count, paid, balance}
+        Map<String, Object[]> classTotals = new TreeMap<>();
+        Map<LocalDate, Object[]> dailyTotals = new TreeMap<>();
+        for (int i = 0; i < payments; i++) {
+            String form = FORMS[random.nextInt(FORMS.length)];
+            String section = SECTIONS[random.nextInt(SECTIONS.length)];
+            PaymentStatus status = PaymentStatus.values()[random.nextInt(PaymentStatus.values().length)];
+            BigDecimal fee = BigDecimal.valueOf(150);
+            BigDecimal paid = switch (status) {
+                case FULL_PAYMENT -> fee;
+                case PART_PAYMENT -> BigDecimal.valueOf(10 + random.nextInt(140));
+                case NON_PAYER -> BigDecimal.ZERO;
+            };
+            LocalDate date = startDate.plusDays(random.nextInt(91));
+
+            Object[] classRow = classTotals.computeIfAbsent(form + "|" + section + "|" + status,
+                    key -> new Object[]{0L, BigDecimal.ZERO, BigDecimal.ZERO});
+            classRow[0] = (Long) classRow[0] + 1;
+            classRow[1] = ((BigDecimal) classRow[1]).add(paid);
+            classRow[2] = ((BigDecimal) classRow[2]).add(fee.subtract(paid));
+
+            Object[] dailyRow = dailyTotals.computeIfAbsent(date, key -> new Object[]{BigDecimal.ZERO, 0L});
+            dailyRow[0] = ((BigDecimal) dailyRow[0]).add(paid);
+            dailyRow[1] = (Long) dailyRow[1] + 1;
+        }
+
+        List<ClassPaymentStatusTotals> classRows = new ArrayList<>();
+        classTotals.forEach((key, totals) -> {
+            String[] parts = key.split("\\|");
+            classRows.add(Stubs.projection(ClassPaymentStatusTotals.class, Map.of(
+                    "form", parts[0],
+                    "section", parts[1],
+                    "paymentStatus", PaymentStatus.valueOf(parts[2]),
+                    "paymentCount", totals[0],
+                    "totalPaid", totals[1],
+                    "totalBalance", totals[2])));
+        });
+        List<DailyPaymentTotals> dailyRows = new ArrayList<>();
+        dailyTotals.forEach((date, totals) -> dailyRows.add(Stubs.projection(DailyPaymentTotals.class, Map.of(
+                "paymentDate", date,
+                "totalAmount", totals[0],
+                "transactionCount", totals[1]))));
+
+        FeePaymentRepository feePaymentRepository = Stubs.of(FeePaymentRepository.class)
+                .answer("summarizeByClassAndStatus", args -> classRows)
+                .build();
+        PaymentDailyRollupRepository rollupRepository = Stubs.of(PaymentDailyRollupRepository.class)
+                .answer("sumByDay", args -> dailyRows)
+                .build();
+        service = new FinancialReportService(feePaymentRepository, Stubs.of(StudentRepository.class).build(),
+                new PaymentRollupService(rollupRepository, feePaymentRepository), new ObjectMapper());
+    }
+
+    @Benchmark
+    public FinancialReportDTO generateFinancialReport() {
+        return service.generateFinancialReport("Term 1", "2025", startDate, endDate);
+    }
+}
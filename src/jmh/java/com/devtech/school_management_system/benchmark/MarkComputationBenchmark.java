@@ -0,0 +1,109 @@
+package com.devtech.school_management_system.benchmark;
+
+import com.devtech.school_management_system.dto.ClassStatisticsDTO;
+import com.devtech.school_management_system.repository.SubjectReportRepository;
+import com.devtech.school_management_system.repository.projection.ClassMarkRow;
+import com.devtech.school_management_system.service.ClassStatisticsService;
+import com.devtech.school_management_system.service.SubjectMarkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grade and mark computation: deriving coursework/exam/total marks and grades from accumulator sums, and a
+ * class's positions, percentiles and per-subject statistics from its total marks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkComputationBenchmark {
+
+    private static final int SUBJECTS = 9;
+
+    @Param({"45", "400"})
+    public int students;
+
+    private double[] courseworkSums;
+    private int[] courseworkCounts;
+    private double[] examSums;
+    private int[] examCounts;
+    private SubjectReportRepository subjectReportRepository;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int marks = students * SUBJECTS;
+        courseworkSums = new double[marks];
+        courseworkCounts = new int[marks];
+        examSums = new double[marks];
+        examCounts = new int[marks];
+        List<ClassMarkRow> rows = new ArrayList<>(marks);
+        for (int student = 0; student < students; student++) {
+            for (int subject = 0; subject < SUBJECTS; subject++) {
+                int i = student * SUBJECTS + subject;
+                courseworkCounts[i] = 1 + random.nextInt(6);
+                examCounts[i] = random.nextInt(2);
+                for (int c = 0; c < courseworkCounts[i]; c++) {
+                    courseworkSums[i] += 20 + random.nextInt(81);
+                }
+                examSums[i] = examCounts[i] * (10 + random.nextInt(91));
+                // Whole marks so ties, and therefore shared positions, actually occur
+                rows.add(new MarkRow(student + 1, subject + 1, 20 + random.nextInt(81)));
+            }
+        }
+        subjectReportRepository = Stubs.of(SubjectReportRepository.class)
+                .answer("findClassMarkRows", args -> rows)
+                .build();
+    }
+
+    @Benchmark
+    public void subjectMarks(Blackhole blackhole) {
+        for (int i = 0; i < courseworkSums.length; i++) {
+            blackhole.consume(SubjectMarkService.SubjectMarks.of(
+                    courseworkSums[i], courseworkCounts[i], examSums[i], examCounts[i]));
+        }
+    }
+
+    @Benchmark
+    public ClassStatisticsDTO classStatistics() {
+        // A fresh service each time so the statistics cache never answers
+        return new ClassStatisticsService(subjectReportRepository)
+                .getClassStatistics("Form 1", "A", "Term 1", "2025");
+    }
+
+    private static final class MarkRow implements ClassMarkRow {
+        private final long studentId;
+        private final long subjectId;
+        private final double totalMark;
+
+        private MarkRow(long studentId, long subjectId, double totalMark) {
+            this.studentId = studentId;
+            this.subjectId = subjectId;
+            this.totalMark = totalMark;
+        }
+
+        @Override public Long getStudentId() { return studentId; }
+        @Override public String getFirstName() { return "Student"; }
+        @Override public String getLastName() { return String.valueOf(studentId); }
+        @Override public Long getSubjectId() { return subjectId; }
+        @Override public String getSubjectName() { return "Subject " + subjectId; }
+        @Override public double getTotalMark() { return totalMark; }
+    }
+}
@@ -0,0 +1,87 @@
+package com.devtech.school_management_system.benchmark;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+import com.devtech.school_management_system.repository.FeePaymentRepository;
+import com.devtech.school_management_system.repository.PaymentDailyRollupRepository;
+import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.PaymentExportRow;
+import com.devtech.school_management_system.service.FinancialReportService;
+import com.devtech.school_management_system.service.PaymentRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming all-payments XLSX export. Rows are generated lazily, as from a database cursor, and the fork runs with
+ * a deliberately small heap: if the export held every row in memory the 100k case would fail with OutOfMemoryError.
+ * Run with {@code -prof gc} to see allocation per row.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms128m", "-Xmx128m"})
+@State(Scope.Benchmark)
+public class PaymentExportBenchmark {
+
+    private static final String[] MONTHS = {"January", "February", "March", "April"};
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private FinancialReportService service;
+
+    @Setup
+    public void setUp() {
+        FeePaymentRepository feePaymentRepository = Stubs.of(FeePaymentRepository.class)
+                .answer("streamExportRowsByTermAndAcademicYear",
+                        args -> IntStream.range(0, rows).mapToObj(ExportRow::new))
+                .build();
+        service = new FinancialReportService(feePaymentRepository, Stubs.of(StudentRepository.class).build(),
+                new PaymentRollupService(Stubs.of(PaymentDailyRollupRepository.class).build(), feePaymentRepository),
+                new ObjectMapper());
+    }
+
+    @Benchmark
+    public void writeAllPaymentsToExcel() throws IOException {
+        service.writeAllPaymentsToExcel("Term 1", "2025", OutputStream.nullOutputStream());
+    }
+
+    private static final class ExportRow implements PaymentExportRow {
+        private final int index;
+
+        private ExportRow(int index) {
+            this.index = index;
+        }
+
+        @Override public String getStudentId() { return "S" + (100000 + index / 4); }
+        @Override public String getFirstName() { return "First" + index % 997; }
+        @Override public String getLastName() { return "Last" + index % 991; }
+        @Override public String getForm() { return "Form " + (1 + index % 6); }
+        @Override public String getSection() { return String.valueOf((char) ('A' + index % 4)); }
+        @Override public String getTerm() { return "Term 1"; }
+        @Override public String getMonth() { return MONTHS[index % MONTHS.length]; }
+        @Override public String getAcademicYear() { return "2025"; }
+        @Override public BigDecimal getMonthlyFeeAmount() { return BigDecimal.valueOf(150); }
+        @Override public BigDecimal getAmountPaid() { return BigDecimal.valueOf(index % 151); }
+        @Override public BigDecimal getBalance() { return BigDecimal.valueOf(150 - index % 151); }
+        @Override public PaymentStatus getPaymentStatus() { return PaymentStatus.values()[index % 3]; }
+        @Override public LocalDate getPaymentDate() { return LocalDate.of(2025, 1, 6).plusDays(index % 90); }
+    }
+}
@@ -0,0 +1,95 @@
+package com.devtech.school_management_system.benchmark;
+
+import com.devtech.school_management_system.dto.StudentReportDTO;
+import com.devtech.school_management_system.dto.SubjectReportDTO;
+import com.devtech.school_management_system.service.ReportCardRenderer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report card rendering throughput. The "pages" counter is reported per second alongside cards per second;
+ * run with {@code -t 4} to match the default {@code report.cards.parallelism}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class ReportCardRenderBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Pages {
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pages = 0;
+        }
+    }
+
+    private final ReportCardRenderer renderer = new ReportCardRenderer();
+    private StudentReportDTO report;
+    private ReportCardRenderer.Assets assets;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<SubjectReportDTO> subjects = new ArrayList<>();
+        for (long i = 1; i <= 9; i++) {
+            double coursework = 40 + i * 5;
+            double exam = 35 + i * 6;
+            subjects.add(new SubjectReportDTO(i, i, "Subject " + i, "S" + i, coursework, exam,
+                    coursework * 0.4 + exam * 0.6,
+                    "Consistent effort this term; keep revising past papers and ask questions in class.",
+                    i, "Teacher " + i));
+        }
+        report = new StudentReportDTO(1L, 1L, "Tendai Moyo", "Form 3", "A", "Term 1", "2025", subjects,
+                "A diligent learner who participates well in class and supports peers.", true);
+
+        byte[] logo = png(300, 300);
+        byte[] signature = png(600, 180);
+        assets = new ReportCardRenderer.Assets("Benchmark High School", "1 School Road", "Excellence in Learning",
+                "This report is computer generated.", "Principal Name", "Class Teacher",
+                logo, signature, signature);
+    }
+
+    @Benchmark
+    public ReportCardRenderer.RenderedCard render(Pages pages) throws IOException {
+        ReportCardRenderer.RenderedCard card = renderer.render(report, 3, 45, assets);
+        pages.pages += card.pageCount();
+        return card;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, (x * 7 + y * 13) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
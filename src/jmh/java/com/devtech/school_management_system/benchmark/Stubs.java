@@ -0,0 +1,82 @@
+package com.devtech.school_management_system.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Dynamic-proxy stand-ins for repository and projection interfaces, so services can be benchmarked without a
+ * database. Methods without an answer return an empty list, zero, false or null.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * A projection whose getters return the given values, keyed by property name ("studentId" for getStudentId).
+     */
+    static <T> T projection(Class<T> type, Map<String, Object> values) {
+        Builder<T> builder = new Builder<>(type);
+        values.forEach((property, value) -> builder.answer(
+                "get" + Character.toUpperCase(property.charAt(0)) + property.substring(1), args -> value));
+        return builder.build();
+    }
+
+    static final class Builder<T> {
+        private final Class<T> type;
+        private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        Builder<T> answer(String methodName, Function<Object[], Object> answer) {
+            answers.put(methodName, answer);
+            return this;
+        }
+
+        T build() {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                switch (method.getName()) {
+                    case "toString":
+                        return type.getSimpleName() + " stub";
+                    case "hashCode":
+                        return System.identityHashCode(self);
+                    case "equals":
+                        return self == args[0];
+                    default:
+                        break;
+                }
+                Function<Object[], Object> answer = answers.get(method.getName());
+                if (answer != null) {
+                    return answer.apply(args != null ? args : new Object[0]);
+                }
+                Class<?> returnType = method.getReturnType();
+                if (List.class.isAssignableFrom(returnType)) {
+                    return List.of();
+                }
+                if (returnType == boolean.class) {
+                    return false;
+                }
+                if (returnType == long.class) {
+                    return 0L;
+                }
+                if (returnType == int.class) {
+                    return 0;
+                }
+                if (returnType == double.class) {
+                    return 0.0;
+                }
+                return null;
+            });
+            return type.cast(proxy);
+        }
+    }
+}
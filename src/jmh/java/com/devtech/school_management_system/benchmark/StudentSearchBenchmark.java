@@ -0,0 +1,91 @@
+package com.devtech.school_management_system.benchmark;
+
+import com.devtech.school_management_system.repository.projection.StudentSearchRow;
+import com.devtech.school_management_system.service.StudentNgramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead student search at fee-counter scale: the warm trigram index against the findAll-and-filter scan it
+ * replaced, which lowercased every name per request. The database LIKE path needs MySQL and is not measured here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Tendai", "Rudo", "Tatenda", "Chipo", "Farai", "Nyasha", "Tafadzwa",
+            "Kudzai", "Rumbidzai", "Tinashe", "Blessing", "Memory", "Takudzwa", "Ruvimbo", "Simbarashe", "Mary"};
+    private static final String[] LAST_NAMES = {"Moyo", "Ncube", "Sibanda", "Dube", "Mpofu", "Ndlovu", "Chikore",
+            "Marufu", "Mutasa", "Chirwa", "Banda", "Phiri", "Mhlanga", "Zhou", "Gumbo", "Makoni"};
+
+    private record SearchRow(Long id, String name, String studentId, String firstName, String lastName)
+            implements StudentSearchRow {
+        @Override public Long getId() { return id; }
+        @Override public String getSearchName() { return name; }
+        @Override public String getSearchStudentId() { return studentId; }
+    }
+
+    @Param({"5000"})
+    public int students;
+
+    @Param({"mar", "s10042", "chikore"})
+    public String query;
+
+    private StudentNgramIndex index;
+    private List<SearchRow> rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>(students);
+        for (int i = 0; i < students; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String studentId = "S" + (10000 + i);
+            rows.add(new SearchRow((long) i + 1, (firstName + " " + lastName).toLowerCase(Locale.ROOT),
+                    studentId.toLowerCase(Locale.ROOT), firstName, lastName));
+        }
+        index = new StudentNgramIndex();
+        index.load(new ArrayList<>(rows));
+    }
+
+    @Benchmark
+    public List<Long> ngramIndex() {
+        return index.search(query, 0, 10);
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        List<Long> ids = new ArrayList<>(10);
+        for (SearchRow row : rows) {
+            String fullName = (row.firstName() + " " + row.lastName()).toLowerCase();
+            if (fullName.contains(query) || row.firstName().toLowerCase().contains(query)
+                    || row.lastName().toLowerCase().contains(query)) {
+                ids.add(row.id());
+                if (ids.size() == 10) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,121 @@
+package com.devtech.school_management_system.benchmark;
+
+import com.devtech.school_management_system.dto.SubjectAssignmentResultDTO;
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.entity.Subject;
+import com.devtech.school_management_system.repository.AssessmentRepository;
+import com.devtech.school_management_system.repository.AttendanceRepository;
+import com.devtech.school_management_system.repository.ClassGroupRepository;
+import com.devtech.school_management_system.repository.FeePaymentRepository;
+import com.devtech.school_management_system.repository.GuardianRepository;
+import com.devtech.school_management_system.repository.MarkAccumulatorRepository;
+import com.devtech.school_management_system.repository.PaymentDailyRollupRepository;
+import com.devtech.school_management_system.repository.ReportRepository;
+import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.StudentSubjectRepository;
+import com.devtech.school_management_system.repository.SubjectRepository;
+import com.devtech.school_management_system.repository.projection.StudentSubjectPair;
+import com.devtech.school_management_system.service.PaymentRollupService;
+import com.devtech.school_management_system.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Set-based subject assignment for a class: one existing-pair lookup per chunk, an in-memory diff on a primitive
+ * set, and one batch insert. A third of the pairs already exist. Time per student should stay flat across sizes,
+ * i.e. the total scales linearly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubjectAssignmentBenchmark {
+
+    private static final int SUBJECTS = 9;
+    private static final int ALREADY_ASSIGNED = 3;
+
+    private record Pair(Long studentId, Long subjectId) implements StudentSubjectPair {
+        @Override public Long getStudentId() { return studentId; }
+        @Override public Long getSubjectId() { return subjectId; }
+    }
+
+    @Param({"200", "2000", "20000"})
+    public int students;
+
+    private StudentService service;
+    private List<Long> subjectIds;
+
+    @Setup
+    public void setUp() {
+        List<Student> classStudents = new ArrayList<>(students);
+        Map<Long, List<StudentSubjectPair>> existingPairs = new HashMap<>();
+        for (long id = 1; id <= students; id++) {
+            Student student = new Student();
+            student.setId(id);
+            student.setAcademicYear("2025");
+            classStudents.add(student);
+            List<StudentSubjectPair> pairs = new ArrayList<>(ALREADY_ASSIGNED);
+            for (long subjectId = 1; subjectId <= ALREADY_ASSIGNED; subjectId++) {
+                pairs.add(new Pair(id, subjectId));
+            }
+            existingPairs.put(id, pairs);
+        }
+
+        List<Subject> subjects = new ArrayList<>(SUBJECTS);
+        subjectIds = new ArrayList<>(SUBJECTS);
+        for (long id = 1; id <= SUBJECTS; id++) {
+            Subject subject = new Subject();
+            subject.setId(id);
+            subjects.add(subject);
+            subjectIds.add(id);
+        }
+
+        StudentSubjectRepository studentSubjectRepository = Stubs.of(StudentSubjectRepository.class)
+                .answer("findPairsByStudentIdInAndSubjectIdIn", args -> {
+                    List<StudentSubjectPair> found = new ArrayList<>();
+                    for (Object studentId : (Collection<?>) args[0]) {
+                        found.addAll(existingPairs.get((Long) studentId));
+                    }
+                    return found;
+                })
+                .answer("batchInsertStudentSubjects", args -> ((List<?>) args[0]).size())
+                .build();
+
+        service = new StudentService(
+                Stubs.of(StudentRepository.class).answer("findByFormAndSection", args -> classStudents).build(),
+                Stubs.of(ClassGroupRepository.class).build(),
+                Stubs.of(SubjectRepository.class).answer("findAllById", args -> subjects).build(),
+                studentSubjectRepository,
+                Stubs.of(GuardianRepository.class).build(),
+                Stubs.of(AssessmentRepository.class).build(),
+                Stubs.of(FeePaymentRepository.class).build(),
+                Stubs.of(ReportRepository.class).build(),
+                Stubs.of(AttendanceRepository.class).build(),
+                Stubs.of(MarkAccumulatorRepository.class).build(),
+                new PaymentRollupService(Stubs.of(PaymentDailyRollupRepository.class).build(),
+                        Stubs.of(FeePaymentRepository.class).build()));
+    }
+
+    @Benchmark
+    public SubjectAssignmentResultDTO bulkAssignSubjectsToClass() {
+        return service.bulkAssignSubjectsToClass("Form 1", "A", subjectIds);
+    }
+}
@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.devtech.school_management_system.repository")
 @EntityScan(basePackages = "com.devtech.school_management_system.entity")
+@EnableScheduling
 public class SchoolManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -26,6 +26,7 @@ public class CorsConfig {
         
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "Link"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
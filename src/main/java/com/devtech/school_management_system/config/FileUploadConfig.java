@@ -1,33 +1,17 @@
 package com.devtech.school_management_system.config;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.multipart.support.StandardServletMultipartResolver;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-import java.nio.file.Path;
-import java.nio.file.Paths;
 
+/**
+ * Multipart handling for uploads. Uploaded files are served by FileController through StaticAssetService.
+ */
 @Configuration
-public class FileUploadConfig implements WebMvcConfigurer {
-
-    @Value("${file.upload.directory:./uploads}")
-    private String uploadDirectory;
+public class FileUploadConfig {
 
     @Bean
     public StandardServletMultipartResolver multipartResolver() {
         return new StandardServletMultipartResolver();
     }
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadDir = Paths.get(uploadDirectory);
-        String uploadPath = uploadDir.toFile().getAbsolutePath();
-
-        // Map file requests to physical location
-        registry.addResourceHandler("/api/uploads/**")
-                .addResourceLocations("file:" + uploadPath + "/");
-    }
 }
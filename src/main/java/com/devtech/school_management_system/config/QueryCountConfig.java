@@ -0,0 +1,44 @@
+package com.devtech.school_management_system.config;
+
+import com.devtech.school_management_system.util.QueryCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adds Hibernate event listeners that feed entity loads and lazy collection fetches into {@link QueryCounter}.
+ * Statements are counted by {@link QueryCountInspector}.
+ */
+@Configuration
+public class QueryCountConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+
+    public QueryCountConfig(EntityManagerFactory entityManagerFactory,
+                            @Value("${monitoring.queries.enabled:true}") boolean enabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        PostLoadEventListener entityLoads = event -> QueryCounter.entityLoaded();
+        InitializeCollectionEventListener collectionFetches = event -> QueryCounter.collectionFetched();
+        registry.appendListeners(EventType.POST_LOAD, entityLoads);
+        registry.appendListeners(EventType.INIT_COLLECTION, collectionFetches);
+    }
+}
@@ -0,0 +1,17 @@
+package com.devtech.school_management_system.config;
+
+import com.devtech.school_management_system.util.QueryCounter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares, leaving the SQL unchanged. Instantiated by Hibernate from
+ * {@code hibernate.session_factory.statement_inspector}, so it holds no state of its own.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.statementPrepared();
+        return sql;
+    }
+}
@@ -1,5 +1,7 @@
 package com.devtech.school_management_system.controller;
 
+import com.devtech.school_management_system.dto.ClassAttendanceDTO;
+import com.devtech.school_management_system.dto.ClassAttendanceResultDTO;
 import com.devtech.school_management_system.entity.Attendance;
 import com.devtech.school_management_system.service.AttendanceService;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -25,6 +27,15 @@ public class AttendanceController {
         return attendanceService.markAttendance(studentId, date, present);
     }
 
+    @PostMapping("/class")
+    public ClassAttendanceResultDTO markClassAttendance(@RequestBody ClassAttendanceDTO classAttendanceDTO) {
+        return attendanceService.markClassAttendance(
+                classAttendanceDTO.getForm(),
+                classAttendanceDTO.getSection(),
+                classAttendanceDTO.getDate(),
+                classAttendanceDTO.getPresentStudentIds());
+    }
+
     @GetMapping("/student/{studentId}")
     public List<Attendance> getAttendanceByStudent(@PathVariable Long studentId) {
         return attendanceService.getAttendanceByStudent(studentId);
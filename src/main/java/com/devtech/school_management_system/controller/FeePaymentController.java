@@ -3,6 +3,7 @@ package com.devtech.school_management_system.controller;
 import com.devtech.school_management_system.dto.*;
 import com.devtech.school_management_system.entity.FeePayment;
 import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.enums.PaymentGranularity;
 import com.devtech.school_management_system.service.FeePaymentService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
@@ -43,6 +44,15 @@ public class FeePaymentController {
         return feePaymentService.getDailyPaymentSummary(date);
     }
 
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<DailyPaymentSummaryDTO> getPaymentSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") PaymentGranularity granularity) {
+        return feePaymentService.getPaymentSummaries(startDate, endDate, granularity);
+    }
+
     @GetMapping("/student/{studentId}/term/{term}/year/{academicYear}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
     public List<FeePayment> getStudentPayments(
@@ -61,8 +71,10 @@ public class FeePaymentController {
     
     @GetMapping("/search-students")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
-    public List<Student> searchStudentsByName(@RequestParam String query) {
-        return feePaymentService.searchStudentsByName(query);
+    public List<Student> searchStudentsByName(@RequestParam String query,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "10") int size) {
+        return feePaymentService.searchStudentsByName(query, page, Math.min(Math.max(size, 1), 100));
     }
     
     @PostMapping("/fix-payment-status")
@@ -1,35 +1,55 @@
 package com.devtech.school_management_system.controller;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import com.devtech.school_management_system.enums.ImageVariant;
+import com.devtech.school_management_system.service.StaticAssetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @RestController
-@RequestMapping("/uploads")
 public class FileController {
 
-    @GetMapping("/signatures/{filename:.+}")
-    public ResponseEntity<Resource> getSignatureFile(@PathVariable String filename) {
-        try {
-            Path filePath = Paths.get("uploads/signatures").resolve(filename).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+    private final StaticAssetService staticAssetService;
+    private final Path signatureDirectory = Paths.get("uploads/signatures");
+    private final Path uploadDirectory;
+
+    public FileController(StaticAssetService staticAssetService,
+                          @Value("${file.upload.directory:./uploads}") String uploadDirectory) {
+        this.staticAssetService = staticAssetService;
+        this.uploadDirectory = Paths.get(uploadDirectory);
+    }
+
+    @RequestMapping(value = "/uploads/signatures/{filename:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void getSignatureFile(@PathVariable String filename,
+                                 @RequestParam(required = false) String variant,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        staticAssetService.serve(signatureDirectory, variantOrOriginal(signatureDirectory, filename, variant),
+                request, response);
+    }
+
+    @RequestMapping(value = "/api/uploads/{filename:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void getUploadedFile(@PathVariable String filename,
+                                @RequestParam(required = false) String variant,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        staticAssetService.serve(uploadDirectory, variantOrOriginal(uploadDirectory, filename, variant),
+                request, response);
+    }
+
+    // ?variant=thumb|card selects a resized copy; images too small to need one only have the original
+    private static String variantOrOriginal(Path directory, String filename, String variant) {
+        ImageVariant imageVariant = ImageVariant.fromSuffix(variant);
+        if (imageVariant == null) {
+            return filename;
         }
+        String variantName = imageVariant.fileName(filename);
+        return Files.isRegularFile(directory.resolve(variantName).normalize()) ? variantName : filename;
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,10 @@ package com.devtech.school_management_system.controller;
 
 import com.devtech.school_management_system.dto.*;
 import com.devtech.school_management_system.entity.FeePayment;
+import com.devtech.school_management_system.enums.PaymentGranularity;
 import com.devtech.school_management_system.service.FinancialReportService;
+import com.devtech.school_management_system.service.PaymentRollupService;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -12,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,9 +25,12 @@ import java.util.List;
 public class FinancialReportController {
     
     private final FinancialReportService financialReportService;
+    private final PaymentRollupService paymentRollupService;
 
-    public FinancialReportController(FinancialReportService financialReportService) {
+    public FinancialReportController(FinancialReportService financialReportService,
+                                     PaymentRollupService paymentRollupService) {
         this.financialReportService = financialReportService;
+        this.paymentRollupService = paymentRollupService;
     }
 
     @GetMapping("/generate")
@@ -38,8 +45,28 @@ public class FinancialReportController {
     
     @GetMapping("/student-payment-history")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<StudentPaymentHistoryDTO> getAllStudentPaymentHistory() {
-        return financialReportService.getAllStudentPaymentHistory();
+    public ResponseEntity<List<StudentPaymentHistoryDTO>> getAllStudentPaymentHistory(
+            Pageable pageable,
+            @RequestParam(required = false) Long afterId) {
+        if (afterId != null) {
+            return PageResponses.afterId(
+                    financialReportService.getStudentPaymentHistoryAfter(afterId, pageable.getPageSize()),
+                    pageable.getPageSize(), StudentPaymentHistoryDTO::getStudentId);
+        }
+        return PageResponses.of(
+                financialReportService.getStudentPaymentHistoryPage(PageResponses.orderedById(pageable)));
+    }
+    
+    /**
+     * The whole school's payment history as one JSON array, written while the database cursor advances.
+     */
+    @GetMapping("/student-payment-history/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllStudentPaymentHistory() {
+        StreamingResponseBody body = financialReportService::writeAllStudentPaymentHistory;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
     
     @GetMapping("/student-payment-history/{studentId}")
@@ -52,8 +79,20 @@ public class FinancialReportController {
     @PreAuthorize("hasRole('ADMIN')")
     public List<PaymentTrendDTO> getPaymentTrends(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return financialReportService.getPaymentTrends(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") PaymentGranularity granularity) {
+        return financialReportService.getPaymentTrends(startDate, endDate, granularity);
+    }
+    
+    /**
+     * Rebuilds the daily payment rollup from fee payments, for one date range or, without dates, all of it.
+     */
+    @PostMapping("/payment-rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public PaymentRollupRebuildResultDTO rebuildPaymentRollup(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return paymentRollupService.rebuild(startDate, endDate);
     }
     
     @GetMapping("/class-comparison")
@@ -122,13 +161,14 @@ public class FinancialReportController {
     
     @GetMapping(value = "/export/all-payments", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<byte[]> exportAllPaymentsToExcel(
+    public ResponseEntity<StreamingResponseBody> exportAllPaymentsToExcel(
             @RequestParam String term,
             @RequestParam String academicYear) {
-        byte[] excelBytes = financialReportService.exportAllPaymentsToExcel(term, academicYear);
+        StreamingResponseBody body = outputStream ->
+                financialReportService.writeAllPaymentsToExcel(term, academicYear, outputStream);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=all_payments.xlsx")
-                .body(excelBytes);
+                .body(body);
     }
     
     @GetMapping(value = "/export/student-history/{studentId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
@@ -3,7 +3,12 @@ package com.devtech.school_management_system.controller;
 import com.devtech.school_management_system.entity.Guardian;
 import com.devtech.school_management_system.repository.GuardianRepository;
 import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.GuardianListRow;
+import com.devtech.school_management_system.service.GuardianService;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,11 +18,25 @@ import java.util.List;
 public class GuardianController {
     private final GuardianRepository guardianRepository;
     private final StudentRepository studentRepository;
+    private final GuardianService guardianService;
 
     public GuardianController(GuardianRepository guardianRepository,
-                              StudentRepository studentRepository) {
+                              StudentRepository studentRepository,
+                              GuardianService guardianService) {
         this.guardianRepository = guardianRepository;
         this.studentRepository = studentRepository;
+        this.guardianService = guardianService;
+    }
+
+    @GetMapping("/all")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
+    public ResponseEntity<List<GuardianListRow>> getAllGuardians(Pageable pageable,
+                                                                 @RequestParam(required = false) Long afterId) {
+        if (afterId != null) {
+            return PageResponses.afterId(guardianService.getGuardiansAfter(afterId, pageable.getPageSize()),
+                    pageable.getPageSize(), GuardianListRow::getId);
+        }
+        return PageResponses.of(guardianService.getGuardiansPage(PageResponses.orderedById(pageable)));
     }
 
     @GetMapping("/student/{studentId}")
@@ -0,0 +1,78 @@
+package com.devtech.school_management_system.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds list responses for paged endpoints. The body stays a plain JSON array, so existing clients keep working;
+ * paging metadata travels in the X-Total-Count and Link (RFC 8288) headers. Offset pages are requested with
+ * page/size, keyset pages with afterId/size, and both are ordered by id.
+ */
+final class PageResponses {
+
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private PageResponses() {
+    }
+
+    /**
+     * Drops any client-supplied sort so offset pages are stable and cannot name arbitrary properties.
+     */
+    static Pageable orderedById(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+    }
+
+    static <T> ResponseEntity<List<T>> of(Page<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()));
+
+        int size = page.getSize();
+        List<String> links = new ArrayList<>();
+        links.add(pageLink(0, size, "first"));
+        if (page.hasPrevious()) {
+            links.add(pageLink(page.getNumber() - 1, size, "prev"));
+        }
+        if (page.hasNext()) {
+            links.add(pageLink(page.getNumber() + 1, size, "next"));
+        }
+        links.add(pageLink(Math.max(page.getTotalPages() - 1, 0), size, "last"));
+        headers.add(HttpHeaders.LINK, String.join(", ", links));
+
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * Keyset pages skip the count query; a full page gets a next link continuing after its last id.
+     */
+    static <T> ResponseEntity<List<T>> afterId(List<T> rows, int size, Function<T, Long> idOf) {
+        HttpHeaders headers = new HttpHeaders();
+        if (rows.size() == size && !rows.isEmpty()) {
+            Long lastId = idOf.apply(rows.get(rows.size() - 1));
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("afterId", lastId)
+                    .replaceQueryParam("size", size)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(rows);
+    }
+
+    private static String pageLink(int page, int size, String rel) {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("afterId")
+                .replaceQueryParam("page", page)
+                .replaceQueryParam("size", size)
+                .toUriString();
+        return "<" + uri + ">; rel=\"" + rel + "\"";
+    }
+}
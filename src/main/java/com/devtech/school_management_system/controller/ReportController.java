@@ -1,13 +1,21 @@
 package com.devtech.school_management_system.controller;
 
+import com.devtech.school_management_system.dto.ClassStatisticsDTO;
+import com.devtech.school_management_system.dto.MarkRecomputeResultDTO;
 import com.devtech.school_management_system.dto.StudentReportDTO;
 import com.devtech.school_management_system.dto.SubjectCommentDTO;
 import com.devtech.school_management_system.dto.OverallCommentDTO;
+import com.devtech.school_management_system.service.ClassStatisticsService;
+import com.devtech.school_management_system.service.ReportCardService;
 import com.devtech.school_management_system.service.ReportService;
+import com.devtech.school_management_system.service.SubjectMarkService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,9 +24,16 @@ import java.util.List;
 public class ReportController {
     
     private final ReportService reportService;
+    private final SubjectMarkService subjectMarkService;
+    private final ClassStatisticsService classStatisticsService;
+    private final ReportCardService reportCardService;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, SubjectMarkService subjectMarkService,
+                            ClassStatisticsService classStatisticsService, ReportCardService reportCardService) {
         this.reportService = reportService;
+        this.subjectMarkService = subjectMarkService;
+        this.classStatisticsService = classStatisticsService;
+        this.reportCardService = reportCardService;
     }
 
     @GetMapping("/class/{form}/{section}/{term}/{year}")
@@ -31,6 +46,46 @@ public class ReportController {
         return reportService.getClassReports(form, section, term, year, authentication.getName());
     }
 
+    @GetMapping("/class/{form}/{section}/{term}/{year}/statistics")
+    @PreAuthorize("hasAnyRole('ROLE_CLASS_TEACHER', 'ROLE_ADMIN')")
+    public ClassStatisticsDTO getClassStatistics(@PathVariable String form,
+                                                 @PathVariable String section,
+                                                 @PathVariable String term,
+                                                 @PathVariable String year) {
+        return classStatisticsService.getClassStatistics(form, section, term, year);
+    }
+
+    @GetMapping(value = "/class/{form}/{section}/{term}/{year}/cards",
+                produces = {MediaType.APPLICATION_PDF_VALUE, "application/zip"})
+    @PreAuthorize("hasAnyRole('ROLE_CLASS_TEACHER', 'ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getClassReportCards(@PathVariable String form,
+                                                                     @PathVariable String section,
+                                                                     @PathVariable String term,
+                                                                     @PathVariable String year,
+                                                                     @RequestParam(defaultValue = "pdf") String format,
+                                                                     Authentication authentication) {
+        boolean zip = "zip".equalsIgnoreCase(format);
+        ReportCardService.ReportCardBatch batch =
+                reportCardService.prepare(form, section, term, year, authentication.getName());
+        StreamingResponseBody body = zip
+                ? outputStream -> reportCardService.writeZip(batch, outputStream)
+                : outputStream -> reportCardService.writePdf(batch, outputStream);
+        String fileName = ("report_cards_" + form + "_" + section + "_" + term + "_" + year)
+                .replaceAll("[^A-Za-z0-9_-]+", "_") + (zip ? ".zip" : ".pdf");
+        return ResponseEntity.ok()
+                .contentType(zip ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .body(body);
+    }
+
+    @GetMapping("/form/{form}/{term}/{year}/statistics")
+    @PreAuthorize("hasAnyRole('ROLE_CLASS_TEACHER', 'ROLE_ADMIN')")
+    public ClassStatisticsDTO getFormStatistics(@PathVariable String form,
+                                                @PathVariable String term,
+                                                @PathVariable String year) {
+        return classStatisticsService.getClassStatistics(form, null, term, year);
+    }
+
     @GetMapping("/subject/{subjectId}/{form}/{section}/{term}/{year}")
     @PreAuthorize("hasAnyRole('ROLE_TEACHER', 'ROLE_CLASS_TEACHER')")
     public List<StudentReportDTO> getSubjectReports(@PathVariable Long subjectId,
@@ -62,4 +117,11 @@ public class ReportController {
                                Authentication authentication) {
         reportService.finalizeReport(reportId, authentication.getName());
     }
-}
\ No newline at end of file
+
+    @PostMapping("/marks/recompute/{term}/{year}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public MarkRecomputeResultDTO recomputeMarks(@PathVariable String term,
+                                                 @PathVariable String year) {
+        return subjectMarkService.recomputeTerm(term, year);
+    }
+}
@@ -7,9 +7,13 @@ import com.devtech.school_management_system.dto.StudentRegistrationDTO;
 import com.devtech.school_management_system.dto.StudentUpdateDTO;
 import com.devtech.school_management_system.dto.PromotionToALevelDTO;
 import com.devtech.school_management_system.dto.StudentSubjectAssignmentDTO;
+import com.devtech.school_management_system.dto.SubjectAssignmentResultDTO;
 import com.devtech.school_management_system.service.StudentService;
 import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.StudentListRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -35,8 +40,13 @@ public class StudentController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
-    public List<Student> getAllStudents() {
-        return studentService.getAllStudents();
+    public ResponseEntity<List<StudentListRow>> getAllStudents(Pageable pageable,
+                                                               @RequestParam(required = false) Long afterId) {
+        if (afterId != null) {
+            return PageResponses.afterId(studentService.getStudentsAfter(afterId, pageable.getPageSize()),
+                    pageable.getPageSize(), StudentListRow::getId);
+        }
+        return PageResponses.of(studentService.getStudentsPage(PageResponses.orderedById(pageable)));
     }
 
     @GetMapping("/{id}")
@@ -123,7 +133,7 @@ public class StudentController {
 
     @PostMapping("/bulk-assign-subjects")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
-    public void bulkAssignSubjectsToClass(@RequestBody java.util.Map<String, Object> requestBody) {
+    public SubjectAssignmentResultDTO bulkAssignSubjectsToClass(@RequestBody java.util.Map<String, Object> requestBody) {
         String form = (String) requestBody.get("form");
         String section = (String) requestBody.get("section");
         @SuppressWarnings("unchecked")
@@ -133,12 +143,12 @@ public class StudentController {
                 .map(Integer::longValue)
                 .collect(java.util.stream.Collectors.toList());
         
-        studentService.bulkAssignSubjectsToClass(form, section, longSubjectIds);
+        return studentService.bulkAssignSubjectsToClass(form, section, longSubjectIds);
     }
 
     @PostMapping("/assign-subjects")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
-    public List<StudentSubject> hybridAssignSubjects(@RequestBody StudentSubjectAssignmentDTO assignmentDTO) {
+    public SubjectAssignmentResultDTO hybridAssignSubjects(@RequestBody StudentSubjectAssignmentDTO assignmentDTO) {
         return studentService.hybridAssignSubjects(assignmentDTO);
     }
 
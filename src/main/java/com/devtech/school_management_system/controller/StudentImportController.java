@@ -1,15 +1,22 @@
 package com.devtech.school_management_system.controller;
 
+import com.devtech.school_management_system.dto.StudentImportJobDTO;
+import com.devtech.school_management_system.entity.StudentImportRow;
+import com.devtech.school_management_system.enums.ImportRowStatus;
+import com.devtech.school_management_system.service.StudentImportJobService;
 import com.devtech.school_management_system.service.StudentImportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,6 +26,9 @@ public class StudentImportController {
     @Autowired
     private StudentImportService studentImportService;
 
+    @Autowired
+    private StudentImportJobService studentImportJobService;
+
     @GetMapping("/template")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLERK')")
     public ResponseEntity<Resource> downloadTemplate() {
@@ -35,13 +45,27 @@ public class StudentImportController {
 
     @PostMapping("/import")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLERK')")
-    public ResponseEntity<Map<String, Object>> importStudents(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> importStudents(@RequestParam("file") MultipartFile file, Authentication authentication) {
         try {
-            Map<String, Object> result = studentImportService.importStudents(file);
-            return ResponseEntity.ok(result);
+            StudentImportJobDTO job = studentImportJobService.submit(file, authentication.getName());
+            return ResponseEntity.accepted().body(job);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "Import failed: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLERK')")
+    public StudentImportJobDTO getImportJob(@PathVariable Long jobId) {
+        return studentImportJobService.getJob(jobId);
+    }
+
+    @GetMapping("/import/{jobId}/rows")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLERK')")
+    public ResponseEntity<List<StudentImportRow>> getImportRows(@PathVariable Long jobId,
+                                                                @RequestParam(required = false) ImportRowStatus status,
+                                                                Pageable pageable) {
+        return PageResponses.of(studentImportJobService.getRows(jobId, status, pageable));
+    }
+}
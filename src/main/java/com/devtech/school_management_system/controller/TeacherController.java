@@ -9,10 +9,13 @@ import com.devtech.school_management_system.entity.ClassGroup;
 import com.devtech.school_management_system.entity.Teacher;
 import com.devtech.school_management_system.entity.TeacherSubjectClass;
 import com.devtech.school_management_system.entity.User;
+import com.devtech.school_management_system.repository.projection.TeacherListRow;
 import com.devtech.school_management_system.service.TeacherAssignmentService;
 import com.devtech.school_management_system.service.TeacherService;
 import com.devtech.school_management_system.service.UserService;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,11 +39,10 @@ public class TeacherController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
-    public Object getAllTeachers(@RequestParam(required = false) Boolean includeUser) {
-        if (Boolean.TRUE.equals(includeUser)) {
-            return teacherService.getAllTeachersWithUserDetails();
-        }
-        return teacherService.getAllTeachers();
+    public ResponseEntity<?> getAllTeachers(@RequestParam(required = false) Boolean includeUser,
+                                            Pageable pageable,
+                                            @RequestParam(required = false) Long afterId) {
+        return pageTeachers(Boolean.TRUE.equals(includeUser), pageable, afterId);
     }
 
     @GetMapping("/{id}")
@@ -95,11 +97,25 @@ public class TeacherController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLERK')")
-    public Object getAllTeachersWithDetails(@RequestParam(required = false) Boolean includeUser) {
-        if (Boolean.TRUE.equals(includeUser)) {
-            return teacherService.getAllTeachersWithUserDetails();
+    public ResponseEntity<?> getAllTeachersWithDetails(@RequestParam(required = false) Boolean includeUser,
+                                                       Pageable pageable,
+                                                       @RequestParam(required = false) Long afterId) {
+        return pageTeachers(Boolean.TRUE.equals(includeUser), pageable, afterId);
+    }
+
+    private ResponseEntity<?> pageTeachers(boolean includeUser, Pageable pageable, Long afterId) {
+        int size = pageable.getPageSize();
+        if (includeUser) {
+            if (afterId != null) {
+                return PageResponses.afterId(teacherService.getTeachersWithUserDetailsAfter(afterId, size),
+                        size, TeacherWithUserDTO::getId);
+            }
+            return PageResponses.of(teacherService.getTeachersWithUserDetailsPage(PageResponses.orderedById(pageable)));
+        }
+        if (afterId != null) {
+            return PageResponses.afterId(teacherService.getTeachersAfter(afterId, size), size, TeacherListRow::getId);
         }
-        return teacherService.getAllTeachers();
+        return PageResponses.of(teacherService.getTeachersPage(PageResponses.orderedById(pageable)));
     }
 
     @GetMapping("/supervised-classes")
@@ -7,6 +7,7 @@ import com.devtech.school_management_system.dto.UserDTO;
 import com.devtech.school_management_system.dto.UserRegistrationDTO;
 import com.devtech.school_management_system.enums.ERole;
 import com.devtech.school_management_system.service.UserService;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,8 +29,13 @@ public class UserManagementController {
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<UserDTO> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<List<UserDTO>> getAllUsers(Pageable pageable,
+                                                     @RequestParam(required = false) Long afterId) {
+        if (afterId != null) {
+            return PageResponses.afterId(userService.getUsersAfter(afterId, pageable.getPageSize()),
+                    pageable.getPageSize(), UserDTO::getId);
+        }
+        return PageResponses.of(userService.getUsersPage(PageResponses.orderedById(pageable)));
     }
 
     @GetMapping("/{username}")
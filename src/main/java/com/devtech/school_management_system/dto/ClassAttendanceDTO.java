@@ -0,0 +1,53 @@
+package com.devtech.school_management_system.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ClassAttendanceDTO {
+    private String form;
+    private String section;
+    private LocalDate date;
+    private List<Long> presentStudentIds;
+
+    public ClassAttendanceDTO() {
+    }
+
+    public ClassAttendanceDTO(String form, String section, LocalDate date, List<Long> presentStudentIds) {
+        this.form = form;
+        this.section = section;
+        this.date = date;
+        this.presentStudentIds = presentStudentIds;
+    }
+
+    public String getForm() {
+        return form;
+    }
+
+    public void setForm(String form) {
+        this.form = form;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<Long> getPresentStudentIds() {
+        return presentStudentIds;
+    }
+
+    public void setPresentStudentIds(List<Long> presentStudentIds) {
+        this.presentStudentIds = presentStudentIds;
+    }
+}
@@ -0,0 +1,73 @@
+package com.devtech.school_management_system.dto;
+
+import java.time.LocalDate;
+
+public class ClassAttendanceResultDTO {
+    private String form;
+    private String section;
+    private LocalDate date;
+    private int totalStudents;
+    private int presentCount;
+    private int absentCount;
+
+    public ClassAttendanceResultDTO() {
+    }
+
+    public ClassAttendanceResultDTO(String form, String section, LocalDate date,
+                                    int totalStudents, int presentCount, int absentCount) {
+        this.form = form;
+        this.section = section;
+        this.date = date;
+        this.totalStudents = totalStudents;
+        this.presentCount = presentCount;
+        this.absentCount = absentCount;
+    }
+
+    public String getForm() {
+        return form;
+    }
+
+    public void setForm(String form) {
+        this.form = form;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+
+    public void setTotalStudents(int totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(int presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public int getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(int absentCount) {
+        this.absentCount = absentCount;
+    }
+}
@@ -0,0 +1,81 @@
+package com.devtech.school_management_system.dto;
+
+import java.util.List;
+
+public class ClassStatisticsDTO {
+    private String form;
+    private String section;
+    private String term;
+    private String academicYear;
+    private int studentCount;
+    private MarkStatisticsDTO overall;
+    private List<MarkStatisticsDTO> subjects;
+    private List<StudentRankingDTO> rankings;
+
+    public ClassStatisticsDTO() {
+    }
+
+    public String getForm() {
+        return form;
+    }
+
+    public void setForm(String form) {
+        this.form = form;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public void setStudentCount(int studentCount) {
+        this.studentCount = studentCount;
+    }
+
+    public MarkStatisticsDTO getOverall() {
+        return overall;
+    }
+
+    public void setOverall(MarkStatisticsDTO overall) {
+        this.overall = overall;
+    }
+
+    public List<MarkStatisticsDTO> getSubjects() {
+        return subjects;
+    }
+
+    public void setSubjects(List<MarkStatisticsDTO> subjects) {
+        this.subjects = subjects;
+    }
+
+    public List<StudentRankingDTO> getRankings() {
+        return rankings;
+    }
+
+    public void setRankings(List<StudentRankingDTO> rankings) {
+        this.rankings = rankings;
+    }
+}
@@ -0,0 +1,50 @@
+package com.devtech.school_management_system.dto;
+
+public class MarkRecomputeResultDTO {
+    private String term;
+    private String academicYear;
+    private int accumulatorCount;
+    private int subjectReportCount;
+
+    public MarkRecomputeResultDTO() {
+    }
+
+    public MarkRecomputeResultDTO(String term, String academicYear, int accumulatorCount, int subjectReportCount) {
+        this.term = term;
+        this.academicYear = academicYear;
+        this.accumulatorCount = accumulatorCount;
+        this.subjectReportCount = subjectReportCount;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public int getAccumulatorCount() {
+        return accumulatorCount;
+    }
+
+    public void setAccumulatorCount(int accumulatorCount) {
+        this.accumulatorCount = accumulatorCount;
+    }
+
+    public int getSubjectReportCount() {
+        return subjectReportCount;
+    }
+
+    public void setSubjectReportCount(int subjectReportCount) {
+        this.subjectReportCount = subjectReportCount;
+    }
+}
@@ -0,0 +1,90 @@
+package com.devtech.school_management_system.dto;
+
+import java.util.Map;
+
+public class MarkStatisticsDTO {
+    private Long subjectId;
+    private String subjectName;
+    private int count;
+    private double mean;
+    private double standardDeviation;
+    private double median;
+    private double min;
+    private double max;
+    private Map<String, Integer> gradeDistribution;
+
+    public MarkStatisticsDTO() {
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public void setSubjectName(String subjectName) {
+        this.subjectName = subjectName;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public void setMedian(double median) {
+        this.median = median;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public Map<String, Integer> getGradeDistribution() {
+        return gradeDistribution;
+    }
+
+    public void setGradeDistribution(Map<String, Integer> gradeDistribution) {
+        this.gradeDistribution = gradeDistribution;
+    }
+}
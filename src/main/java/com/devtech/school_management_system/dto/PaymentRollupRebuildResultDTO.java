@@ -0,0 +1,42 @@
+package com.devtech.school_management_system.dto;
+
+import java.time.LocalDate;
+
+public class PaymentRollupRebuildResultDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int rollupRowCount;
+
+    public PaymentRollupRebuildResultDTO() {
+    }
+
+    public PaymentRollupRebuildResultDTO(LocalDate startDate, LocalDate endDate, int rollupRowCount) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.rollupRowCount = rollupRowCount;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getRollupRowCount() {
+        return rollupRowCount;
+    }
+
+    public void setRollupRowCount(int rollupRowCount) {
+        this.rollupRowCount = rollupRowCount;
+    }
+}
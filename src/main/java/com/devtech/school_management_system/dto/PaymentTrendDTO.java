@@ -12,6 +12,9 @@ public class PaymentTrendDTO {
     private LocalDate date;
     private BigDecimal totalAmount;
     private Integer transactionCount;
+    // Last day and display label of the period starting at date (the same day for daily trends)
+    private LocalDate periodEnd;
+    private String label;
 
     public PaymentTrendDTO() {
     }
@@ -20,6 +23,17 @@ public class PaymentTrendDTO {
         this.date = date;
         this.totalAmount = totalAmount;
         this.transactionCount = transactionCount;
+        this.periodEnd = date;
+        this.label = date != null ? date.toString() : null;
+    }
+
+    public PaymentTrendDTO(LocalDate date, LocalDate periodEnd, String label, BigDecimal totalAmount,
+                           Integer transactionCount) {
+        this.date = date;
+        this.periodEnd = periodEnd;
+        this.label = label;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
     }
 
     public LocalDate getDate() {
@@ -45,4 +59,20 @@ public class PaymentTrendDTO {
     public void setTransactionCount(Integer transactionCount) {
         this.transactionCount = transactionCount;
     }
-}
\ No newline at end of file
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,50 @@
+package com.devtech.school_management_system.dto;
+
+public class SubjectAssignmentResultDTO {
+    private int studentCount;
+    private int subjectCount;
+    private int insertedCount;
+    private int skippedCount;
+
+    public SubjectAssignmentResultDTO() {
+    }
+
+    public SubjectAssignmentResultDTO(int studentCount, int subjectCount, int insertedCount, int skippedCount) {
+        this.studentCount = studentCount;
+        this.subjectCount = subjectCount;
+        this.insertedCount = insertedCount;
+        this.skippedCount = skippedCount;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public void setStudentCount(int studentCount) {
+        this.studentCount = studentCount;
+    }
+
+    public int getSubjectCount() {
+        return subjectCount;
+    }
+
+    public void setSubjectCount(int subjectCount) {
+        this.subjectCount = subjectCount;
+    }
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public void setInsertedCount(int insertedCount) {
+        this.insertedCount = insertedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+}
@@ -7,7 +7,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assessments")
+@Table(name = "assessments",
+        indexes = @Index(name = "idx_assessments_subject_period",
+                columnList = "student_subject_id, academic_year, term, type"))
 public class Assessment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -9,7 +9,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fee_payments")
+@Table(name = "fee_payments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_fee_payments_student_period",
+                columnNames = {"student_id", "academic_year", "term", "month"}),
+        indexes = {
+                @Index(name = "idx_fee_payments_year_term", columnList = "academic_year, term"),
+                @Index(name = "idx_fee_payments_payment_date", columnList = "payment_date")
+        })
 public class FeePayment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
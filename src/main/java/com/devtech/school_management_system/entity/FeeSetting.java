@@ -1,10 +1,14 @@
 package com.devtech.school_management_system.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.fee-setting")
 @Table(name = "fee_settings")
 public class FeeSetting {
     
@@ -0,0 +1,120 @@
+package com.devtech.school_management_system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running sums of assessment percentages for one student subject in one term, split by assessment type.
+ * Rows are upserted with deltas on every assessment write, so the student subject is a plain column rather
+ * than an association.
+ */
+@Entity
+@Table(name = "mark_accumulators",
+        uniqueConstraints = @UniqueConstraint(name = "uk_mark_accumulators_subject_term",
+                columnNames = {"student_subject_id", "term", "academic_year"}),
+        indexes = @Index(name = "idx_mark_accumulators_term", columnList = "term, academic_year"))
+public class MarkAccumulator {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_subject_id", nullable = false)
+    private Long studentSubjectId;
+
+    @Column(nullable = false)
+    private String term;
+
+    @Column(name = "academic_year", nullable = false)
+    private String academicYear;
+
+    @Column(name = "coursework_sum", nullable = false)
+    private double courseworkSum;
+
+    @Column(name = "coursework_count", nullable = false)
+    private int courseworkCount;
+
+    @Column(name = "exam_sum", nullable = false)
+    private double examSum;
+
+    @Column(name = "exam_count", nullable = false)
+    private int examCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public MarkAccumulator() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStudentSubjectId() {
+        return studentSubjectId;
+    }
+
+    public void setStudentSubjectId(Long studentSubjectId) {
+        this.studentSubjectId = studentSubjectId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public double getCourseworkSum() {
+        return courseworkSum;
+    }
+
+    public void setCourseworkSum(double courseworkSum) {
+        this.courseworkSum = courseworkSum;
+    }
+
+    public int getCourseworkCount() {
+        return courseworkCount;
+    }
+
+    public void setCourseworkCount(int courseworkCount) {
+        this.courseworkCount = courseworkCount;
+    }
+
+    public double getExamSum() {
+        return examSum;
+    }
+
+    public void setExamSum(double examSum) {
+        this.examSum = examSum;
+    }
+
+    public int getExamCount() {
+        return examCount;
+    }
+
+    public void setExamCount(int examCount) {
+        this.examCount = examCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,115 @@
+package com.devtech.school_management_system.entity;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fee payment rows and amounts per payment date, term and status: the same figures a GROUP BY over fee_payments
+ * would give, kept up to date with deltas on every payment write. Every key column is a column of the payment
+ * row itself, so moving a student to another class leaves the rollup correct; per-class figures are read from
+ * fee_payments joined to students instead. The unique key leads with the date, so any date range is one index
+ * range scan.
+ */
+@Entity
+@Table(name = "payment_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_daily_rollup_day_status",
+                columnNames = {"payment_date", "academic_year", "term", "payment_status"}))
+public class PaymentDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDate paymentDate;
+
+    // Short columns keep the unique key within MySQL's index key length
+    @Column(name = "academic_year", nullable = false, length = 20)
+    private String academicYear;
+
+    @Column(nullable = false, length = 50)
+    private String term;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "amount_paid", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amountPaid;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public PaymentDailyRollup() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getPaymentDate() {
+        return paymentDate;
+    }
+
+    public void setPaymentDate(LocalDate paymentDate) {
+        this.paymentDate = paymentDate;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getAmountPaid() {
+        return amountPaid;
+    }
+
+    public void setAmountPaid(BigDecimal amountPaid) {
+        this.amountPaid = amountPaid;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reports_student_period",
+                columnNames = {"student_id", "term", "academic_year"}))
 public class Report {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -2,9 +2,13 @@ package com.devtech.school_management_system.entity;
 
 import com.devtech.school_management_system.enums.ERole;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.role")
 @Table(name = "roles")
 public class Role {
     @Id
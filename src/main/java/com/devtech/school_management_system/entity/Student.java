@@ -1,5 +1,6 @@
 package com.devtech.school_management_system.entity;
 
+import com.devtech.school_management_system.event.StudentEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,10 +9,16 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_search_name", columnList = "search_name"),
+        @Index(name = "idx_students_search_student_id", columnList = "search_student_id"),
+        @Index(name = "idx_students_class", columnList = "form, section, academic_year")
+})
+@EntityListeners(StudentEntityListener.class)
 public class Student {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,6 +48,15 @@ public class Student {
     @Column(name = "enrollment_date")
     private LocalDate enrollmentDate;
 
+    // Lower-cased copies of the name and student ID, maintained on save for indexed search
+    @Column(name = "search_name", length = 511)
+    @JsonIgnore
+    private String searchName;
+
+    @Column(name = "search_student_id")
+    @JsonIgnore
+    private String searchStudentId;
+
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private Set<StudentSubject> studentSubjects = new HashSet<>();
@@ -66,6 +82,17 @@ public class Student {
     // Constructors
     public Student() {}
 
+    @PrePersist
+    @PreUpdate
+    protected void updateSearchColumns() {
+        searchName = normalizeForSearch(firstName + " " + lastName);
+        searchStudentId = normalizeForSearch(studentId);
+    }
+
+    public static String normalizeForSearch(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -94,6 +121,10 @@ public class Student {
     public LocalDate getEnrollmentDate() { return enrollmentDate; }
     public void setEnrollmentDate(LocalDate enrollmentDate) { this.enrollmentDate = enrollmentDate; }
 
+    public String getSearchName() { return searchName; }
+
+    public String getSearchStudentId() { return searchStudentId; }
+
     public Set<StudentSubject> getStudentSubjects() { return studentSubjects; }
     public void setStudentSubjects(Set<StudentSubject> studentSubjects) { this.studentSubjects = studentSubjects; }
 
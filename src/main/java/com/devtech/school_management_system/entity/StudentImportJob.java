@@ -0,0 +1,170 @@
+package com.devtech.school_management_system.entity;
+
+import com.devtech.school_management_system.enums.ImportJobStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One uploaded student workbook and its progress. Counters are advanced in the same transaction as each
+ * imported chunk, so they always agree with the rows written. The instance running a job refreshes its
+ * heartbeat while the job is open, which is how other instances tell a live job from an abandoned one.
+ */
+@Entity
+@Table(name = "student_import_jobs")
+public class StudentImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "submitted_by")
+    private String submittedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    @Column(name = "total_rows", nullable = false)
+    private int totalRows = 0;
+
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows = 0;
+
+    @Column(name = "successful_imports", nullable = false)
+    private int successfulImports = 0;
+
+    @Column(name = "error_count", nullable = false)
+    private int errorCount = 0;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        heartbeatAt = createdAt;
+    }
+
+    public StudentImportJob() {
+    }
+
+    public StudentImportJob(String fileName, String submittedBy) {
+        this.fileName = fileName;
+        this.submittedBy = submittedBy;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public void setSubmittedBy(String submittedBy) {
+        this.submittedBy = submittedBy;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(int processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public int getSuccessfulImports() {
+        return successfulImports;
+    }
+
+    public void setSuccessfulImports(int successfulImports) {
+        this.successfulImports = successfulImports;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(int errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
@@ -0,0 +1,92 @@
+package com.devtech.school_management_system.entity;
+
+import com.devtech.school_management_system.enums.ImportRowStatus;
+import jakarta.persistence.*;
+
+/**
+ * Outcome of one spreadsheet row of an import job. Rows are written in batches per chunk, so the job id is
+ * a plain column rather than an association.
+ */
+@Entity
+@Table(name = "student_import_rows",
+        indexes = @Index(name = "idx_student_import_rows_job_row", columnList = "job_id, sheet_row"))
+public class StudentImportRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "sheet_row", nullable = false)
+    private int rowNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportRowStatus status;
+
+    @Column(name = "student_id", length = 64)
+    private String studentId;
+
+    @Column(length = 500)
+    private String message;
+
+    public StudentImportRow() {
+    }
+
+    public StudentImportRow(Long jobId, int rowNumber, ImportRowStatus status, String studentId, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.status = status;
+        this.studentId = studentId;
+        this.message = message;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(int rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public ImportRowStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportRowStatus status) {
+        this.status = status;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
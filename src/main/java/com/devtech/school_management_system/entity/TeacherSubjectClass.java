@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "teacher_subject_classes")
+@Table(name = "teacher_subject_classes",
+        indexes = @Index(name = "idx_teacher_subject_classes_class", columnList = "form, section, academic_year"))
 public class TeacherSubjectClass {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,49 @@
+package com.devtech.school_management_system.enums;
+
+/**
+ * Resized copies of uploaded images, generated once at upload time next to the original.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 160),
+    REPORT_CARD("card", 600);
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * The variant named by a request parameter ("thumb", "card"), or null when the original is wanted.
+     */
+    public static ImageVariant fromSuffix(String suffix) {
+        if (suffix == null) {
+            return null;
+        }
+        for (ImageVariant variant : values()) {
+            if (variant.suffix.equalsIgnoreCase(suffix)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image variant: " + suffix);
+    }
+
+    /**
+     * File name of this variant of an original, e.g. logo_1.png becomes logo_1_thumb.png.
+     */
+    public String fileName(String originalFileName) {
+        int dot = originalFileName.lastIndexOf('.');
+        return dot < 0 ? originalFileName + "_" + suffix
+                : originalFileName.substring(0, dot) + "_" + suffix + originalFileName.substring(dot);
+    }
+}
@@ -0,0 +1,6 @@
+package com.devtech.school_management_system.enums;
+
+public enum ImportRowStatus {
+    IMPORTED,
+    FAILED
+}
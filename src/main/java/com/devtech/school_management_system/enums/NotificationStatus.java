@@ -0,0 +1,7 @@
+package com.devtech.school_management_system.enums;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
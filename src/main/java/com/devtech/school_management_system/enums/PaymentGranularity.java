@@ -0,0 +1,8 @@
+package com.devtech.school_management_system.enums;
+
+public enum PaymentGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    TERM
+}
@@ -0,0 +1,20 @@
+package com.devtech.school_management_system.event;
+
+/**
+ * Published whenever subject report marks of a term may have changed: an assessment was written, a term was
+ * recomputed or a subject report was created.
+ */
+public class MarksChangedEvent {
+
+    private final String term;
+    private final String academicYear;
+
+    public MarksChangedEvent(String term, String academicYear) {
+        this.term = term;
+        this.academicYear = academicYear;
+    }
+
+    public String getTerm() { return term; }
+
+    public String getAcademicYear() { return academicYear; }
+}
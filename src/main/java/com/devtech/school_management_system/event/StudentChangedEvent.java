@@ -0,0 +1,50 @@
+package com.devtech.school_management_system.event;
+
+/**
+ * Published whenever a student row is inserted, updated or deleted through JPA, carrying the state after the change.
+ */
+public class StudentChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long id;
+    private final String studentId;
+    private final String firstName;
+    private final String lastName;
+    private final String form;
+    private final String section;
+    private final String academicYear;
+
+    public StudentChangedEvent(ChangeType changeType, Long id, String studentId, String firstName, String lastName,
+                               String form, String section, String academicYear) {
+        this.changeType = changeType;
+        this.id = id;
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.form = form;
+        this.section = section;
+        this.academicYear = academicYear;
+    }
+
+    public ChangeType getChangeType() { return changeType; }
+
+    public Long getId() { return id; }
+
+    public String getStudentId() { return studentId; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+
+    public String getForm() { return form; }
+
+    public String getSection() { return section; }
+
+    public String getAcademicYear() { return academicYear; }
+}
@@ -0,0 +1,43 @@
+package com.devtech.school_management_system.event;
+
+import com.devtech.school_management_system.entity.Student;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA callbacks on Student, turned into Spring events so in-memory views (such as the search index) can follow
+ * changes. Hibernate obtains this listener from the Spring context, so it can take constructor dependencies.
+ */
+@Component
+public class StudentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StudentEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onCreated(Student student) {
+        publish(StudentChangedEvent.ChangeType.CREATED, student);
+    }
+
+    @PostUpdate
+    public void onUpdated(Student student) {
+        publish(StudentChangedEvent.ChangeType.UPDATED, student);
+    }
+
+    @PostRemove
+    public void onDeleted(Student student) {
+        publish(StudentChangedEvent.ChangeType.DELETED, student);
+    }
+
+    private void publish(StudentChangedEvent.ChangeType changeType, Student student) {
+        eventPublisher.publishEvent(new StudentChangedEvent(changeType, student.getId(), student.getStudentId(),
+                student.getFirstName(), student.getLastName(), student.getForm(), student.getSection(),
+                student.getAcademicYear()));
+    }
+}
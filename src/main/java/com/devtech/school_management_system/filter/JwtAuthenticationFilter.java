@@ -2,6 +2,9 @@ package com.devtech.school_management_system.filter;
 
 import com.devtech.school_management_system.security.CustomUserDetailsService;
 import com.devtech.school_management_system.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,16 +29,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer authenticationTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        authenticationTimer = Timer.builder("security.jwt.filter.latency")
+                .description("Time spent authenticating a request from its JWT")
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        Timer.Sample sample = Timer.start();
         try {
             String jwt = getJwtFromRequest(request);
+            String username = StringUtils.hasText(jwt) ? tokenProvider.getUsernameFromValidToken(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            if (username != null) {
+                UserDetails userDetails = customUserDetailsService.loadCachedUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -44,6 +59,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            sample.stop(authenticationTimer);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,77 @@
+package com.devtech.school_management_system.filter;
+
+import java.util.Arrays;
+
+/**
+ * Immutable character trie over request paths, built once at startup. A path matches if any registered
+ * prefix is a prefix of it, or if it equals a registered exact path, in a single left-to-right scan.
+ */
+final class PathPrefixTrie {
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean prefixEnd;
+        private boolean exactEnd;
+
+        private Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            Node node = new Node();
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+
+    private PathPrefixTrie() {
+    }
+
+    static PathPrefixTrie of(String[] prefixes, String[] exactPaths) {
+        PathPrefixTrie trie = new PathPrefixTrie();
+        for (String prefix : prefixes) {
+            trie.insert(prefix).prefixEnd = true;
+        }
+        for (String path : exactPaths) {
+            trie.insert(path).exactEnd = true;
+        }
+        return trie;
+    }
+
+    private Node insert(String value) {
+        Node node = root;
+        for (int i = 0; i < value.length(); i++) {
+            node = node.addChild(value.charAt(i));
+        }
+        return node;
+    }
+
+    boolean matches(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            if (node.prefixEnd) {
+                return true;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.prefixEnd || node.exactEnd;
+    }
+}
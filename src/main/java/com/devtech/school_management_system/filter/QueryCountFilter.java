@@ -0,0 +1,88 @@
+package com.devtech.school_management_system.filter;
+
+import com.devtech.school_management_system.util.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements, entity loads and collection fetches of each request and records them per controller
+ * handler as {@code db.request.statements}, {@code db.request.entity.loads} and {@code db.request.collection.fetches}.
+ * Requests over the configured statement threshold are logged with their handler, which is how N+1 patterns over
+ * lazy associations show up. Runs first so that authentication lookups are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int warnThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${monitoring.queries.enabled:true}") boolean enabled,
+                            @Value("${monitoring.queries.warn-threshold:50}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        QueryCounter.Snapshot counts;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            counts = QueryCounter.stop();
+        }
+        if (counts.statements() == 0 && counts.entityLoads() == 0) {
+            return;
+        }
+
+        String handler = handlerName(request);
+        summary("db.request.statements", "SQL statements prepared per request", handler).record(counts.statements());
+        summary("db.request.entity.loads", "Entities loaded per request", handler).record(counts.entityLoads());
+        summary("db.request.collection.fetches", "Lazy collections initialized per request", handler)
+                .record(counts.collectionFetches());
+
+        if (counts.statements() > warnThreshold) {
+            System.err.println("WARN: " + request.getMethod() + " " + request.getRequestURI() + " (" + handler
+                    + ") issued " + counts + ", above the threshold of " + warnThreshold + " statements");
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String handler) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .register(meterRegistry);
+    }
+
+    // Controller#method of the matched handler; requests rejected before dispatch (auth, setup redirect) have none
+    private static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -12,21 +12,39 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
 
 @Component
 public class SchoolConfigurationFilter extends OncePerRequestFilter {
 
-    private static final List<String> SETUP_ENDPOINTS = Arrays.asList(
+    private static final String[] SETUP_ENDPOINTS = {
             "/api/school/config",
             "/api/school/setup",
             "/api/uploads/"
-    );
+    };
 
-    private static final List<String> AUTH_ENDPOINTS = Arrays.asList(
+    private static final String[] AUTH_ENDPOINTS = {
             "/api/auth/login",
             "/api/auth/register"
-    );
+    };
+
+    private static final String[] STATIC_RESOURCE_PREFIXES = {
+            "/assets/",
+            "/css/",
+            "/js/",
+            "/api/uploads/",
+            "/setup"
+    };
+
+    private static final String[] STATIC_RESOURCE_PATHS = {
+            "/favicon.ico",
+            "/"
+    };
+
+    // Setup endpoints and static resources are handled identically, so they share one trie
+    private static final PathPrefixTrie PASS_THROUGH_PATHS = PathPrefixTrie.of(
+            concat(SETUP_ENDPOINTS, STATIC_RESOURCE_PREFIXES), STATIC_RESOURCE_PATHS);
+
+    private static final PathPrefixTrie AUTH_PATHS = PathPrefixTrie.of(AUTH_ENDPOINTS, new String[0]);
 
     private final SchoolServiceImpl schoolService;
 
@@ -42,18 +60,18 @@ public class SchoolConfigurationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
 
         // If the request is for static resources or setup endpoints, proceed normally
-        if (isSetupEndpoint(path) || isStaticResource(path)) {
+        if (PASS_THROUGH_PATHS.matches(path)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Check if school is configured
+        // Check if school is configured (in-memory flag, no database access)
         boolean isSchoolConfigured = schoolService.isSchoolConfigured();
 
         // If school is not configured and trying to access non-setup endpoints
-        if (!isSchoolConfigured && !isSetupEndpoint(path)) {
+        if (!isSchoolConfigured) {
             // If this is an auth endpoint, return error as JSON
-            if (isAuthEndpoint(path)) {
+            if (AUTH_PATHS.matches(path)) {
                 response.setContentType(MediaType.APPLICATION_JSON_VALUE);
                 response.getWriter().write("{\"message\":\"School setup is required before authentication\",\"setupRequired\":true}");
                 response.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
@@ -70,21 +88,9 @@ public class SchoolConfigurationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean isSetupEndpoint(String path) {
-        return SETUP_ENDPOINTS.stream().anyMatch(path::startsWith);
-    }
-
-    private boolean isAuthEndpoint(String path) {
-        return AUTH_ENDPOINTS.stream().anyMatch(path::startsWith);
-    }
-
-    private boolean isStaticResource(String path) {
-        return path.startsWith("/assets/") ||
-                path.startsWith("/css/") ||
-                path.startsWith("/js/") ||
-                path.startsWith("/api/uploads/") ||
-                path.equals("/favicon.ico") ||
-                path.equals("/") ||
-                path.startsWith("/setup");
+    private static String[] concat(String[] first, String[] second) {
+        String[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,404 @@
+package com.devtech.school_management_system.loadtest;
+
+import com.devtech.school_management_system.entity.School;
+import com.devtech.school_management_system.entity.Section;
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.entity.Subject;
+import com.devtech.school_management_system.service.ReferenceDataCacheService;
+import com.devtech.school_management_system.service.SchoolServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a school at production scale for the {@code loadtest} profile: subjects, sections, teachers, class groups,
+ * students with guardians, teacher and subject assignments, a year of assessments and attendance, and several years
+ * of monthly fee payments. Everything is written with JDBC batches and derived from one seeded {@link Random}, so
+ * the same seed and sizes always produce the same school. Generated rows are marked with an "LT" prefix and
+ * generation is skipped when they already exist.
+ */
+@Component
+@Profile("loadtest")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+    static final String[] FORMS = {"Form 1", "Form 2", "Form 3", "Form 4", "Form 5", "Form 6"};
+    static final String[] SECTIONS = {"A", "B", "C", "D"};
+    static final String[] TERMS = {"Term 1", "Term 2", "Term 3"};
+
+    private static final String[][] TERM_MONTHS = {
+            {"January", "February", "March", "April"},
+            {"May", "June", "July", "August"},
+            {"September", "October", "November", "December"}};
+
+    private static final String[][] SUBJECTS = {
+            {"English Language", "LT01", "O_LEVEL_LANGUAGES"},
+            {"Shona", "LT02", "O_LEVEL_LANGUAGES"},
+            {"Mathematics", "LT03", "O_LEVEL_SCIENCES"},
+            {"Combined Science", "LT04", "O_LEVEL_SCIENCES"},
+            {"History", "LT05", "O_LEVEL_ARTS"},
+            {"Geography", "LT06", "O_LEVEL_ARTS"},
+            {"Accounts", "LT07", "O_LEVEL_COMMERCIALS"},
+            {"Business Studies", "LT08", "O_LEVEL_COMMERCIALS"},
+            {"Computer Science", "LT09", "O_LEVEL_SCIENCES"}};
+
+    private static final String[] FIRST_NAMES = {"Tendai", "Rudo", "Tatenda", "Chipo", "Farai", "Nyasha", "Tafadzwa",
+            "Kudzai", "Rumbidzai", "Tinashe", "Blessing", "Memory", "Takudzwa", "Ruvimbo", "Simbarashe", "Tanaka",
+            "Vimbai", "Panashe", "Anesu", "Kuda", "Nokuthula", "Sipho", "Thandiwe", "Lindiwe"};
+    private static final String[] LAST_NAMES = {"Moyo", "Ncube", "Sibanda", "Dube", "Mpofu", "Ndlovu", "Chikore",
+            "Marufu", "Mutasa", "Chirwa", "Banda", "Phiri", "Mhlanga", "Zhou", "Gumbo", "Makoni", "Mapfumo",
+            "Nyathi", "Hove", "Chinembiri"};
+    private static final String[] RELATIONSHIPS = {"Mother", "Father", "Guardian", "Aunt", "Uncle"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchoolServiceImpl schoolService;
+    private final ReferenceDataCacheService referenceDataCacheService;
+    private final long seed;
+    private final int studentCount;
+    private final int teacherCount;
+    private final int paymentYears;
+    private final int attendanceDays;
+    private final int batchSize;
+    private final String academicYear;
+
+    public LoadTestDataGenerator(JdbcTemplate jdbcTemplate,
+                                 SchoolServiceImpl schoolService,
+                                 ReferenceDataCacheService referenceDataCacheService,
+                                 @Value("${loadtest.seed:42}") long seed,
+                                 @Value("${loadtest.students:5000}") int studentCount,
+                                 @Value("${loadtest.teachers:60}") int teacherCount,
+                                 @Value("${loadtest.payment-years:3}") int paymentYears,
+                                 @Value("${loadtest.attendance-days:120}") int attendanceDays,
+                                 @Value("${loadtest.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schoolService = schoolService;
+        this.referenceDataCacheService = referenceDataCacheService;
+        this.seed = seed;
+        this.studentCount = studentCount;
+        this.teacherCount = Math.max(1, teacherCount);
+        this.paymentYears = Math.max(1, paymentYears);
+        this.attendanceDays = attendanceDays;
+        this.batchSize = Math.max(100, batchSize);
+        this.academicYear = String.valueOf(LocalDate.now().getYear());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM students WHERE student_id LIKE 'LT%'", Integer.class);
+        if (existing != null && existing > 0) {
+            System.out.println("Load test data already present (" + existing + " students), skipping generation");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        ensureSchool(now);
+        // The configured flag was read at startup, before the school row existed
+        schoolService.refreshConfiguredFlag();
+        ensureSections(now);
+        List<Long> subjectIds = ensureSubjects(now);
+        // Reference rows were written behind Hibernate's back
+        referenceDataCacheService.evictAfterCommit(School.class, Section.class, Subject.class);
+        List<Long> teacherIds = insertTeachers(random, now);
+        insertClassGroups(teacherIds, now);
+        insertTeacherAssignments(teacherIds, subjectIds, now);
+
+        List<Long> studentIds = insertStudents(random, now);
+        insertGuardians(random, studentIds, now);
+        long[] studentSubjectIds = insertStudentSubjects(studentIds, subjectIds, now);
+        insertAssessments(random, studentSubjectIds, now);
+        insertAttendance(random, studentIds, now);
+        insertPayments(random, studentIds);
+
+        System.out.printf("Load test data generated in %d s (seed %d)%n",
+                (System.nanoTime() - start) / 1_000_000_000, seed);
+    }
+
+    private void ensureSchool(Timestamp now) {
+        Integer configured = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schools WHERE configured = TRUE", Integer.class);
+        if (configured == null || configured == 0) {
+            jdbcTemplate.update("INSERT INTO schools (name, description, configured, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, ?, ?)", "Load Test High School", "Generated for load testing", now, now);
+        }
+    }
+
+    private void ensureSections(Timestamp now) {
+        for (String section : SECTIONS) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM sections WHERE name = ?", Integer.class, section);
+            if (count == null || count == 0) {
+                jdbcTemplate.update("INSERT INTO sections (name, description, active, created_at, updated_at) "
+                        + "VALUES (?, ?, TRUE, ?, ?)", section, "Section " + section, now, now);
+            }
+        }
+    }
+
+    private List<Long> ensureSubjects(Timestamp now) {
+        List<Long> ids = new ArrayList<>(SUBJECTS.length);
+        for (String[] subject : SUBJECTS) {
+            List<Long> found = jdbcTemplate.queryForList("SELECT id FROM subjects WHERE code = ?", Long.class, subject[1]);
+            if (found.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO subjects (name, code, category, level, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, 'O_LEVEL', ?, ?)", subject[0], subject[1], subject[2], now, now);
+                found = jdbcTemplate.queryForList("SELECT id FROM subjects WHERE code = ?", Long.class, subject[1]);
+            }
+            ids.add(found.get(0));
+        }
+        return ids;
+    }
+
+    private List<Long> insertTeachers(Random random, Timestamp now) {
+        try (BatchWriter writer = new BatchWriter("teachers",
+                "INSERT INTO teachers (first_name, last_name, employee_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= teacherCount; i++) {
+                writer.add(pick(random, FIRST_NAMES), pick(random, LAST_NAMES), String.format("LT-T%04d", i), now, now);
+            }
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM teachers WHERE employee_id LIKE 'LT-T%' ORDER BY employee_id", Long.class);
+    }
+
+    private void insertClassGroups(List<Long> teacherIds, Timestamp now) {
+        try (BatchWriter writer = new BatchWriter("class groups",
+                "INSERT INTO class_groups (form, section, academic_year, level, class_capacity, class_teacher_id, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int classIndex = 0;
+            for (String form : FORMS) {
+                for (String section : SECTIONS) {
+                    writer.add(form, section, academicYear, level(form), 50,
+                            teacherIds.get(classIndex++ % teacherIds.size()), now, now);
+                }
+            }
+        }
+    }
+
+    private void insertTeacherAssignments(List<Long> teacherIds, List<Long> subjectIds, Timestamp now) {
+        try (BatchWriter writer = new BatchWriter("teacher assignments",
+                "INSERT INTO teacher_subject_classes (teacher_id, subject_id, form, section, academic_year, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            int assignment = 0;
+            for (String form : FORMS) {
+                for (String section : SECTIONS) {
+                    for (Long subjectId : subjectIds) {
+                        writer.add(teacherIds.get(assignment++ % teacherIds.size()), subjectId, form, section,
+                                academicYear, now, now);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Long> insertStudents(Random random, Timestamp now) {
+        Date enrollmentDate = Date.valueOf(LocalDate.of(LocalDate.now().getYear(), 1, 10));
+        try (BatchWriter writer = new BatchWriter("students",
+                "INSERT INTO students (first_name, last_name, student_id, form, section, level, academic_year, "
+                        + "enrollment_date, search_name, search_student_id, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < studentCount; i++) {
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                String studentId = String.format("LT%06d", i + 1);
+                String form = formOf(i);
+                writer.add(firstName, lastName, studentId, form, sectionOf(i), level(form), academicYear,
+                        enrollmentDate, Student.normalizeForSearch(firstName + " " + lastName),
+                        Student.normalizeForSearch(studentId), now, now);
+            }
+        }
+        // Zero-padded student numbers sort in generation order, so list index i is student i
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM students WHERE student_id LIKE 'LT%' ORDER BY student_id", Long.class);
+    }
+
+    private void insertGuardians(Random random, List<Long> studentIds, Timestamp now) {
+        try (BatchWriter writer = new BatchWriter("guardians",
+                "INSERT INTO guardians (student_id, name, relationship, phone_number, whatsapp_number, "
+                        + "primary_guardian, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Long studentId : studentIds) {
+                int guardians = random.nextBoolean() ? 2 : 1;
+                for (int g = 0; g < guardians; g++) {
+                    String phone = String.format("+26377%07d", random.nextInt(10_000_000));
+                    writer.add(studentId, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                            pick(random, RELATIONSHIPS), phone, phone, g == 0, now, now);
+                }
+            }
+        }
+    }
+
+    private long[] insertStudentSubjects(List<Long> studentIds, List<Long> subjectIds, Timestamp now) {
+        try (BatchWriter writer = new BatchWriter("student subjects",
+                "INSERT INTO student_subjects (student_id, subject_id, academic_year, assigned_date, created_at, "
+                        + "updated_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (Long studentId : studentIds) {
+                for (Long subjectId : subjectIds) {
+                    writer.add(studentId, subjectId, academicYear, now, now, now);
+                }
+            }
+        }
+        return jdbcTemplate.queryForList("SELECT ss.id FROM student_subjects ss "
+                        + "JOIN students s ON s.id = ss.student_id WHERE s.student_id LIKE 'LT%'", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Four coursework pieces and one exam per subject per term
+    private void insertAssessments(Random random, long[] studentSubjectIds, Timestamp now) {
+        int year = LocalDate.now().getYear();
+        try (BatchWriter writer = new BatchWriter("assessments",
+                "INSERT INTO assessments (student_subject_id, title, date, score, max_score, type, term, "
+                        + "academic_year, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long studentSubjectId : studentSubjectIds) {
+                // A per-pair ability keeps a learner's marks in one subject correlated across assessments
+                double ability = 35 + random.nextInt(55);
+                for (int term = 0; term < TERMS.length; term++) {
+                    for (int piece = 1; piece <= 4; piece++) {
+                        Date date = Date.valueOf(LocalDate.of(year, term * 4 + piece, 10 + random.nextInt(15)));
+                        writer.add(studentSubjectId, "Coursework " + piece, date, score(random, ability, 50), 50.0,
+                                "COURSEWORK", TERMS[term], academicYear, now, now);
+                    }
+                    Date examDate = Date.valueOf(LocalDate.of(year, term * 4 + 4, 25));
+                    writer.add(studentSubjectId, "End of term exam", examDate, score(random, ability, 100), 100.0,
+                            "FINAL_EXAM", TERMS[term], academicYear, now, now);
+                }
+            }
+        }
+    }
+
+    private void insertAttendance(Random random, List<Long> studentIds, Timestamp now) {
+        List<Date> schoolDays = new ArrayList<>(attendanceDays);
+        for (LocalDate day = LocalDate.now().minusDays(1); schoolDays.size() < attendanceDays; day = day.minusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                schoolDays.add(Date.valueOf(day));
+            }
+        }
+        try (BatchWriter writer = new BatchWriter("attendance",
+                "INSERT INTO attendance (student_id, date, present, marked_by, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (Date day : schoolDays) {
+                for (Long studentId : studentIds) {
+                    writer.add(studentId, day, random.nextInt(100) < 93, "admin", now, now);
+                }
+            }
+        }
+    }
+
+    private void insertPayments(Random random, List<Long> studentIds) {
+        LocalDate today = LocalDate.now();
+        try (BatchWriter writer = new BatchWriter("fee payments",
+                "INSERT INTO fee_payments (student_id, term, month, academic_year, monthly_fee_amount, amount_paid, "
+                        + "balance, payment_status, payment_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int yearOffset = paymentYears - 1; yearOffset >= 0; yearOffset--) {
+                int year = today.getYear() - yearOffset;
+                for (int month = 1; month <= 12; month++) {
+                    LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+                    if (firstOfMonth.isAfter(today)) {
+                        break;
+                    }
+                    int term = (month - 1) / 4;
+                    String monthName = TERM_MONTHS[term][(month - 1) % 4];
+                    for (int i = 0; i < studentIds.size(); i++) {
+                        BigDecimal fee = BigDecimal.valueOf("A_LEVEL".equals(level(formOf(i))) ? 200 : 150);
+                        int roll = random.nextInt(100);
+                        String status;
+                        BigDecimal paid;
+                        if (roll < 70) {
+                            status = "FULL_PAYMENT";
+                            paid = fee;
+                        } else if (roll < 90) {
+                            status = "PART_PAYMENT";
+                            paid = BigDecimal.valueOf(10 + random.nextInt(fee.intValue() - 10));
+                        } else {
+                            status = "NON_PAYER";
+                            paid = BigDecimal.ZERO;
+                        }
+                        LocalDate paymentDate = firstOfMonth.plusDays(random.nextInt(28));
+                        if (paymentDate.isAfter(today)) {
+                            paymentDate = today;
+                        }
+                        writer.add(studentIds.get(i), TERMS[term], monthName, String.valueOf(year), fee, paid,
+                                fee.subtract(paid), status, Date.valueOf(paymentDate),
+                                Timestamp.valueOf(paymentDate.atTime(9, 0)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String formOf(int studentIndex) {
+        return FORMS[studentIndex % (FORMS.length * SECTIONS.length) / SECTIONS.length];
+    }
+
+    private static String sectionOf(int studentIndex) {
+        return SECTIONS[studentIndex % SECTIONS.length];
+    }
+
+    private static String level(String form) {
+        return "Form 5".equals(form) || "Form 6".equals(form) ? "A_LEVEL" : "O_LEVEL";
+    }
+
+    private static double score(Random random, double ability, int maxScore) {
+        double percentage = Math.max(0, Math.min(100, ability + random.nextGaussian() * 10));
+        return Math.round(percentage * maxScore) / 100.0;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Buffers rows and sends them as one JDBC batch every batchSize rows, so memory stays flat however many rows
+     * a table gets.
+     */
+    private final class BatchWriter implements AutoCloseable {
+        private final String table;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+        private final long start = System.nanoTime();
+        private long written;
+
+        BatchWriter(String table, String sql) {
+            this.table = table;
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+            written += rows.size();
+            rows.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.printf("Generated %,d %s in %,d ms (%,d rows/s)%n", written, table, millis, written * 1000 / millis);
+        }
+    }
+}
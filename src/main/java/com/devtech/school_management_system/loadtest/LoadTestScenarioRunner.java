@@ -0,0 +1,253 @@
+package com.devtech.school_management_system.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Drives the REST API of this instance with concurrent clients once it is up, each client a virtual thread
+ * replaying a weighted mix of everyday requests (fee counter search, class lists, payment status, report
+ * statistics, financial report) for a fixed duration, then prints p50/p95/p99 latency per endpoint.
+ * Runs only in the {@code loadtest} profile with {@code loadtest.scenario.enabled=true}.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestScenarioRunner {
+
+    private record Step(String name, int weight, Function<Random, String> path) {
+    }
+
+    /**
+     * Latencies of one endpoint in nanoseconds, appended from many client threads.
+     */
+    private static final class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long nanos, boolean error) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int clients;
+    private final Duration duration;
+    private final String username;
+    private final String password;
+    private final long seed;
+
+    public LoadTestScenarioRunner(JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${loadtest.scenario.enabled:false}") boolean enabled,
+                                  @Value("${loadtest.scenario.clients:50}") int clients,
+                                  @Value("${loadtest.scenario.duration:60s}") Duration duration,
+                                  @Value("${loadtest.scenario.username:admin}") String username,
+                                  @Value("${loadtest.scenario.password:admin123}") String password,
+                                  @Value("${loadtest.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.clients = Math.max(1, clients);
+        this.duration = duration;
+        this.username = username;
+        this.password = password;
+        this.seed = seed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        Thread runner = new Thread(() -> runScenario("http://localhost:" + port), "loadtest-scenario");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    private void runScenario(String baseUrl) {
+        try {
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            String token = login(httpClient, baseUrl);
+            List<Step> steps = steps();
+            Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+            steps.forEach(step -> recorders.put(step.name(), new LatencyRecorder()));
+            int totalWeight = steps.stream().mapToInt(Step::weight).sum();
+
+            System.out.printf("Load test: %d virtual-thread clients for %s against %s%n", clients, duration, baseUrl);
+            long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < clients; c++) {
+                    // Each client gets its own seeded stream, so a run's request mix is reproducible
+                    Random random = new Random(seed * 31 + c);
+                    executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            Step step = pick(steps, totalWeight, random);
+                            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + step.path().apply(random)))
+                                    .header("Authorization", "Bearer " + token)
+                                    .timeout(Duration.ofSeconds(60))
+                                    .GET()
+                                    .build();
+                            long start = System.nanoTime();
+                            boolean error;
+                            try {
+                                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                                error = response.statusCode() >= 400;
+                            } catch (IOException e) {
+                                error = true;
+                            }
+                            recorders.get(step.name()).record(System.nanoTime() - start, error);
+                        }
+                        return null;
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(duration.toMillis() + 120_000, TimeUnit.MILLISECONDS);
+            }
+            report(recorders);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            System.err.println("Load test scenario failed: " + e.getMessage());
+        }
+    }
+
+    private String login(HttpClient httpClient, String baseUrl) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("usernameOrEmail", username, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode token = response.statusCode() == 200 ? objectMapper.readTree(response.body()).get("token") : null;
+        if (token == null) {
+            throw new IllegalStateException("Login as " + username + " failed with HTTP " + response.statusCode());
+        }
+        return token.asText();
+    }
+
+    private List<Step> steps() {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM students", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM students", Long.class);
+        long firstStudent = minId != null ? minId : 1;
+        long studentRange = maxId != null ? Math.max(1, maxId - firstStudent + 1) : 1;
+        String year = String.valueOf(LocalDate.now().getYear());
+        String[] searchPrefixes = {"tend", "moyo", "lt0001", "chip", "nc", "far", "sib", "lt00"};
+
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step("GET /api/fee-payments/search-students", 30, random ->
+                "/api/fee-payments/search-students?query=" + searchPrefixes[random.nextInt(searchPrefixes.length)]));
+        steps.add(new Step("GET /api/students/{id}", 20, random ->
+                "/api/students/" + (firstStudent + (long) (random.nextDouble() * studentRange))));
+        steps.add(new Step("GET /api/students/form/{form}/section/{section}", 10, random ->
+                "/api/students/form/" + segment(form(random)) + "/section/" + section(random)));
+        steps.add(new Step("GET /api/fee-payments/status/class/{form}/{section}", 10, random ->
+                "/api/fee-payments/status/class/" + segment(form(random)) + "/" + section(random)));
+        steps.add(new Step("GET /api/attendance/date/{date}", 10, random ->
+                "/api/attendance/date/" + LocalDate.now().minusDays(1 + random.nextInt(30))));
+        steps.add(new Step("GET /api/reports/class/{form}/{section}/{term}/{year}/statistics", 15, random ->
+                "/api/reports/class/" + segment(form(random)) + "/" + section(random) + "/"
+                        + segment(LoadTestDataGenerator.TERMS[random.nextInt(3)]) + "/" + year + "/statistics"));
+        steps.add(new Step("GET /api/financial-reports/generate", 5, random ->
+                "/api/financial-reports/generate?term=" + segment("Term 1") + "&academicYear=" + year
+                        + "&startDate=" + year + "-01-01&endDate=" + year + "-04-30"));
+        return steps;
+    }
+
+    private void report(Map<String, LatencyRecorder> recorders) {
+        System.out.printf("%-66s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "p50 ms", "p95 ms",
+                "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            total += sorted.length;
+            System.out.printf("%-66s %8d %7d %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(), sorted.length,
+                    entry.getValue().errors(), millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+        }
+        System.out.printf("Load test finished: %d requests, %.1f requests/s%n", total,
+                total / (double) Math.max(1, duration.toSeconds()));
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Step pick(List<Step> steps, int totalWeight, Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Step step : steps) {
+            roll -= step.weight();
+            if (roll < 0) {
+                return step;
+            }
+        }
+        return steps.get(steps.size() - 1);
+    }
+
+    private static String form(Random random) {
+        return LoadTestDataGenerator.FORMS[random.nextInt(LoadTestDataGenerator.FORMS.length)];
+    }
+
+    private static String section(Random random) {
+        return LoadTestDataGenerator.SECTIONS[random.nextInt(LoadTestDataGenerator.SECTIONS.length)];
+    }
+
+    private static String segment(String value) {
+        return UriUtils.encodePathSegment(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,62 @@
+package com.devtech.school_management_system.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Schema lookups shared by the Java migrations, which must tolerate tables Hibernate has not created yet.
+ */
+final class MigrationSupport {
+
+    private MigrationSupport() {
+    }
+
+    static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+            return tables.next();
+        }
+    }
+
+    static boolean indexExists(Connection connection, String table, String name) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table,
+                false, false)) {
+            while (indexes.next()) {
+                if (name.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+            return columns.next();
+        }
+    }
+
+    static boolean isMySql(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product.equalsIgnoreCase("MySQL") || product.equalsIgnoreCase("MariaDB");
+    }
+
+    // Hibernate maps @Enumerated(STRING) to a native ENUM column on MySQL and validates against it
+    static String enumType(Connection connection, Enum<?>[] values) throws SQLException {
+        if (!isMySql(connection)) {
+            return "VARCHAR(20)";
+        }
+        return Arrays.stream(values).map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(",", "ENUM(", ")"));
+    }
+
+    static String timestampType(Connection connection) throws SQLException {
+        return isMySql(connection) ? "DATETIME(6)" : "TIMESTAMP";
+    }
+}
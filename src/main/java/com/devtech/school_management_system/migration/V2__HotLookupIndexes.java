@@ -0,0 +1,84 @@
+package com.devtech.school_management_system.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Composite indexes behind the hot repository finders, plus the unique keys that FeePaymentService.recordPayment
+ * relies on (one payment row per student, academic year, term and month) and that ReportService relies on when it
+ * creates a class's missing reports (one report per student, term and academic year).
+ * The same indexes are declared on the entities, so ddl-auto=update creates them on a fresh database;
+ * here each one is created only if its table exists and the index does not, which lets this run before
+ * Hibernate on a new install and against existing production schemas alike.
+ */
+@Component
+public class V2__HotLookupIndexes extends BaseJavaMigration {
+
+    public record IndexDefinition(String name, String table, List<String> columns, boolean unique) {
+    }
+
+    public static final List<IndexDefinition> INDEXES = List.of(
+            new IndexDefinition("uk_fee_payments_student_period", "fee_payments",
+                    List.of("student_id", "academic_year", "term", "month"), true),
+            new IndexDefinition("idx_fee_payments_year_term", "fee_payments",
+                    List.of("academic_year", "term"), false),
+            new IndexDefinition("idx_fee_payments_payment_date", "fee_payments",
+                    List.of("payment_date"), false),
+            new IndexDefinition("idx_assessments_subject_period", "assessments",
+                    List.of("student_subject_id", "academic_year", "term", "type"), false),
+            new IndexDefinition("idx_students_class", "students",
+                    List.of("form", "section", "academic_year"), false),
+            new IndexDefinition("uk_reports_student_period", "reports",
+                    List.of("student_id", "term", "academic_year"), true),
+            new IndexDefinition("idx_attendance_date", "attendance",
+                    List.of("date"), false),
+            new IndexDefinition("idx_teacher_subject_classes_class", "teacher_subject_classes",
+                    List.of("form", "section", "academic_year"), false)
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        for (IndexDefinition index : INDEXES) {
+            if (!MigrationSupport.tableExists(connection, index.table())) {
+                System.out.println("Skipping index " + index.name() + ": table " + index.table()
+                        + " does not exist yet and will be created with it");
+                continue;
+            }
+            if (MigrationSupport.indexExists(connection, index.table(), index.name())) {
+                continue;
+            }
+            if (index.unique()) {
+                assertNoDuplicates(connection, index);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX " + index.name()
+                        + " ON " + index.table() + " (" + String.join(", ", index.columns()) + ")");
+            }
+            System.out.println("Created index " + index.name() + " on " + index.table());
+        }
+    }
+
+    // A unique key cannot be added over existing duplicates; fail with a query the operator can run
+    private static void assertNoDuplicates(Connection connection, IndexDefinition index) throws SQLException {
+        String columns = String.join(", ", index.columns());
+        String duplicates = "SELECT " + columns + ", COUNT(*) FROM " + index.table()
+                + " GROUP BY " + columns + " HAVING COUNT(*) > 1";
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM (" + duplicates + ") d")) {
+            resultSet.next();
+            long groups = resultSet.getLong(1);
+            if (groups > 0) {
+                throw new IllegalStateException(index.table() + " has " + groups + " duplicate groups for ("
+                        + columns + "); merge them before upgrading. Find them with: " + duplicates);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.devtech.school_management_system.migration;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Creates payment_daily_rollup on databases whose schema Hibernate no longer changes. A fresh database gets it
+ * from the entity mapping instead. The rollup is filled from fee_payments on the next startup.
+ */
+@Component
+public class V3__PaymentDailyRollup extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!MigrationSupport.tableExists(connection, "fee_payments")
+                || MigrationSupport.tableExists(connection, "payment_daily_rollup")) {
+            return;
+        }
+
+        String statusType = MigrationSupport.enumType(connection, PaymentStatus.values());
+        String timestampType = MigrationSupport.timestampType(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE payment_daily_rollup ("
+                    + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "payment_date DATE NOT NULL, "
+                    + "academic_year VARCHAR(20) NOT NULL, "
+                    + "term VARCHAR(50) NOT NULL, "
+                    + "payment_status " + statusType + " NOT NULL, "
+                    + "transaction_count BIGINT NOT NULL, "
+                    + "amount_paid DECIMAL(14,2) NOT NULL, "
+                    + "updated_at " + timestampType + ", "
+                    + "CONSTRAINT uk_payment_daily_rollup_day_status "
+                    + "UNIQUE (payment_date, academic_year, term, payment_status))");
+        }
+        System.out.println("Created table payment_daily_rollup");
+    }
+}
@@ -0,0 +1,47 @@
+package com.devtech.school_management_system.migration;
+
+import com.devtech.school_management_system.enums.NotificationStatus;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Creates notification_outbox on databases whose schema Hibernate no longer changes, with the unique dedup key
+ * that lets a duplicate absentee message be skipped on insert. A fresh database gets it from the entity mapping.
+ */
+@Component
+public class V4__NotificationOutbox extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!MigrationSupport.tableExists(connection, "students")
+                || MigrationSupport.tableExists(connection, "notification_outbox")) {
+            return;
+        }
+
+        String statusType = MigrationSupport.enumType(connection, NotificationStatus.values());
+        String timestampType = MigrationSupport.timestampType(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE notification_outbox ("
+                    + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "recipient VARCHAR(255) NOT NULL, "
+                    + "message TEXT NOT NULL, "
+                    + "dedup_key VARCHAR(255) NOT NULL, "
+                    + "status " + statusType + " NOT NULL, "
+                    + "attempts INT NOT NULL, "
+                    + "next_attempt_at " + timestampType + " NOT NULL, "
+                    + "last_error VARCHAR(1000), "
+                    + "sent_at " + timestampType + ", "
+                    + "created_at " + timestampType + " NOT NULL, "
+                    + "CONSTRAINT uk_notification_outbox_dedup_key UNIQUE (dedup_key))");
+            statement.execute("CREATE INDEX idx_notification_outbox_status_next_attempt "
+                    + "ON notification_outbox (status, next_attempt_at)");
+        }
+        System.out.println("Created table notification_outbox");
+    }
+}
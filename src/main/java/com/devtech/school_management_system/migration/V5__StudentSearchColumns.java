@@ -0,0 +1,46 @@
+package com.devtech.school_management_system.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Adds the lower-cased search_name and search_student_id columns to students, fills them for existing rows the
+ * way Student.normalizeForSearch does, and indexes them for prefix search.
+ */
+@Component
+public class V5__StudentSearchColumns extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!MigrationSupport.tableExists(connection, "students")) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (!MigrationSupport.columnExists(connection, "students", "search_name")) {
+                statement.execute("ALTER TABLE students ADD COLUMN search_name VARCHAR(511)");
+            }
+            if (!MigrationSupport.columnExists(connection, "students", "search_student_id")) {
+                statement.execute("ALTER TABLE students ADD COLUMN search_student_id VARCHAR(255)");
+            }
+
+            int backfilled = statement.executeUpdate("UPDATE students SET "
+                    + "search_name = LOWER(TRIM(CONCAT(first_name, ' ', last_name))), "
+                    + "search_student_id = LOWER(TRIM(student_id)) "
+                    + "WHERE search_name IS NULL OR search_student_id IS NULL");
+            System.out.println("Backfilled search columns for " + backfilled + " students");
+
+            if (!MigrationSupport.indexExists(connection, "students", "idx_students_search_name")) {
+                statement.execute("CREATE INDEX idx_students_search_name ON students (search_name)");
+            }
+            if (!MigrationSupport.indexExists(connection, "students", "idx_students_search_student_id")) {
+                statement.execute("CREATE INDEX idx_students_search_student_id ON students (search_student_id)");
+            }
+        }
+    }
+}
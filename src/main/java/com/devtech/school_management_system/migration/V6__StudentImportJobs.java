@@ -0,0 +1,61 @@
+package com.devtech.school_management_system.migration;
+
+import com.devtech.school_management_system.enums.ImportJobStatus;
+import com.devtech.school_management_system.enums.ImportRowStatus;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Creates student_import_jobs, including the heartbeat that marks a job as still owned by a running instance,
+ * and student_import_rows on databases whose schema Hibernate no longer changes. A fresh database gets them
+ * from the entity mappings.
+ */
+@Component
+public class V6__StudentImportJobs extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!MigrationSupport.tableExists(connection, "students")) {
+            return;
+        }
+
+        String timestampType = MigrationSupport.timestampType(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            if (!MigrationSupport.tableExists(connection, "student_import_jobs")) {
+                statement.execute("CREATE TABLE student_import_jobs ("
+                        + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                        + "file_name VARCHAR(255), "
+                        + "submitted_by VARCHAR(255), "
+                        + "status " + MigrationSupport.enumType(connection, ImportJobStatus.values()) + " NOT NULL, "
+                        + "total_rows INT NOT NULL, "
+                        + "processed_rows INT NOT NULL, "
+                        + "successful_imports INT NOT NULL, "
+                        + "error_count INT NOT NULL, "
+                        + "message VARCHAR(1000), "
+                        + "created_at " + timestampType + " NOT NULL, "
+                        + "started_at " + timestampType + ", "
+                        + "finished_at " + timestampType + ", "
+                        + "heartbeat_at " + timestampType + ")");
+                System.out.println("Created table student_import_jobs");
+            }
+            if (!MigrationSupport.tableExists(connection, "student_import_rows")) {
+                statement.execute("CREATE TABLE student_import_rows ("
+                        + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                        + "job_id BIGINT NOT NULL, "
+                        + "sheet_row INT NOT NULL, "
+                        + "status " + MigrationSupport.enumType(connection, ImportRowStatus.values()) + " NOT NULL, "
+                        + "student_id VARCHAR(64), "
+                        + "message VARCHAR(500))");
+                statement.execute("CREATE INDEX idx_student_import_rows_job_row "
+                        + "ON student_import_rows (job_id, sheet_row)");
+                System.out.println("Created table student_import_rows");
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.devtech.school_management_system.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Creates mark_accumulators on databases whose schema Hibernate no longer changes, with the unique key the delta
+ * upsert relies on. A fresh database gets it from the entity mapping. The accumulators are rebuilt from
+ * assessments on the next startup.
+ */
+@Component
+public class V7__MarkAccumulators extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!MigrationSupport.tableExists(connection, "assessments")
+                || MigrationSupport.tableExists(connection, "mark_accumulators")) {
+            return;
+        }
+
+        String timestampType = MigrationSupport.timestampType(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE mark_accumulators ("
+                    + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "student_subject_id BIGINT NOT NULL, "
+                    + "term VARCHAR(255) NOT NULL, "
+                    + "academic_year VARCHAR(255) NOT NULL, "
+                    + "coursework_sum DOUBLE NOT NULL, "
+                    + "coursework_count INT NOT NULL, "
+                    + "exam_sum DOUBLE NOT NULL, "
+                    + "exam_count INT NOT NULL, "
+                    + "updated_at " + timestampType + ", "
+                    + "CONSTRAINT uk_mark_accumulators_subject_term "
+                    + "UNIQUE (student_subject_id, term, academic_year))");
+            statement.execute("CREATE INDEX idx_mark_accumulators_term ON mark_accumulators (term, academic_year)");
+        }
+        System.out.println("Created table mark_accumulators");
+    }
+}
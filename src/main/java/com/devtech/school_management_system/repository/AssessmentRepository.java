@@ -12,7 +12,8 @@ import java.util.List;
 @Repository
 public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
 
-    List<Assessment> findByStudentSubjectId(Long studentSubjectId);
+    @Query("SELECT a FROM Assessment a WHERE a.studentSubject.id = :studentSubjectId")
+    List<Assessment> findByStudentSubjectId(@Param("studentSubjectId") Long studentSubjectId);
 
     @Query("SELECT a FROM Assessment a WHERE a.studentSubject.student.id = :studentId AND a.studentSubject.subject.id = :subjectId")
     List<Assessment> findByStudentIdAndSubjectId(@Param("studentId") Long studentId,
@@ -0,0 +1,20 @@
+package com.devtech.school_management_system.repository;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for class roll-call, where marking a whole class would otherwise cost one statement per student.
+ */
+public interface AttendanceBatchRepository {
+
+    /**
+     * Inserts one attendance row per student for the given date in a single JDBC batch.
+     */
+    void batchInsertAttendance(Map<Long, Boolean> presenceByStudentId, LocalDate date, String markedBy);
+
+    /**
+     * Updates the presence flag of existing attendance rows, keyed by attendance id, in a single JDBC batch.
+     */
+    void batchUpdateAttendance(Map<Long, Boolean> presenceByAttendanceId, String markedBy);
+}
@@ -0,0 +1,55 @@
+package com.devtech.school_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class AttendanceBatchRepositoryImpl implements AttendanceBatchRepository {
+
+    private static final String INSERT_ATTENDANCE_SQL =
+            "INSERT INTO attendance (student_id, date, present, marked_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ATTENDANCE_SQL =
+            "UPDATE attendance SET present = ?, marked_by = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsertAttendance(Map<Long, Boolean> presenceByStudentId, LocalDate date, String markedBy) {
+        if (presenceByStudentId.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date sqlDate = Date.valueOf(date);
+        List<Object[]> rows = new ArrayList<>(presenceByStudentId.size());
+        for (Map.Entry<Long, Boolean> entry : presenceByStudentId.entrySet()) {
+            rows.add(new Object[]{entry.getKey(), sqlDate, entry.getValue(), markedBy, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTENDANCE_SQL, rows);
+    }
+
+    @Override
+    public void batchUpdateAttendance(Map<Long, Boolean> presenceByAttendanceId, String markedBy) {
+        if (presenceByAttendanceId.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(presenceByAttendanceId.size());
+        for (Map.Entry<Long, Boolean> entry : presenceByAttendanceId.entrySet()) {
+            rows.add(new Object[]{entry.getValue(), markedBy, now, entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_ATTENDANCE_SQL, rows);
+    }
+}
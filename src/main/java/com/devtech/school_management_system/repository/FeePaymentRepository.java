@@ -2,22 +2,51 @@ package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.FeePayment;
 import com.devtech.school_management_system.enums.PaymentStatus;
+import com.devtech.school_management_system.repository.projection.ClassPaymentStatusTotals;
+import com.devtech.school_management_system.repository.projection.DailyPaymentTotals;
+import com.devtech.school_management_system.repository.projection.PaymentExportRow;
+import com.devtech.school_management_system.repository.projection.StudentPaymentHistoryRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
     
-    List<FeePayment> findByStudentIdAndTermAndAcademicYear(Long studentId, String term, String academicYear);
+    // Student finders filter on fee_payments.student_id: derived finders outer-join students, which fixes the
+    // join order so fee_payments is read first without the student_id leading index
+    @Query("SELECT fp FROM FeePayment fp WHERE fp.student.id = :studentId AND fp.term = :term AND fp.academicYear = :academicYear")
+    List<FeePayment> findByStudentIdAndTermAndAcademicYear(@Param("studentId") Long studentId,
+                                                           @Param("term") String term,
+                                                           @Param("academicYear") String academicYear);
     
-    Optional<FeePayment> findByStudentIdAndTermAndMonthAndAcademicYear(Long studentId, String term, String month, String academicYear);
+    /**
+     * Locks the student's row for the month so concurrent top-ups add to each other instead of overwriting.
+     * Backed by uk_fee_payments_student_period, so only that one index entry is locked; without the join a
+     * derived finder adds, the students row is not locked as well.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT fp FROM FeePayment fp WHERE fp.student.id = :studentId AND fp.term = :term " +
+           "AND fp.month = :month AND fp.academicYear = :academicYear")
+    Optional<FeePayment> findByStudentIdAndTermAndMonthAndAcademicYear(@Param("studentId") Long studentId,
+                                                                       @Param("term") String term,
+                                                                       @Param("month") String month,
+                                                                       @Param("academicYear") String academicYear);
     
     @Query("SELECT fp FROM FeePayment fp JOIN fp.student s WHERE s.form = :form AND s.section = :section AND fp.paymentStatus = :status")
     List<FeePayment> findByClassAndPaymentStatus(@Param("form") String form, @Param("section") String section, @Param("status") PaymentStatus status);
@@ -30,7 +59,11 @@ public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
     
     List<FeePayment> findByPaymentDate(LocalDate date);
     
-    List<FeePayment> findByStudentId(Long studentId);
+    @Query("SELECT fp FROM FeePayment fp WHERE fp.student.id = :studentId")
+    List<FeePayment> findByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT p FROM FeePayment p WHERE p.student.id IN :studentIds ORDER BY p.id")
+    List<FeePayment> findByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
     
     List<FeePayment> findByTermAndAcademicYear(String term, String academicYear);
     
@@ -42,5 +75,51 @@ public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
     @Query("SELECT fp FROM FeePayment fp WHERE fp.term = :term AND fp.academicYear = :academicYear AND fp.balance > 0")
     List<FeePayment> findOutstandingPaymentsByTermAndAcademicYear(@Param("term") String term, @Param("academicYear") String academicYear);
     
+    @Query("SELECT s.form AS form, s.section AS section, fp.paymentStatus AS paymentStatus, " +
+           "COUNT(fp) AS paymentCount, SUM(fp.amountPaid) AS totalPaid, SUM(fp.balance) AS totalBalance " +
+           "FROM FeePayment fp JOIN fp.student s " +
+           "WHERE (fp.term = :term AND fp.academicYear = :academicYear) OR fp.paymentDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.form, s.section, fp.paymentStatus " +
+           "ORDER BY s.form, s.section")
+    List<ClassPaymentStatusTotals> summarizeByClassAndStatus(@Param("term") String term,
+                                                             @Param("academicYear") String academicYear,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT fp.paymentDate AS paymentDate, SUM(fp.amountPaid) AS totalAmount, COUNT(fp) AS transactionCount " +
+           "FROM FeePayment fp WHERE fp.paymentDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY fp.paymentDate ORDER BY fp.paymentDate")
+    List<DailyPaymentTotals> summarizeByPaymentDate(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Streams export rows for a term with a server-side cursor. Integer.MIN_VALUE asks MySQL Connector/J
+     * to stream rows one at a time; callers must consume the stream inside a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.studentId AS studentId, s.firstName AS firstName, s.lastName AS lastName, " +
+           "s.form AS form, s.section AS section, fp.term AS term, fp.month AS month, " +
+           "fp.academicYear AS academicYear, fp.monthlyFeeAmount AS monthlyFeeAmount, " +
+           "fp.amountPaid AS amountPaid, fp.balance AS balance, fp.paymentStatus AS paymentStatus, " +
+           "fp.paymentDate AS paymentDate " +
+           "FROM FeePayment fp JOIN fp.student s " +
+           "WHERE fp.term = :term AND fp.academicYear = :academicYear ORDER BY fp.id")
+    Stream<PaymentExportRow> streamExportRowsByTermAndAcademicYear(@Param("term") String term,
+                                                                   @Param("academicYear") String academicYear);
+    
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id AS id, s.studentId AS studentId, s.firstName AS firstName, s.lastName AS lastName, " +
+           "s.form AS form, s.section AS section, fp.id AS paymentId, fp.term AS term, fp.month AS month, " +
+           "fp.academicYear AS academicYear, fp.amountPaid AS amountPaid, fp.balance AS balance, " +
+           "fp.paymentDate AS paymentDate, fp.paymentStatus AS paymentStatus " +
+           "FROM Student s LEFT JOIN FeePayment fp ON fp.student = s ORDER BY s.id, fp.id")
+    Stream<StudentPaymentHistoryRow> streamPaymentHistoryRows();
+    
     void deleteByStudentId(Long studentId);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.FeeSetting;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,12 +13,18 @@ import java.util.Optional;
 @Repository
 public interface FeeSettingRepository extends JpaRepository<FeeSetting, Long> {
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")})
     List<FeeSetting> findByActiveTrue();
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")})
     Optional<FeeSetting> findByLevelAndAcademicYearAndTermAndActiveTrue(
         String level, String academicYear, String term);
     
     List<FeeSetting> findByLevelAndActiveTrue(String level);
     
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")})
     List<FeeSetting> findByAcademicYearAndTermAndActiveTrue(String academicYear, String term);
 }
\ No newline at end of file
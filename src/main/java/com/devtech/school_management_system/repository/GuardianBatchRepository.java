@@ -0,0 +1,13 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.Guardian;
+
+import java.util.List;
+
+public interface GuardianBatchRepository {
+
+    /**
+     * Inserts guardians in one JDBC batch. Each guardian's student must already have its id assigned.
+     */
+    void batchInsertGuardians(List<Guardian> guardians);
+}
@@ -0,0 +1,37 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.Guardian;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GuardianBatchRepositoryImpl implements GuardianBatchRepository {
+
+    private static final String INSERT_GUARDIAN_SQL =
+            "INSERT INTO guardians (student_id, name, relationship, phone_number, whatsapp_number, primary_guardian, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GuardianBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsertGuardians(List<Guardian> guardians) {
+        if (guardians.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(guardians.size());
+        for (Guardian guardian : guardians) {
+            rows.add(new Object[]{guardian.getStudent().getId(), guardian.getName(), guardian.getRelationship(),
+                    guardian.getPhoneNumber(), guardian.getWhatsappNumber(), guardian.isPrimaryGuardian(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_GUARDIAN_SQL, rows);
+    }
+}
@@ -2,16 +2,20 @@ package com.devtech.school_management_system.repository;
 
 
 import com.devtech.school_management_system.entity.Guardian;
+import com.devtech.school_management_system.repository.projection.GuardianListRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface GuardianRepository extends JpaRepository<Guardian, Long> {
+public interface GuardianRepository extends JpaRepository<Guardian, Long>, GuardianBatchRepository {
 
     List<Guardian> findByStudentId(Long studentId);
 
@@ -22,5 +26,19 @@ public interface GuardianRepository extends JpaRepository<Guardian, Long> {
 
     List<Guardian> findByWhatsappNumber(String whatsappNumber);
     
+    @Query("SELECT g FROM Guardian g WHERE g.student.id IN :studentIds")
+    List<Guardian> findByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
+    
     void deleteByStudentId(Long studentId);
+
+    @Query(value = "SELECT g.id AS id, g.student.id AS studentId, g.name AS name, g.relationship AS relationship, " +
+           "g.phoneNumber AS phoneNumber, g.whatsappNumber AS whatsappNumber, g.primaryGuardian AS primaryGuardian, " +
+           "g.createdAt AS createdAt, g.updatedAt AS updatedAt FROM Guardian g",
+           countQuery = "SELECT COUNT(g) FROM Guardian g")
+    Page<GuardianListRow> findListRows(Pageable pageable);
+
+    @Query("SELECT g.id AS id, g.student.id AS studentId, g.name AS name, g.relationship AS relationship, " +
+           "g.phoneNumber AS phoneNumber, g.whatsappNumber AS whatsappNumber, g.primaryGuardian AS primaryGuardian, " +
+           "g.createdAt AS createdAt, g.updatedAt AS updatedAt FROM Guardian g WHERE g.id > :afterId ORDER BY g.id")
+    List<GuardianListRow> findListRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
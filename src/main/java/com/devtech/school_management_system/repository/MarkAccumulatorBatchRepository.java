@@ -0,0 +1,25 @@
+package com.devtech.school_management_system.repository;
+
+/**
+ * Set-based writes on mark accumulators: single-row delta upserts and whole-term rebuilds from assessments.
+ */
+public interface MarkAccumulatorBatchRepository {
+
+    /**
+     * Adds the given deltas to the accumulator of one student subject and term, creating it when missing.
+     */
+    void applyDelta(Long studentSubjectId, String term, String academicYear,
+                    double courseworkSumDelta, int courseworkCountDelta,
+                    double examSumDelta, int examCountDelta);
+
+    /**
+     * Replaces the accumulators of one term with sums aggregated from its assessments in a single
+     * INSERT ... SELECT. Returns the number of accumulators written.
+     */
+    int rebuildTerm(String term, String academicYear);
+
+    /**
+     * Replaces every accumulator with sums aggregated from all assessments. Returns the number written.
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,60 @@
+package com.devtech.school_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public class MarkAccumulatorBatchRepositoryImpl implements MarkAccumulatorBatchRepository {
+
+    private static final String UPSERT_DELTA_SQL =
+            "INSERT INTO mark_accumulators (student_subject_id, term, academic_year, coursework_sum, coursework_count, " +
+            "exam_sum, exam_count, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE coursework_sum = coursework_sum + VALUES(coursework_sum), " +
+            "coursework_count = coursework_count + VALUES(coursework_count), " +
+            "exam_sum = exam_sum + VALUES(exam_sum), exam_count = exam_count + VALUES(exam_count), " +
+            "updated_at = VALUES(updated_at)";
+
+    // Same as Assessment.getPercentage: 0 for a missing or zero max score, which still counts as an assessment
+    private static final String PERCENTAGE_SQL = "COALESCE(a.score / NULLIF(a.max_score, 0) * 100, 0)";
+
+    private static final String AGGREGATE_SQL =
+            "INSERT INTO mark_accumulators (student_subject_id, term, academic_year, coursework_sum, coursework_count, " +
+            "exam_sum, exam_count, updated_at) " +
+            "SELECT a.student_subject_id, a.term, a.academic_year, " +
+            "COALESCE(SUM(CASE WHEN a.type = 'COURSEWORK' THEN " + PERCENTAGE_SQL + " END), 0), " +
+            "SUM(CASE WHEN a.type = 'COURSEWORK' THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN a.type = 'FINAL_EXAM' THEN " + PERCENTAGE_SQL + " END), 0), " +
+            "SUM(CASE WHEN a.type = 'FINAL_EXAM' THEN 1 ELSE 0 END), ? " +
+            "FROM assessments a ";
+
+    private static final String GROUP_BY_SQL = "GROUP BY a.student_subject_id, a.term, a.academic_year";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MarkAccumulatorBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDelta(Long studentSubjectId, String term, String academicYear,
+                           double courseworkSumDelta, int courseworkCountDelta,
+                           double examSumDelta, int examCountDelta) {
+        jdbcTemplate.update(UPSERT_DELTA_SQL, studentSubjectId, term, academicYear,
+                courseworkSumDelta, courseworkCountDelta, examSumDelta, examCountDelta,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public int rebuildTerm(String term, String academicYear) {
+        jdbcTemplate.update("DELETE FROM mark_accumulators WHERE term = ? AND academic_year = ?", term, academicYear);
+        return jdbcTemplate.update(AGGREGATE_SQL + "WHERE a.term = ? AND a.academic_year = ? " + GROUP_BY_SQL,
+                Timestamp.valueOf(LocalDateTime.now()), term, academicYear);
+    }
+
+    @Override
+    public int rebuildAll() {
+        jdbcTemplate.update("DELETE FROM mark_accumulators");
+        return jdbcTemplate.update(AGGREGATE_SQL + GROUP_BY_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.MarkAccumulator;
+import com.devtech.school_management_system.repository.projection.MarkTotals;
+import com.devtech.school_management_system.repository.projection.SubjectReportMarkRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MarkAccumulatorRepository extends JpaRepository<MarkAccumulator, Long>, MarkAccumulatorBatchRepository {
+
+    @Query("SELECT m.courseworkSum AS courseworkSum, m.courseworkCount AS courseworkCount, " +
+           "m.examSum AS examSum, m.examCount AS examCount FROM MarkAccumulator m " +
+           "WHERE m.studentSubjectId = :studentSubjectId AND m.term = :term AND m.academicYear = :year")
+    Optional<MarkTotals> findTotals(@Param("studentSubjectId") Long studentSubjectId,
+                                    @Param("term") String term,
+                                    @Param("year") String year);
+
+    @Query("SELECT m.courseworkSum AS courseworkSum, m.courseworkCount AS courseworkCount, " +
+           "m.examSum AS examSum, m.examCount AS examCount FROM MarkAccumulator m, StudentSubject ss " +
+           "WHERE m.studentSubjectId = ss.id AND ss.student.id = :studentId AND ss.subject.id = :subjectId " +
+           "AND m.term = :term AND m.academicYear = :year")
+    Optional<MarkTotals> findTotalsByStudentAndSubject(@Param("studentId") Long studentId,
+                                                       @Param("subjectId") Long subjectId,
+                                                       @Param("term") String term,
+                                                       @Param("year") String year);
+
+    @Query("SELECT sr.id AS subjectReportId, m.courseworkSum AS courseworkSum, m.courseworkCount AS courseworkCount, " +
+           "m.examSum AS examSum, m.examCount AS examCount FROM SubjectReport sr JOIN sr.report r " +
+           "LEFT JOIN StudentSubject ss ON ss.student = r.student AND ss.subject = sr.subject " +
+           "LEFT JOIN MarkAccumulator m ON m.studentSubjectId = ss.id AND m.term = r.term AND m.academicYear = r.academicYear " +
+           "WHERE r.term = :term AND r.academicYear = :year AND r.finalized = false")
+    List<SubjectReportMarkRow> findOpenSubjectReportMarks(@Param("term") String term, @Param("year") String year);
+
+    @Modifying
+    @Query("DELETE FROM MarkAccumulator m WHERE m.studentSubjectId = :studentSubjectId")
+    void deleteByStudentSubjectId(@Param("studentSubjectId") Long studentSubjectId);
+
+    @Modifying
+    @Query("DELETE FROM MarkAccumulator m WHERE m.studentSubjectId IN " +
+           "(SELECT ss.id FROM StudentSubject ss WHERE ss.student.id = :studentId)")
+    void deleteByStudentId(@Param("studentId") Long studentId);
+}
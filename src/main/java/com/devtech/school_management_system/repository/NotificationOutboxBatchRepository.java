@@ -0,0 +1,18 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.NotificationOutbox;
+
+import java.util.Collection;
+
+/**
+ * JDBC batch writes on the notification outbox.
+ */
+public interface NotificationOutboxBatchRepository {
+
+    /**
+     * Inserts the given messages as PENDING and due now in a single JDBC batch. A message whose dedup key is
+     * already queued, including by a transaction running at the same time, is skipped instead of failing
+     * the batch.
+     */
+    void batchInsertIgnoringDuplicates(Collection<NotificationOutbox> messages);
+}
@@ -0,0 +1,40 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.NotificationOutbox;
+import com.devtech.school_management_system.enums.NotificationStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class NotificationOutboxBatchRepositoryImpl implements NotificationOutboxBatchRepository {
+
+    // The no-op update only absorbs a duplicate dedup_key; foreign key and data errors still fail the insert
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO notification_outbox (recipient, message, dedup_key, status, attempts, next_attempt_at, " +
+            "created_at) VALUES (?, ?, ?, ?, 0, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsertIgnoringDuplicates(Collection<NotificationOutbox> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        for (NotificationOutbox message : messages) {
+            rows.add(new Object[]{message.getRecipient(), message.getMessage(), message.getDedupKey(),
+                    NotificationStatus.PENDING.name(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, rows);
+    }
+}
@@ -0,0 +1,32 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.NotificationOutbox;
+import com.devtech.school_management_system.enums.NotificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long>, NotificationOutboxBatchRepository {
+
+    /**
+     * Locks due messages with FOR UPDATE SKIP LOCKED so several application instances can drain the outbox
+     * concurrently without claiming the same rows. Written as native SQL because Hibernate only renders the
+     * lock timeout hint as SKIP LOCKED for some dialects, and would otherwise wait on the locked rows.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = :status AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> findDueForUpdate(@Param("status") String status,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("limit") int limit);
+
+    @Query("SELECT n.dedupKey FROM NotificationOutbox n WHERE n.dedupKey IN :dedupKeys")
+    List<String> findExistingDedupKeys(@Param("dedupKeys") Collection<String> dedupKeys);
+
+    long countByStatus(NotificationStatus status);
+}
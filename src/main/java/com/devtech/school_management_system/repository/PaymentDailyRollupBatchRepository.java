@@ -0,0 +1,29 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Set-based writes on the daily payment rollup: single-row delta upserts and rebuilds from fee_payments.
+ */
+public interface PaymentDailyRollupBatchRepository {
+
+    /**
+     * Adds the given deltas to one date, term and status, creating the row when missing.
+     */
+    void applyDelta(LocalDate paymentDate, String academicYear, String term, PaymentStatus paymentStatus,
+                    long transactionCountDelta, BigDecimal amountPaidDelta);
+
+    /**
+     * Replaces the rollup rows of a date range with totals aggregated from fee_payments in a single
+     * INSERT ... SELECT. Returns the number of rows written.
+     */
+    int rebuildRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Replaces every rollup row with totals aggregated from all fee payments. Returns the number written.
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,56 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class PaymentDailyRollupBatchRepositoryImpl implements PaymentDailyRollupBatchRepository {
+
+    private static final String UPSERT_DELTA_SQL =
+            "INSERT INTO payment_daily_rollup (payment_date, academic_year, term, payment_status, " +
+            "transaction_count, amount_paid, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE transaction_count = transaction_count + VALUES(transaction_count), " +
+            "amount_paid = amount_paid + VALUES(amount_paid), updated_at = VALUES(updated_at)";
+
+    private static final String AGGREGATE_SQL =
+            "INSERT INTO payment_daily_rollup (payment_date, academic_year, term, payment_status, " +
+            "transaction_count, amount_paid, updated_at) " +
+            "SELECT fp.payment_date, fp.academic_year, fp.term, fp.payment_status, " +
+            "COUNT(*), SUM(fp.amount_paid), ? " +
+            "FROM fee_payments fp ";
+
+    private static final String GROUP_BY_SQL =
+            "GROUP BY fp.payment_date, fp.academic_year, fp.term, fp.payment_status";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentDailyRollupBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDelta(LocalDate paymentDate, String academicYear, String term, PaymentStatus paymentStatus,
+                           long transactionCountDelta, BigDecimal amountPaidDelta) {
+        jdbcTemplate.update(UPSERT_DELTA_SQL, Date.valueOf(paymentDate), academicYear, term, paymentStatus.name(),
+                transactionCountDelta, amountPaidDelta, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public int rebuildRange(LocalDate startDate, LocalDate endDate) {
+        jdbcTemplate.update("DELETE FROM payment_daily_rollup WHERE payment_date BETWEEN ? AND ?",
+                Date.valueOf(startDate), Date.valueOf(endDate));
+        return jdbcTemplate.update(AGGREGATE_SQL + "WHERE fp.payment_date BETWEEN ? AND ? " + GROUP_BY_SQL,
+                Timestamp.valueOf(LocalDateTime.now()), Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    @Override
+    public int rebuildAll() {
+        jdbcTemplate.update("DELETE FROM payment_daily_rollup");
+        return jdbcTemplate.update(AGGREGATE_SQL + GROUP_BY_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.PaymentDailyRollup;
+import com.devtech.school_management_system.repository.projection.DailyPaymentTotals;
+import com.devtech.school_management_system.repository.projection.TermPaymentTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PaymentDailyRollupRepository extends JpaRepository<PaymentDailyRollup, Long>, PaymentDailyRollupBatchRepository {
+
+    @Query("SELECT r.paymentDate AS paymentDate, SUM(r.amountPaid) AS totalAmount, SUM(r.transactionCount) AS transactionCount " +
+           "FROM PaymentDailyRollup r WHERE r.paymentDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.paymentDate HAVING SUM(r.transactionCount) > 0 ORDER BY r.paymentDate")
+    List<DailyPaymentTotals> sumByDay(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.academicYear AS academicYear, r.term AS term, MIN(r.paymentDate) AS firstPaymentDate, " +
+           "MAX(r.paymentDate) AS lastPaymentDate, SUM(r.amountPaid) AS totalAmount, " +
+           "SUM(r.transactionCount) AS transactionCount " +
+           "FROM PaymentDailyRollup r WHERE r.paymentDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.academicYear, r.term HAVING SUM(r.transactionCount) > 0 " +
+           "ORDER BY MIN(r.paymentDate)")
+    List<TermPaymentTotals> sumByTerm(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,15 @@
+package com.devtech.school_management_system.repository;
+
+import java.util.Collection;
+
+/**
+ * JDBC batch operations on reports that would otherwise cost one statement per row through JPA.
+ */
+public interface ReportBatchRepository {
+
+    /**
+     * Inserts an empty, unfinalized report for every given student in a single JDBC batch. A report another
+     * request created in the meantime is kept, and the insert for that student is skipped.
+     */
+    void batchInsertEmptyReports(Collection<Long> studentIds, String term, String academicYear);
+}
@@ -0,0 +1,36 @@
+package com.devtech.school_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ReportBatchRepositoryImpl implements ReportBatchRepository {
+
+    private static final String INSERT_REPORT_SQL =
+            "INSERT IGNORE INTO reports (student_id, term, academic_year, is_finalized, created_at, updated_at) " +
+            "VALUES (?, ?, ?, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReportBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsertEmptyReports(Collection<Long> studentIds, String term, String academicYear) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(studentIds.size());
+        for (Long studentId : studentIds) {
+            rows.add(new Object[]{studentId, term, academicYear, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_REPORT_SQL, rows);
+    }
+}
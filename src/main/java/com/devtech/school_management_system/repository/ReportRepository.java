@@ -6,13 +6,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ReportRepository extends JpaRepository<Report, Long> {
+public interface ReportRepository extends JpaRepository<Report, Long>, ReportBatchRepository {
 
-    List<Report> findByStudentId(Long studentId);
+    // Filters on reports.student_id; the derived finder would outer-join students first and scan reports
+    @Query("SELECT r FROM Report r WHERE r.student.id = :studentId")
+    List<Report> findByStudentId(@Param("studentId") Long studentId);
 /*
     Optional<Report> findByStudentIdAndTermAndAcademicYear(Long studentId, String term, String academicYear);
 
@@ -28,7 +31,10 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     @Query("SELECT r FROM Report r WHERE r.finalized = :finalized")
     List<Report> findByFinalized(@Param("finalized") boolean finalized);
 
-    Optional<Report> findByStudentIdAndTermAndAcademicYear(Long studentId, String term, String academicYear);
+    @Query("SELECT r FROM Report r WHERE r.student.id = :studentId AND r.term = :term AND r.academicYear = :year")
+    Optional<Report> findByStudentIdAndTermAndAcademicYear(@Param("studentId") Long studentId,
+                                                           @Param("term") String term,
+                                                           @Param("year") String year);
 
     @Query("SELECT r FROM Report r WHERE r.student.form = :form AND r.student.section = :section AND r.term = :term AND r.academicYear = :year")
     List<Report> findByFormAndSectionAndTermAndAcademicYear(@Param("form") String form,
@@ -36,5 +42,10 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
                                                             @Param("term") String term,
                                                             @Param("year") String year);
     
+    @Query("SELECT r FROM Report r WHERE r.student.id IN :studentIds AND r.term = :term AND r.academicYear = :year")
+    List<Report> findByStudentIdInAndTermAndAcademicYear(@Param("studentIds") Collection<Long> studentIds,
+                                                         @Param("term") String term,
+                                                         @Param("year") String year);
+    
     void deleteByStudentId(Long studentId);
 }
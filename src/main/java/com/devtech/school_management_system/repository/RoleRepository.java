@@ -2,13 +2,18 @@ package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.Role;
 import com.devtech.school_management_system.enums.ERole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")})
     Optional<Role> findByName(ERole name);
     boolean existsByName(ERole name);
 }
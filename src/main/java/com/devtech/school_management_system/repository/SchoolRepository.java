@@ -7,4 +7,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SchoolRepository extends JpaRepository<School, Long> {
     // School is typically a single entity, so we mainly need basic CRUD
+
+    boolean existsByConfiguredTrue();
 }
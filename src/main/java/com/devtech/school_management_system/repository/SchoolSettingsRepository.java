@@ -1,11 +1,16 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.SchoolSettings;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SchoolSettingsRepository extends JpaRepository<SchoolSettings, Long> {
     // Find the first (and usually only) school settings record
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")})
     SchoolSettings findFirstByOrderByIdAsc();
 }
\ No newline at end of file
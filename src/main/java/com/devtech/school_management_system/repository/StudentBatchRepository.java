@@ -0,0 +1,14 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.Student;
+
+import java.util.List;
+
+public interface StudentBatchRepository {
+
+    /**
+     * Inserts new students in one JDBC batch, bypassing the persistence context, and sets the generated ids on
+     * the given objects. The search columns are filled here because entity callbacks do not run.
+     */
+    void batchInsertStudents(List<Student> students);
+}
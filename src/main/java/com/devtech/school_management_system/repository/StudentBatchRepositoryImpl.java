@@ -0,0 +1,72 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.Student;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class StudentBatchRepositoryImpl implements StudentBatchRepository {
+
+    private static final String INSERT_STUDENT_SQL =
+            "INSERT INTO students (first_name, last_name, student_id, form, section, level, academic_year, " +
+            "enrollment_date, search_name, search_student_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsertStudents(List<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_STUDENT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Student student = students.get(i);
+                        ps.setString(1, student.getFirstName());
+                        ps.setString(2, student.getLastName());
+                        ps.setString(3, student.getStudentId());
+                        ps.setString(4, student.getForm());
+                        ps.setString(5, student.getSection());
+                        ps.setString(6, student.getLevel());
+                        ps.setString(7, student.getAcademicYear());
+                        ps.setDate(8, student.getEnrollmentDate() != null ? Date.valueOf(student.getEnrollmentDate()) : null);
+                        ps.setString(9, Student.normalizeForSearch(student.getFirstName() + " " + student.getLastName()));
+                        ps.setString(10, Student.normalizeForSearch(student.getStudentId()));
+                        ps.setTimestamp(11, now);
+                        ps.setTimestamp(12, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return students.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < students.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            students.get(i).setId(((Number) key).longValue());
+        }
+    }
+}
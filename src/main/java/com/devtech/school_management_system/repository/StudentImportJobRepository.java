@@ -0,0 +1,42 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.StudentImportJob;
+import com.devtech.school_management_system.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface StudentImportJobRepository extends JpaRepository<StudentImportJob, Long> {
+
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.processedRows = j.processedRows + :processed, " +
+           "j.successfulImports = j.successfulImports + :imported, j.errorCount = j.errorCount + :failed " +
+           "WHERE j.id = :jobId")
+    int addProgress(@Param("jobId") Long jobId,
+                    @Param("processed") int processed,
+                    @Param("imported") int imported,
+                    @Param("failed") int failed);
+
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.heartbeatAt = :now WHERE j.id IN :jobIds")
+    int touchHeartbeats(@Param("jobIds") Collection<Long> jobIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Fails open jobs whose heartbeat stopped before staleBefore. Rows written before the heartbeat existed
+     * fall back to their start or creation time.
+     */
+    @Modifying
+    @Query("UPDATE StudentImportJob j SET j.status = :failed, j.message = :message, j.finishedAt = :now " +
+           "WHERE j.status IN :statuses AND COALESCE(j.heartbeatAt, j.startedAt, j.createdAt) < :staleBefore")
+    int failStaleJobs(@Param("statuses") Collection<ImportJobStatus> statuses,
+                      @Param("failed") ImportJobStatus failed,
+                      @Param("message") String message,
+                      @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,10 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.StudentImportRow;
+
+import java.util.List;
+
+public interface StudentImportRowBatchRepository {
+
+    void batchInsertRows(List<StudentImportRow> rows);
+}
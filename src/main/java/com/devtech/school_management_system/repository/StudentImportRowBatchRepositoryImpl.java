@@ -0,0 +1,33 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.StudentImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StudentImportRowBatchRepositoryImpl implements StudentImportRowBatchRepository {
+
+    private static final String INSERT_ROW_SQL =
+            "INSERT INTO student_import_rows (job_id, sheet_row, status, student_id, message) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentImportRowBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsertRows(List<StudentImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (StudentImportRow row : rows) {
+            args.add(new Object[]{row.getJobId(), row.getRowNumber(), row.getStatus().name(),
+                    row.getStudentId(), row.getMessage()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROW_SQL, args);
+    }
+}
@@ -0,0 +1,20 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.StudentImportRow;
+import com.devtech.school_management_system.enums.ImportRowStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentImportRowRepository extends JpaRepository<StudentImportRow, Long>, StudentImportRowBatchRepository {
+
+    Page<StudentImportRow> findByJobIdOrderByRowNumber(Long jobId, Pageable pageable);
+
+    Page<StudentImportRow> findByJobIdAndStatusOrderByRowNumber(Long jobId, ImportRowStatus status, Pageable pageable);
+
+    List<StudentImportRow> findTop20ByJobIdAndStatusOrderByRowNumber(Long jobId, ImportRowStatus status);
+}
@@ -1,7 +1,14 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.repository.projection.ClassEnrollmentCount;
+import com.devtech.school_management_system.repository.projection.StudentClassRow;
+import com.devtech.school_management_system.repository.projection.StudentListRow;
+import com.devtech.school_management_system.repository.projection.StudentSearchRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,7 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentBatchRepository {
 
     Optional<Student> findByStudentId(String studentId);
 
@@ -18,6 +25,8 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     List<Student> findByFormAndSection(String form, String section);
 
+    boolean existsByFormAndSection(String form, String section);
+
     @Query("SELECT s FROM Student s WHERE s.form = :form AND s.section = :section AND s.academicYear = :year")
     List<Student> findByFormAndSectionAndYear(@Param("form") String form,
                                               @Param("section") String section,
@@ -31,5 +40,77 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     @Query("SELECT s FROM Student s WHERE s.firstName LIKE %:name% OR s.lastName LIKE %:name%")
     List<Student> findByNameContaining(@Param("name") String name);
-}
 
+    /**
+     * Prefix search over the normalized columns, so both LIKEs are range scans on idx_students_search_student_id
+     * and idx_students_search_name. Both arguments must already be lower-cased, and pattern must have LIKE
+     * wildcards escaped with '!'. Exact student ID matches rank first, then student ID prefixes, then name prefixes.
+     */
+    @Query("SELECT s FROM Student s " +
+           "WHERE s.searchStudentId LIKE CONCAT(:pattern, '%') ESCAPE '!' " +
+           "OR s.searchName LIKE CONCAT(:pattern, '%') ESCAPE '!' " +
+           "ORDER BY CASE WHEN s.searchStudentId = :query THEN 0 " +
+           "WHEN s.searchStudentId LIKE CONCAT(:pattern, '%') ESCAPE '!' THEN 1 ELSE 2 END, s.searchName, s.id")
+    List<Student> searchByNormalizedPrefix(@Param("query") String query,
+                                           @Param("pattern") String pattern,
+                                           Pageable pageable);
+
+    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Student s " +
+           "WHERE s.searchStudentId LIKE CONCAT(:pattern, '%') ESCAPE '!' " +
+           "OR s.searchName LIKE CONCAT(:pattern, '%') ESCAPE '!'")
+    boolean existsByNormalizedPrefix(@Param("pattern") String pattern);
+
+    /**
+     * Infix search over the normalized columns. The leading wildcard cannot use an index and reads every student,
+     * so it is only the fallback for a query no prefix matches (a last name, or the middle of a student ID).
+     */
+    @Query("SELECT s FROM Student s " +
+           "WHERE s.searchStudentId LIKE CONCAT('%', :pattern, '%') ESCAPE '!' " +
+           "OR s.searchName LIKE CONCAT('%', :pattern, '%') ESCAPE '!' " +
+           "ORDER BY s.searchName, s.id")
+    List<Student> searchByNormalizedInfix(@Param("pattern") String pattern, Pageable pageable);
+
+    // Full scan by design: the admin fix-up tools match any part of the name
+    @Query("SELECT s FROM Student s WHERE s.searchName LIKE CONCAT('%', :name, '%') ESCAPE '!'")
+    List<Student> findBySearchNameContaining(@Param("name") String name);
+
+    @Query("SELECT s.id AS id, s.searchName AS searchName, s.searchStudentId AS searchStudentId FROM Student s")
+    List<StudentSearchRow> findAllSearchRows();
+
+    /**
+     * Fills the search columns for rows written before they existed (or by bulk SQL that bypassed the entity).
+     */
+    @Modifying
+    @Query("UPDATE Student s SET s.searchName = LOWER(TRIM(CONCAT(s.firstName, ' ', s.lastName))), " +
+           "s.searchStudentId = LOWER(TRIM(s.studentId)) " +
+           "WHERE s.searchName IS NULL OR s.searchStudentId IS NULL")
+    int backfillSearchColumns();
+
+    @Query(value = "SELECT s.id AS id, s.studentId AS studentId, s.firstName AS firstName, s.lastName AS lastName, " +
+           "s.form AS form, s.section AS section, s.level AS level, s.academicYear AS academicYear, " +
+           "s.enrollmentDate AS enrollmentDate, s.createdAt AS createdAt, s.updatedAt AS updatedAt " +
+           "FROM Student s",
+           countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentListRow> findListRows(Pageable pageable);
+
+    /**
+     * Keyset page: the rows after afterId in id order. Pass a first-page pageable that only sets the page size.
+     */
+    @Query("SELECT s.id AS id, s.studentId AS studentId, s.firstName AS firstName, s.lastName AS lastName, " +
+           "s.form AS form, s.section AS section, s.level AS level, s.academicYear AS academicYear, " +
+           "s.enrollmentDate AS enrollmentDate, s.createdAt AS createdAt, s.updatedAt AS updatedAt " +
+           "FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentListRow> findListRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.studentId FROM Student s")
+    List<String> findAllStudentIds();
+
+    @Query("SELECT s.form AS form, s.section AS section, s.academicYear AS academicYear, COUNT(s) AS studentCount " +
+           "FROM Student s GROUP BY s.form, s.section, s.academicYear")
+    List<ClassEnrollmentCount> countByClass();
+
+    long countByFormAndSectionAndAcademicYear(String form, String section, String academicYear);
+
+    @Query("SELECT s.id AS id, s.form AS form, s.section AS section, s.academicYear AS academicYear FROM Student s")
+    List<StudentClassRow> findAllClassRows();
+}
@@ -0,0 +1,13 @@
+package com.devtech.school_management_system.repository;
+
+import java.util.List;
+
+public interface StudentSubjectBatchRepository {
+
+    /**
+     * Inserts (student, subject, academic year) rows in JDBC batches, skipping pairs already present under the
+     * (student_id, subject_id) unique key, and returns the number of rows actually inserted. Only duplicates are
+     * skipped; any other constraint violation fails the batch.
+     */
+    int batchInsertStudentSubjects(List<Long> studentIds, List<Long> subjectIds, List<String> academicYears);
+}
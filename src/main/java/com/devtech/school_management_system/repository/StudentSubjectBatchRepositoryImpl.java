@@ -0,0 +1,44 @@
+package com.devtech.school_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StudentSubjectBatchRepositoryImpl implements StudentSubjectBatchRepository {
+
+    // Pre-filtered rather than INSERT IGNORE, which would also turn foreign key and data errors into warnings;
+    // each statement reports 1 when it inserted the pair and 0 when the pair was already there
+    private static final String INSERT_STUDENT_SUBJECT_SQL =
+            "INSERT INTO student_subjects (student_id, subject_id, academic_year, assigned_date, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, ?, ? FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM student_subjects WHERE student_id = ? AND subject_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentSubjectBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int batchInsertStudentSubjects(List<Long> studentIds, List<Long> subjectIds, List<String> academicYears) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(studentIds.size());
+        for (int i = 0; i < studentIds.size(); i++) {
+            rows.add(new Object[]{studentIds.get(i), subjectIds.get(i), academicYears.get(i), now, now, now,
+                    studentIds.get(i), subjectIds.get(i)});
+        }
+
+        int inserted = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_STUDENT_SUBJECT_SQL, rows)) {
+            inserted += Math.max(count, 0);
+        }
+        return inserted;
+    }
+}
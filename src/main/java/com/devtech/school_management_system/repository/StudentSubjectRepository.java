@@ -1,16 +1,18 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.StudentSubject;
+import com.devtech.school_management_system.repository.projection.StudentSubjectPair;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentSubjectRepository extends JpaRepository<StudentSubject, Long> {
+public interface StudentSubjectRepository extends JpaRepository<StudentSubject, Long>, StudentSubjectBatchRepository {
 
     List<StudentSubject> findByStudentId(Long studentId);
 
@@ -27,5 +29,13 @@ public interface StudentSubjectRepository extends JpaRepository<StudentSubject,
                                                           @Param("form") String form,
                                                           @Param("section") String section);
     
+    @Query("SELECT ss FROM StudentSubject ss JOIN FETCH ss.subject WHERE ss.student.id IN :studentIds ORDER BY ss.id")
+    List<StudentSubject> findByStudentIdInWithSubject(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query("SELECT ss.student.id AS studentId, ss.subject.id AS subjectId FROM StudentSubject ss " +
+           "WHERE ss.student.id IN :studentIds AND ss.subject.id IN :subjectIds")
+    List<StudentSubjectPair> findPairsByStudentIdInAndSubjectIdIn(@Param("studentIds") Collection<Long> studentIds,
+                                                                  @Param("subjectIds") Collection<Long> subjectIds);
+    
     void deleteByStudentId(Long studentId);
 }
@@ -0,0 +1,15 @@
+package com.devtech.school_management_system.repository;
+
+import java.util.List;
+
+/**
+ * JDBC batch operations on subject reports that would otherwise cost one statement per row through JPA.
+ */
+public interface SubjectReportBatchRepository {
+
+    /**
+     * Overwrites the marks and grade of each subject report in a single JDBC batch. The lists are parallel.
+     */
+    void batchUpdateMarks(List<Long> subjectReportIds, List<Double> courseworkMarks, List<Double> examMarks,
+                          List<Double> totalMarks, List<String> grades);
+}
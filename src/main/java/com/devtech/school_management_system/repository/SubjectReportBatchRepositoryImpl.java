@@ -0,0 +1,37 @@
+package com.devtech.school_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SubjectReportBatchRepositoryImpl implements SubjectReportBatchRepository {
+
+    private static final String UPDATE_MARKS_SQL =
+            "UPDATE subject_reports SET coursework_mark = ?, exam_mark = ?, total_mark = ?, grade = ?, updated_at = ? " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SubjectReportBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchUpdateMarks(List<Long> subjectReportIds, List<Double> courseworkMarks, List<Double> examMarks,
+                                 List<Double> totalMarks, List<String> grades) {
+        if (subjectReportIds.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(subjectReportIds.size());
+        for (int i = 0; i < subjectReportIds.size(); i++) {
+            rows.add(new Object[]{courseworkMarks.get(i), examMarks.get(i), totalMarks.get(i), grades.get(i), now,
+                    subjectReportIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_MARKS_SQL, rows);
+    }
+}
@@ -1,16 +1,18 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.SubjectReport;
+import com.devtech.school_management_system.repository.projection.ClassMarkRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SubjectReportRepository extends JpaRepository<SubjectReport, Long> {
+public interface SubjectReportRepository extends JpaRepository<SubjectReport, Long>, SubjectReportBatchRepository {
 
     List<SubjectReport> findByReportId(Long reportId);
 
@@ -23,4 +25,23 @@ public interface SubjectReportRepository extends JpaRepository<SubjectReport, Lo
     List<SubjectReport> findBySubjectIdAndTermAndYear(@Param("subjectId") Long subjectId,
                                                       @Param("term") String term,
                                                       @Param("year") String year);
+
+    @Query("SELECT sr FROM SubjectReport sr JOIN FETCH sr.subject LEFT JOIN FETCH sr.teacher WHERE sr.report.id IN :reportIds ORDER BY sr.id")
+    List<SubjectReport> findByReportIdInWithSubjectAndTeacher(@Param("reportIds") Collection<Long> reportIds);
+
+    @Query("SELECT sr FROM SubjectReport sr WHERE sr.report.student.id = :studentId AND sr.subject.id = :subjectId " +
+           "AND sr.report.term = :term AND sr.report.academicYear = :year AND sr.report.finalized = false")
+    List<SubjectReport> findOpenByStudentSubjectTermAndYear(@Param("studentId") Long studentId,
+                                                            @Param("subjectId") Long subjectId,
+                                                            @Param("term") String term,
+                                                            @Param("year") String year);
+
+    @Query("SELECT s.id AS studentId, s.firstName AS firstName, s.lastName AS lastName, sub.id AS subjectId, " +
+           "sub.name AS subjectName, sr.totalMark AS totalMark FROM SubjectReport sr JOIN sr.report r JOIN r.student s " +
+           "JOIN sr.subject sub WHERE s.form = :form AND (:section IS NULL OR s.section = :section) " +
+           "AND r.term = :term AND r.academicYear = :year AND sr.totalMark IS NOT NULL ORDER BY s.id")
+    List<ClassMarkRow> findClassMarkRows(@Param("form") String form,
+                                         @Param("section") String section,
+                                         @Param("term") String term,
+                                         @Param("year") String year);
 }
@@ -1,6 +1,10 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.Teacher;
+import com.devtech.school_management_system.repository.projection.TeacherListRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,4 +31,21 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
 
     @Query("SELECT t FROM Teacher t WHERE t.user.username = :username")
     Optional<Teacher> findByUserUsername(@Param("username") String username);
+
+    @Query(value = "SELECT t.id AS id, t.firstName AS firstName, t.lastName AS lastName, t.employeeId AS employeeId, " +
+           "t.signatureUrl AS signatureUrl, t.createdAt AS createdAt, t.updatedAt AS updatedAt FROM Teacher t",
+           countQuery = "SELECT COUNT(t) FROM Teacher t")
+    Page<TeacherListRow> findListRows(Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.firstName AS firstName, t.lastName AS lastName, t.employeeId AS employeeId, " +
+           "t.signatureUrl AS signatureUrl, t.createdAt AS createdAt, t.updatedAt AS updatedAt FROM Teacher t WHERE t.id > :afterId ORDER BY t.id")
+    List<TeacherListRow> findListRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "SELECT t FROM Teacher t", countQuery = "SELECT COUNT(t) FROM Teacher t")
+    Page<Teacher> findPageWithUser(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT t FROM Teacher t WHERE t.id > :afterId ORDER BY t.id")
+    List<Teacher> findWithUserAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
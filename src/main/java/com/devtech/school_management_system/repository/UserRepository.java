@@ -1,11 +1,16 @@
 package com.devtech.school_management_system.repository;
 
 import com.devtech.school_management_system.entity.User;
+import com.devtech.school_management_system.repository.projection.UserListRow;
+import com.devtech.school_management_system.repository.projection.UserRoleRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +30,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
+
+    @Query(value = "SELECT u.id AS id, u.username AS username, u.email AS email, u.enabled AS enabled, " +
+           "u.createdAt AS createdAt, u.updatedAt AS updatedAt FROM User u",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserListRow> findListRows(Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.enabled AS enabled, " +
+           "u.createdAt AS createdAt, u.updatedAt AS updatedAt FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserListRow> findListRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS userId, r.name AS roleName FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleRow> findRoleRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
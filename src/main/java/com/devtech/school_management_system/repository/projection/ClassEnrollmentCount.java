@@ -0,0 +1,11 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * Number of students enrolled in one form, section and academic year.
+ */
+public interface ClassEnrollmentCount {
+    String getForm();
+    String getSection();
+    String getAcademicYear();
+    long getStudentCount();
+}
@@ -0,0 +1,13 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * Total mark of one student in one subject, as loaded for class statistics.
+ */
+public interface ClassMarkRow {
+    Long getStudentId();
+    String getFirstName();
+    String getLastName();
+    Long getSubjectId();
+    String getSubjectName();
+    double getTotalMark();
+}
@@ -0,0 +1,17 @@
+package com.devtech.school_management_system.repository.projection;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-class, per-status payment totals produced by a GROUP BY over fee_payments joined to students.
+ */
+public interface ClassPaymentStatusTotals {
+    String getForm();
+    String getSection();
+    PaymentStatus getPaymentStatus();
+    Long getPaymentCount();
+    BigDecimal getTotalPaid();
+    BigDecimal getTotalBalance();
+}
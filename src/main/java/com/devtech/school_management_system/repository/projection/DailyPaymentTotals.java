@@ -0,0 +1,13 @@
+package com.devtech.school_management_system.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Amount collected and number of transactions recorded on a single payment date.
+ */
+public interface DailyPaymentTotals {
+    LocalDate getPaymentDate();
+    BigDecimal getTotalAmount();
+    Long getTransactionCount();
+}
@@ -0,0 +1,18 @@
+package com.devtech.school_management_system.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a guardian plus the owning student's database id, for list endpoints.
+ */
+public interface GuardianListRow {
+    Long getId();
+    Long getStudentId();
+    String getName();
+    String getRelationship();
+    String getPhoneNumber();
+    String getWhatsappNumber();
+    Boolean getPrimaryGuardian();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
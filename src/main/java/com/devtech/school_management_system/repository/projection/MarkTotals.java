@@ -0,0 +1,11 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * Accumulated coursework and exam percentages of one student subject in one term.
+ */
+public interface MarkTotals {
+    double getCourseworkSum();
+    int getCourseworkCount();
+    double getExamSum();
+    int getExamCount();
+}
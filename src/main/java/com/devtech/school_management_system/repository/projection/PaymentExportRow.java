@@ -0,0 +1,25 @@
+package com.devtech.school_management_system.repository.projection;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat fee payment row used by the spreadsheet export, carrying only the student columns it prints.
+ */
+public interface PaymentExportRow {
+    String getStudentId();
+    String getFirstName();
+    String getLastName();
+    String getForm();
+    String getSection();
+    String getTerm();
+    String getMonth();
+    String getAcademicYear();
+    BigDecimal getMonthlyFeeAmount();
+    BigDecimal getAmountPaid();
+    BigDecimal getBalance();
+    PaymentStatus getPaymentStatus();
+    LocalDate getPaymentDate();
+}
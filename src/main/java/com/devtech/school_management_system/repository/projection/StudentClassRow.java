@@ -0,0 +1,11 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * The class a student is enrolled in, used to warm the in-memory enrollment counters.
+ */
+public interface StudentClassRow {
+    Long getId();
+    String getForm();
+    String getSection();
+    String getAcademicYear();
+}
@@ -0,0 +1,22 @@
+package com.devtech.school_management_system.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a student for list endpoints, without the subject, guardian and payment associations. Carries
+ * every field the Student entity serializes, so /api/students/all returns the same JSON fields as before paging.
+ */
+public interface StudentListRow {
+    Long getId();
+    String getStudentId();
+    String getFirstName();
+    String getLastName();
+    String getForm();
+    String getSection();
+    String getLevel();
+    String getAcademicYear();
+    LocalDate getEnrollmentDate();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,27 @@
+package com.devtech.school_management_system.repository.projection;
+
+import com.devtech.school_management_system.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One student joined to one of their fee payments, ordered by student so the history can be grouped as rows
+ * arrive. The payment columns are all null for a student without payments.
+ */
+public interface StudentPaymentHistoryRow {
+    Long getId();
+    String getStudentId();
+    String getFirstName();
+    String getLastName();
+    String getForm();
+    String getSection();
+    Long getPaymentId();
+    String getTerm();
+    String getMonth();
+    String getAcademicYear();
+    BigDecimal getAmountPaid();
+    BigDecimal getBalance();
+    LocalDate getPaymentDate();
+    PaymentStatus getPaymentStatus();
+}
@@ -0,0 +1,10 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * Normalized search columns of a student, used to warm the in-memory search index without loading entities.
+ */
+public interface StudentSearchRow {
+    Long getId();
+    String getSearchName();
+    String getSearchStudentId();
+}
@@ -0,0 +1,9 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * An existing (student, subject) assignment, by database ids.
+ */
+public interface StudentSubjectPair {
+    Long getStudentId();
+    Long getSubjectId();
+}
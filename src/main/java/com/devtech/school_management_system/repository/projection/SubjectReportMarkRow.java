@@ -0,0 +1,13 @@
+package com.devtech.school_management_system.repository.projection;
+
+/**
+ * An open subject report with the accumulated percentages it derives its marks from. The sums and counts are
+ * null when the student has no assessments in that subject and term.
+ */
+public interface SubjectReportMarkRow {
+    Long getSubjectReportId();
+    Double getCourseworkSum();
+    Integer getCourseworkCount();
+    Double getExamSum();
+    Integer getExamCount();
+}
@@ -0,0 +1,16 @@
+package com.devtech.school_management_system.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a teacher for list endpoints, without the user account and class assignments.
+ */
+public interface TeacherListRow {
+    Long getId();
+    String getFirstName();
+    String getLastName();
+    String getEmployeeId();
+    String getSignatureUrl();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
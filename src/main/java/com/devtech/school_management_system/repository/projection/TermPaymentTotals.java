@@ -0,0 +1,16 @@
+package com.devtech.school_management_system.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Amount collected and number of transactions for one term, with the first and last payment dates it covers.
+ */
+public interface TermPaymentTotals {
+    String getAcademicYear();
+    String getTerm();
+    LocalDate getFirstPaymentDate();
+    LocalDate getLastPaymentDate();
+    BigDecimal getTotalAmount();
+    Long getTransactionCount();
+}
@@ -0,0 +1,15 @@
+package com.devtech.school_management_system.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a user account for list endpoints; roles are loaded separately for the whole page.
+ */
+public interface UserListRow {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    Boolean getEnabled();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
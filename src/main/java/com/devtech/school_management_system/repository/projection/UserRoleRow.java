@@ -0,0 +1,11 @@
+package com.devtech.school_management_system.repository.projection;
+
+import com.devtech.school_management_system.enums.ERole;
+
+/**
+ * One (user, role) pair from the user_roles join table.
+ */
+public interface UserRoleRow {
+    Long getUserId();
+    ERole getRoleName();
+}
@@ -16,6 +16,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
@@ -25,6 +28,22 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
+    /**
+     * Request-path lookup used by the JWT filter. Served from the principal cache when possible; login keeps
+     * going through loadUserByUsername so credentials are always checked against the database.
+     */
+    @Transactional(readOnly = true)
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userPrincipalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetails userDetails = loadUserByUsername(username);
+        userPrincipalCache.put(username, userDetails);
+        return userDetails;
+    }
+
     @Transactional
     public UserDetails loadUserById(Long id) {
         User user = userRepository.findById(id)
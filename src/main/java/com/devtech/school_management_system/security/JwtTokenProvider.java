@@ -4,6 +4,7 @@ import com.devtech.school_management_system.config.JwtConfig;
 import com.devtech.school_management_system.dto.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,8 +22,20 @@ public class JwtTokenProvider {
     @Autowired
     private JwtConfig jwtConfig;
 
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        // The key and parser are immutable and thread-safe, so derive them once instead of per token
+        signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes());
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
@@ -39,22 +52,22 @@ public class JwtTokenProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        Claims claims = jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
 
         return claims.getSubject();
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the token and returns its subject in a single parse, or null if the token is not valid.
+     */
+    public String getUsernameFromValidToken(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return jwtParser
+                    .parseSignedClaims(authToken)
+                    .getPayload()
+                    .getSubject();
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -66,6 +79,10 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String authToken) {
+        return getUsernameFromValidToken(authToken) != null;
     }
 }
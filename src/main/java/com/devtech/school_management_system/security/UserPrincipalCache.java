@@ -0,0 +1,74 @@
+package com.devtech.school_management_system.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by username, so the JWT filter does not load
+ * the user and roles on every request. Entries expire after the configured TTL, which also bounds staleness
+ * across instances; changes made through UserService evict the entry explicitly.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private record Entry(UserDetails principal, long expiresAtNanos) {
+    }
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public UserPrincipalCache(@Value("${security.user-cache.ttl:60s}") Duration ttl,
+                              @Value("${security.user-cache.max-size:1000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        // Access-ordered so the least recently used principal is dropped once maxSize is exceeded
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized UserDetails get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() > 0) {
+            entries.remove(username);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public synchronized void put(String username, UserDetails principal) {
+        entries.put(username, new Entry(principal, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized void evict(String username) {
+        entries.remove(username);
+    }
+
+    /**
+     * Evicts now and again once the current transaction commits, so a request racing the update cannot
+     * re-cache the old state.
+     */
+    public void evictAfterCommit(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+}
@@ -28,18 +28,21 @@ public class AssessmentService {
     private final TeacherSubjectClassRepository teacherSubjectClassRepository;
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
+    private final SubjectMarkService subjectMarkService;
 
     @Autowired
     public AssessmentService(AssessmentRepository assessmentRepository,
                              StudentSubjectRepository studentSubjectRepository,
                              TeacherSubjectClassRepository teacherSubjectClassRepository,
                              StudentRepository studentRepository,
-                             SubjectRepository subjectRepository) {
+                             SubjectRepository subjectRepository,
+                             SubjectMarkService subjectMarkService) {
         this.assessmentRepository = assessmentRepository;
         this.studentSubjectRepository = studentSubjectRepository;
         this.teacherSubjectClassRepository = teacherSubjectClassRepository;
         this.studentRepository = studentRepository;
         this.subjectRepository = subjectRepository;
+        this.subjectMarkService = subjectMarkService;
     }
 
     public Assessment recordAssessment(Long studentSubjectId, String title, LocalDate date,
@@ -58,7 +61,9 @@ public class AssessmentService {
         assessment.setTerm(term);
         assessment.setAcademicYear(academicYear);
 
-        return assessmentRepository.save(assessment);
+        Assessment savedAssessment = assessmentRepository.save(assessment);
+        subjectMarkService.assessmentAdded(savedAssessment);
+        return savedAssessment;
     }
 
     public AssessmentResponseDTO recordAssessmentByStudentAndSubject(Long studentId, Long subjectId, String title, LocalDate date,
@@ -91,6 +96,7 @@ public class AssessmentService {
         assessment.setAcademicYear(academicYear);
 
         Assessment savedAssessment = assessmentRepository.save(assessment);
+        subjectMarkService.assessmentAdded(savedAssessment);
         return convertToDTO(savedAssessment);
     }
 
@@ -111,6 +117,7 @@ public class AssessmentService {
     public AssessmentResponseDTO updateAssessment(Long id, String title, LocalDate date, Double score, Double maxScore) {
         Assessment assessment = assessmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assessment not found with id: " + id));
+        double previousPercentage = assessment.getPercentage();
 
         assessment.setTitle(title);
         assessment.setDate(date);
@@ -118,6 +125,7 @@ public class AssessmentService {
         assessment.setMaxScore(maxScore);
 
         Assessment updatedAssessment = assessmentRepository.save(assessment);
+        subjectMarkService.assessmentRescored(updatedAssessment, previousPercentage);
         return convertToDTO(updatedAssessment);
     }
 
@@ -130,6 +138,7 @@ public class AssessmentService {
         Assessment assessment = assessmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assessment not found with id: " + id));
         assessmentRepository.delete(assessment);
+        subjectMarkService.assessmentRemoved(assessment);
     }
 
     public boolean canTeacherUpdateAssessment(Long teacherId, Long assessmentId) {
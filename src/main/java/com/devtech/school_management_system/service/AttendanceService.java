@@ -1,19 +1,17 @@
 package com.devtech.school_management_system.service;
 
+import com.devtech.school_management_system.dto.ClassAttendanceResultDTO;
 import com.devtech.school_management_system.entity.Attendance;
 import com.devtech.school_management_system.entity.Student;
-import com.devtech.school_management_system.entity.Guardian;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.AttendanceRepository;
 import com.devtech.school_management_system.repository.StudentRepository;
-import com.devtech.school_management_system.repository.GuardianRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Transactional
@@ -21,18 +19,15 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final StudentRepository studentRepository;
-    private final GuardianRepository guardianRepository;
-    private final WhatsAppService whatsAppService;
+    private final NotificationOutboxService notificationOutboxService;
 
     @Autowired
     public AttendanceService(AttendanceRepository attendanceRepository,
                              StudentRepository studentRepository,
-                             GuardianRepository guardianRepository,
-                             WhatsAppService whatsAppService) {
+                             NotificationOutboxService notificationOutboxService) {
         this.attendanceRepository = attendanceRepository;
         this.studentRepository = studentRepository;
-        this.guardianRepository = guardianRepository;
-        this.whatsAppService = whatsAppService;
+        this.notificationOutboxService = notificationOutboxService;
     }
 
     public Attendance markAttendance(Long studentId, LocalDate date, boolean present) {
@@ -55,25 +50,32 @@ public class AttendanceService {
         
         // Set the markedBy field using the currently authenticated user
         // This is needed to show who marked the attendance
-        org.springframework.security.core.Authentication auth = 
-            org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() != null && auth.getPrincipal() instanceof org.springframework.security.core.userdetails.UserDetails) {
-            String username = ((org.springframework.security.core.userdetails.UserDetails) auth.getPrincipal()).getUsername();
-            attendance.setMarkedBy(username);
-        } else if (auth != null) {
-            attendance.setMarkedBy(auth.getName());
+        String markedBy = getCurrentUsername();
+        if (markedBy != null) {
+            attendance.setMarkedBy(markedBy);
         }
 
         Attendance savedAttendance = attendanceRepository.save(attendance);
 
-        // Send WhatsApp notification if student is absent
+        // Queue WhatsApp notification in the outbox if student is absent
         if (!present) {
-            sendAbsenteeNotification(student, date);
+            notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), date);
         }
 
         return savedAttendance;
     }
 
+    private String getCurrentUsername() {
+        org.springframework.security.core.Authentication auth = 
+            org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() != null && auth.getPrincipal() instanceof org.springframework.security.core.userdetails.UserDetails) {
+            return ((org.springframework.security.core.userdetails.UserDetails) auth.getPrincipal()).getUsername();
+        } else if (auth != null) {
+            return auth.getName();
+        }
+        return null;
+    }
+
     public List<Attendance> getAttendanceByStudent(Long studentId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
@@ -113,38 +115,44 @@ public class AttendanceService {
         return (double) presentDays / attendanceRecords.size() * 100;
     }
 
-    public void markClassAttendance(String form, String section, LocalDate date, List<Long> presentStudentIds) {
+    /**
+     * Marks a whole class in one pass: existing rows for the date are loaded with one query,
+     * then new and changed rows are written with JDBC batches and absentee notifications go to the outbox.
+     */
+    public ClassAttendanceResultDTO markClassAttendance(String form, String section, LocalDate date, List<Long> presentStudentIds) {
         List<Student> classStudents = studentRepository.findByFormAndSection(form, section);
+        Set<Long> presentIds = presentStudentIds != null ? new HashSet<>(presentStudentIds) : new HashSet<>();
 
-        for (Student student : classStudents) {
-            boolean present = presentStudentIds.contains(student.getId());
-            markAttendance(student.getId(), date, present);
+        Map<Long, Attendance> existingByStudentId = new HashMap<>();
+        for (Attendance attendance : attendanceRepository.findByStudentFormAndStudentSectionAndDate(form, section, date)) {
+            existingByStudentId.put(attendance.getStudent().getId(), attendance);
         }
-    }
 
-    private void sendAbsenteeNotification(Student student, LocalDate date) {
-        try {
-            List<Guardian> guardians = guardianRepository.findByStudentId(student.getId());
-            Guardian primaryGuardian = guardians.stream()
-                    .filter(Guardian::isPrimaryGuardian)
-                    .findFirst()
-                    .orElse(guardians.isEmpty() ? null : guardians.getFirst());
-
-            if (primaryGuardian != null && primaryGuardian.getWhatsappNumber() != null) {
-                String message = String.format(
-                        "Dear %s,\n\nYour child %s %s was absent from school on %s. Please contact the school if this is unexpected.\n\nRegards,\nSchool Administration",
-                        primaryGuardian.getName(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        date.toString()
-                );
-
-                whatsAppService.sendAbsenteeNotification(student, guardians);
+        Map<Long, Boolean> inserts = new HashMap<>();
+        Map<Long, Boolean> updates = new HashMap<>();
+        List<Student> absentStudents = new ArrayList<>();
+
+        for (Student student : classStudents) {
+            boolean present = presentIds.contains(student.getId());
+            Attendance existing = existingByStudentId.get(student.getId());
+            if (existing == null) {
+                inserts.put(student.getId(), present);
+            } else {
+                updates.put(existing.getId(), present);
+            }
+            if (!present) {
+                absentStudents.add(student);
             }
-        } catch (Exception e) {
-            // Log error but don't fail the attendance marking
-            System.err.println("Failed to send WhatsApp notification: " + e.getMessage());
         }
+
+        String markedBy = getCurrentUsername();
+        attendanceRepository.batchInsertAttendance(inserts, date, markedBy);
+        attendanceRepository.batchUpdateAttendance(updates, markedBy);
+
+        notificationOutboxService.enqueueAbsenteeNotifications(absentStudents, date);
+
+        return new ClassAttendanceResultDTO(form, section, date, classStudents.size(),
+                classStudents.size() - absentStudents.size(), absentStudents.size());
     }
 
     public List<Attendance> getAbsentStudentsForDate(LocalDate date) {
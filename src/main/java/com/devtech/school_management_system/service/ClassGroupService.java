@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -23,14 +24,17 @@ public class ClassGroupService {
     private final ClassGroupRepository classGroupRepository;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final EnrollmentStatisticsService enrollmentStatisticsService;
 
     @Autowired
     public ClassGroupService(ClassGroupRepository classGroupRepository,
                              StudentRepository studentRepository,
-                             TeacherRepository teacherRepository) {
+                             TeacherRepository teacherRepository,
+                             EnrollmentStatisticsService enrollmentStatisticsService) {
         this.classGroupRepository = classGroupRepository;
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
+        this.enrollmentStatisticsService = enrollmentStatisticsService;
     }
 
     public List<ClassGroup> getAllClassGroups() {
@@ -39,12 +43,22 @@ public class ClassGroupService {
     
     public List<ClassGroupDTO> getAllClassGroupsDTO() {
         List<ClassGroup> classGroups = classGroupRepository.findAllWithClassTeachers();
+        Map<EnrollmentStatisticsService.ClassKey, Long> enrollment = enrollmentStatisticsService.getEnrollmentCounts();
         return classGroups.stream()
-                .map(this::convertToDTO)
+                .map(classGroup -> convertToDTO(classGroup,
+                        enrollment.getOrDefault(EnrollmentStatisticsService.ClassKey.of(classGroup), 0L)))
                 .collect(java.util.stream.Collectors.toList());
     }
     
     public ClassGroupDTO convertToDTO(ClassGroup classGroup) {
+        return convertToDTO(classGroup, enrollmentStatisticsService.getEnrollmentCount(
+            classGroup.getForm(), 
+            classGroup.getSection(), 
+            classGroup.getAcademicYear()
+        ));
+    }
+    
+    private ClassGroupDTO convertToDTO(ClassGroup classGroup, long studentCount) {
         ClassGroupDTO dto = new ClassGroupDTO();
         dto.setId(classGroup.getId());
         dto.setForm(classGroup.getForm());
@@ -60,13 +74,7 @@ public class ClassGroupService {
             dto.setClassTeacherName(classGroup.getClassTeacher().getFullName());
         }
         
-        // Get student count for this class
-        List<Student> students = studentRepository.findByFormAndSectionAndYear(
-            classGroup.getForm(), 
-            classGroup.getSection(), 
-            classGroup.getAcademicYear()
-        );
-        dto.setStudentCount(students.size());
+        dto.setStudentCount((int) studentCount);
         
         return dto;
     }
@@ -109,8 +117,7 @@ public class ClassGroupService {
         ClassGroup classGroup = getClassGroupById(id);
 
         // Check if there are students in this class
-        List<Student> students = studentRepository.findByFormAndSection(classGroup.getForm(), classGroup.getSection());
-        if (!students.isEmpty()) {
+        if (studentRepository.existsByFormAndSection(classGroup.getForm(), classGroup.getSection())) {
             throw new IllegalArgumentException("Cannot delete class group with enrolled students");
         }
 
@@ -179,20 +186,27 @@ public class ClassGroupService {
 
     public boolean isClassAtCapacity(Long classGroupId) {
         ClassGroup classGroup = getClassGroupById(classGroupId);
-        List<Student> students = getStudentsInClass(classGroupId);
-
-        return classGroup.getClassCapacity() != null &&
-                students.size() >= classGroup.getClassCapacity();
+        return isAtCapacity(classGroup, enrollmentStatisticsService.getEnrollmentCount(
+                classGroup.getForm(), classGroup.getSection(), classGroup.getAcademicYear()));
     }
 
     public int getClassSize(Long classGroupId) {
-        return getStudentsInClass(classGroupId).size();
+        ClassGroup classGroup = getClassGroupById(classGroupId);
+        return (int) enrollmentStatisticsService.getEnrollmentCount(
+                classGroup.getForm(), classGroup.getSection(), classGroup.getAcademicYear());
     }
 
     public List<ClassGroup> getAvailableClassGroups() {
+        Map<EnrollmentStatisticsService.ClassKey, Long> enrollment = enrollmentStatisticsService.getEnrollmentCounts();
         return classGroupRepository.findAll().stream()
-                .filter(classGroup -> !isClassAtCapacity(classGroup.getId()))
+                .filter(classGroup -> !isAtCapacity(classGroup,
+                        enrollment.getOrDefault(EnrollmentStatisticsService.ClassKey.of(classGroup), 0L)))
                 .toList();
     }
 
+    private static boolean isAtCapacity(ClassGroup classGroup, long studentCount) {
+        return classGroup.getClassCapacity() != null &&
+                studentCount >= classGroup.getClassCapacity();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.dto.ClassStatisticsDTO;
+import com.devtech.school_management_system.dto.MarkStatisticsDTO;
+import com.devtech.school_management_system.dto.StudentRankingDTO;
+import com.devtech.school_management_system.event.MarksChangedEvent;
+import com.devtech.school_management_system.event.StudentChangedEvent;
+import com.devtech.school_management_system.repository.SubjectReportRepository;
+import com.devtech.school_management_system.repository.projection.ClassMarkRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Term result statistics for a class or a whole form: class positions with shared ranks for ties, percentiles,
+ * and per-subject mean, standard deviation, median and grade distribution. Total marks are loaded into primitive
+ * arrays with one projection query and results are cached per class and term until marks of that term change.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ClassStatisticsService {
+
+    private static final String[] GRADES = {"A", "B", "C", "D", "E", "U"};
+
+    // Bounds the cache across many classes and past terms; cleared wholesale when exceeded
+    private static final int MAX_CACHED_CLASSES = 500;
+
+    private record StatisticsKey(String form, String section, String term, String academicYear) {
+    }
+
+    private final SubjectReportRepository subjectReportRepository;
+    private final Map<StatisticsKey, ClassStatisticsDTO> cache = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a computation that raced with a mark change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public ClassStatisticsService(SubjectReportRepository subjectReportRepository) {
+        this.subjectReportRepository = subjectReportRepository;
+    }
+
+    /**
+     * Statistics for one section of a form, or for the whole form when section is null.
+     */
+    public ClassStatisticsDTO getClassStatistics(String form, String section, String term, String academicYear) {
+        StatisticsKey key = new StatisticsKey(form, section, term, academicYear);
+        ClassStatisticsDTO cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        ClassStatisticsDTO statistics = compute(form, section, term, academicYear);
+        if (generation.get() == startGeneration) {
+            if (cache.size() >= MAX_CACHED_CLASSES) {
+                cache.clear();
+            }
+            cache.put(key, statistics);
+        }
+        return statistics;
+    }
+
+    // The invalidation listeners only touch the in-memory cache, so they stay out of the class-level transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onMarksChanged(MarksChangedEvent event) {
+        generation.incrementAndGet();
+        cache.keySet().removeIf(key -> key.term().equals(event.getTerm())
+                && key.academicYear().equals(event.getAcademicYear()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStudentChanged(StudentChangedEvent event) {
+        // Class membership changed; any cached class may now include or miss this student
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private ClassStatisticsDTO compute(String form, String section, String term, String academicYear) {
+        List<ClassMarkRow> rows = subjectReportRepository.findClassMarkRows(form, section, term, academicYear);
+
+        // Rows arrive ordered by student, so a student's index changes exactly when its id does
+        int capacity = Math.max(rows.size(), 1);
+        long[] studentIds = new long[capacity];
+        String[] studentNames = new String[capacity];
+        double[] studentSums = new double[capacity];
+        int[] studentCounts = new int[capacity];
+        int studentCount = 0;
+
+        Map<Long, Integer> subjectIndex = new HashMap<>();
+        List<String> subjectNames = new ArrayList<>();
+        List<Long> subjectIds = new ArrayList<>();
+        double[][] subjectMarks = new double[8][];
+        int[] subjectCounts = new int[8];
+
+        long lastStudentId = Long.MIN_VALUE;
+        for (ClassMarkRow row : rows) {
+            if (row.getStudentId() != lastStudentId) {
+                lastStudentId = row.getStudentId();
+                studentIds[studentCount] = lastStudentId;
+                studentNames[studentCount] = row.getFirstName() + " " + row.getLastName();
+                studentCount++;
+            }
+            double mark = row.getTotalMark();
+            studentSums[studentCount - 1] += mark;
+            studentCounts[studentCount - 1]++;
+
+            Integer index = subjectIndex.get(row.getSubjectId());
+            if (index == null) {
+                index = subjectIds.size();
+                subjectIndex.put(row.getSubjectId(), index);
+                subjectIds.add(row.getSubjectId());
+                subjectNames.add(row.getSubjectName());
+                if (index == subjectMarks.length) {
+                    subjectMarks = Arrays.copyOf(subjectMarks, index * 2);
+                    subjectCounts = Arrays.copyOf(subjectCounts, index * 2);
+                }
+                subjectMarks[index] = new double[16];
+            }
+            if (subjectCounts[index] == subjectMarks[index].length) {
+                subjectMarks[index] = Arrays.copyOf(subjectMarks[index], subjectCounts[index] * 2);
+            }
+            subjectMarks[index][subjectCounts[index]++] = mark;
+        }
+
+        double[] averages = new double[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            averages[i] = studentSums[i] / studentCounts[i];
+        }
+
+        List<MarkStatisticsDTO> subjects = new ArrayList<>(subjectIds.size());
+        for (int i = 0; i < subjectIds.size(); i++) {
+            subjects.add(describe(subjectIds.get(i), subjectNames.get(i), subjectMarks[i], subjectCounts[i]));
+        }
+        subjects.sort(Comparator.comparing(MarkStatisticsDTO::getSubjectName, Comparator.nullsLast(String::compareTo)));
+
+        ClassStatisticsDTO dto = new ClassStatisticsDTO();
+        dto.setForm(form);
+        dto.setSection(section);
+        dto.setTerm(term);
+        dto.setAcademicYear(academicYear);
+        dto.setStudentCount(studentCount);
+        dto.setOverall(describe(null, "Overall", averages, studentCount));
+        dto.setSubjects(subjects);
+        dto.setRankings(rank(studentIds, studentNames, studentCounts, averages, studentCount));
+        return dto;
+    }
+
+    /**
+     * Standard competition ranking ("1224"): students with equal averages share a position and the next
+     * position skips the tied places. The percentile counts those below plus half of those tied.
+     */
+    private static List<StudentRankingDTO> rank(long[] studentIds, String[] studentNames, int[] studentCounts,
+                                                double[] averages, int n) {
+        double[] sorted = Arrays.copyOf(averages, n);
+        Arrays.sort(sorted);
+
+        List<StudentRankingDTO> rankings = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int below = lowerBound(sorted, averages[i]);
+            int notAbove = upperBound(sorted, averages[i]);
+
+            StudentRankingDTO ranking = new StudentRankingDTO();
+            ranking.setStudentId(studentIds[i]);
+            ranking.setStudentName(studentNames[i]);
+            ranking.setSubjectCount(studentCounts[i]);
+            ranking.setAverageMark(round(averages[i]));
+            ranking.setPosition(n - notAbove + 1);
+            ranking.setPercentile(round((below + (notAbove - below) / 2.0) * 100.0 / n));
+            rankings.add(ranking);
+        }
+        rankings.sort(Comparator.comparingInt(StudentRankingDTO::getPosition)
+                .thenComparing(StudentRankingDTO::getStudentName));
+        return rankings;
+    }
+
+    /**
+     * Mean and standard deviation (Welford), extremes and grade counts in one pass; the median from a sorted copy.
+     */
+    private static MarkStatisticsDTO describe(Long subjectId, String subjectName, double[] marks, int n) {
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (String grade : GRADES) {
+            distribution.put(grade, 0);
+        }
+
+        double mean = 0, m2 = 0;
+        double min = n > 0 ? Double.MAX_VALUE : 0, max = n > 0 ? -Double.MAX_VALUE : 0;
+        for (int i = 0; i < n; i++) {
+            double mark = marks[i];
+            double delta = mark - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (mark - mean);
+            min = Math.min(min, mark);
+            max = Math.max(max, mark);
+            distribution.merge(SubjectMarkService.gradeFor(mark), 1, Integer::sum);
+        }
+
+        double median = 0;
+        if (n > 0) {
+            double[] sorted = Arrays.copyOf(marks, n);
+            Arrays.sort(sorted);
+            median = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+        }
+
+        MarkStatisticsDTO dto = new MarkStatisticsDTO();
+        dto.setSubjectId(subjectId);
+        dto.setSubjectName(subjectName);
+        dto.setCount(n);
+        dto.setMean(round(mean));
+        dto.setStandardDeviation(n > 0 ? round(Math.sqrt(m2 / n)) : 0);
+        dto.setMedian(round(median));
+        dto.setMin(round(min));
+        dto.setMax(round(max));
+        dto.setGradeDistribution(distribution);
+        return dto;
+    }
+
+    // Index of the first element not less than value
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    // Index of the first element greater than value
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
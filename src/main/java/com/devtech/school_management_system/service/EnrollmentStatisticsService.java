@@ -0,0 +1,116 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.ClassGroup;
+import com.devtech.school_management_system.event.StudentChangedEvent;
+import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.ClassEnrollmentCount;
+import com.devtech.school_management_system.repository.projection.StudentClassRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Student counts per class (form, section and academic year). Counts come from one GROUP BY query, or, when
+ * {@code student.enrollment-counters.enabled} is set, from in-memory counters that follow StudentChangedEvent
+ * and are re-synchronized from the database on a fixed delay.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EnrollmentStatisticsService {
+
+    public record ClassKey(String form, String section, String academicYear) {
+
+        public static ClassKey of(ClassGroup classGroup) {
+            return new ClassKey(classGroup.getForm(), classGroup.getSection(), classGroup.getAcademicYear());
+        }
+    }
+
+    private final StudentRepository studentRepository;
+    private final boolean countersEnabled;
+    private volatile boolean countersReady = false;
+
+    // The class of every student, so an update can decrement the class the student left
+    private final Map<Long, ClassKey> classByStudentId = new HashMap<>();
+    private final Map<ClassKey, Long> counts = new ConcurrentHashMap<>();
+
+    public EnrollmentStatisticsService(StudentRepository studentRepository,
+                                       @Value("${student.enrollment-counters.enabled:false}") boolean countersEnabled) {
+        this.studentRepository = studentRepository;
+        this.countersEnabled = countersEnabled;
+    }
+
+    public Map<ClassKey, Long> getEnrollmentCounts() {
+        if (countersReady) {
+            return Map.copyOf(counts);
+        }
+        Map<ClassKey, Long> result = new HashMap<>();
+        for (ClassEnrollmentCount row : studentRepository.countByClass()) {
+            result.put(new ClassKey(row.getForm(), row.getSection(), row.getAcademicYear()), row.getStudentCount());
+        }
+        return result;
+    }
+
+    public long getEnrollmentCount(String form, String section, String academicYear) {
+        if (countersReady) {
+            return counts.getOrDefault(new ClassKey(form, section, academicYear), 0L);
+        }
+        return studentRepository.countByFormAndSectionAndAcademicYear(form, section, academicYear);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${student.enrollment-counters.resync-interval:15m}",
+               initialDelayString = "${student.enrollment-counters.resync-interval:15m}")
+    public void resynchronize() {
+        if (!countersEnabled) {
+            return;
+        }
+        synchronized (this) {
+            // Queried under the lock: events that arrive meanwhile are applied afterwards, and re-applying a
+            // change already in the snapshot is a no-op
+            List<StudentClassRow> rows = studentRepository.findAllClassRows();
+            classByStudentId.clear();
+            counts.clear();
+            for (StudentClassRow row : rows) {
+                move(row.getId(), new ClassKey(row.getForm(), row.getSection(), row.getAcademicYear()));
+            }
+            countersReady = true;
+        }
+    }
+
+    // Only moves in-memory counters after commit, so it does not join the class-level read-only transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void onStudentChanged(StudentChangedEvent event) {
+        if (!countersReady) {
+            return;
+        }
+        if (event.getChangeType() == StudentChangedEvent.ChangeType.DELETED) {
+            move(event.getId(), null);
+        } else {
+            move(event.getId(), new ClassKey(event.getForm(), event.getSection(), event.getAcademicYear()));
+        }
+    }
+
+    private void move(Long studentId, ClassKey to) {
+        ClassKey from = to != null ? classByStudentId.put(studentId, to) : classByStudentId.remove(studentId);
+        if (to != null && to.equals(from)) {
+            return;
+        }
+        if (from != null) {
+            counts.computeIfPresent(from, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        if (to != null) {
+            counts.merge(to, 1L, Long::sum);
+        }
+    }
+}
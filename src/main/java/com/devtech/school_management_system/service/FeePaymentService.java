@@ -3,6 +3,7 @@ package com.devtech.school_management_system.service;
 import com.devtech.school_management_system.dto.*;
 import com.devtech.school_management_system.entity.FeePayment;
 import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.enums.PaymentGranularity;
 import com.devtech.school_management_system.enums.PaymentStatus;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.FeePaymentRepository;
@@ -22,10 +23,15 @@ public class FeePaymentService {
     
     private final FeePaymentRepository feePaymentRepository;
     private final StudentRepository studentRepository;
+    private final StudentSearchService studentSearchService;
+    private final PaymentRollupService paymentRollupService;
 
-    public FeePaymentService(FeePaymentRepository feePaymentRepository, StudentRepository studentRepository) {
+    public FeePaymentService(FeePaymentRepository feePaymentRepository, StudentRepository studentRepository,
+                             StudentSearchService studentSearchService, PaymentRollupService paymentRollupService) {
         this.feePaymentRepository = feePaymentRepository;
         this.studentRepository = studentRepository;
+        this.studentSearchService = studentSearchService;
+        this.paymentRollupService = paymentRollupService;
     }
 
     public PaymentReceiptDTO recordPayment(FeePaymentDTO paymentDTO) {
@@ -41,8 +47,12 @@ public class FeePaymentService {
                 );
 
         FeePayment payment;
+        PaymentStatus previousStatus = null;
+        BigDecimal previousAmountPaid = null;
         if (existingPayment.isPresent()) {
             payment = existingPayment.get();
+            previousStatus = payment.getPaymentStatus();
+            previousAmountPaid = payment.getAmountPaid();
             payment.setAmountPaid(payment.getAmountPaid().add(paymentDTO.getAmountPaid()));
             
             // If they've now paid the full amount or more, update status to FULL_PAYMENT
@@ -85,6 +95,7 @@ public class FeePaymentService {
         }
 
         feePaymentRepository.save(payment);
+        paymentRollupService.paymentChanged(payment, previousStatus, previousAmountPaid);
 
         return new PaymentReceiptDTO(
                 student.getFullName(),
@@ -118,14 +129,22 @@ public class FeePaymentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public DailyPaymentSummaryDTO getDailyPaymentSummary(LocalDate date) {
-        BigDecimal totalAmount = feePaymentRepository.findTotalAmountByDate(date);
-        Long totalTransactions = feePaymentRepository.findTotalTransactionsByDate(date);
-        
-        if (totalAmount == null) totalAmount = BigDecimal.ZERO;
-        if (totalTransactions == null) totalTransactions = 0L;
-        
-        return new DailyPaymentSummaryDTO(date, totalAmount, totalTransactions);
+        PaymentRollupService.PeriodTotals totals = paymentRollupService.getDayTotals(date);
+        return new DailyPaymentSummaryDTO(date, totals.totalAmount(), totals.transactionCount());
+    }
+
+    /**
+     * Payment summaries per day, week, month or term between two dates, each dated by the start of its period.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyPaymentSummaryDTO> getPaymentSummaries(LocalDate startDate, LocalDate endDate,
+                                                            PaymentGranularity granularity) {
+        return paymentRollupService.getTotals(startDate, endDate, granularity).stream()
+                .map(totals -> new DailyPaymentSummaryDTO(totals.periodStart(), totals.totalAmount(),
+                        totals.transactionCount()))
+                .collect(Collectors.toList());
     }
 
     public List<FeePayment> getStudentPayments(Long studentId, String term, String academicYear) {
@@ -137,18 +156,11 @@ public class FeePaymentService {
     }
     
     public List<Student> searchStudentsByName(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return List.of();
-        }
-        
-        String searchQuery = query.toLowerCase();
-        return studentRepository.findAll().stream()
-                .filter(student -> 
-                    student.getFirstName().toLowerCase().contains(searchQuery) || 
-                    student.getLastName().toLowerCase().contains(searchQuery) ||
-                    student.getStudentId().toLowerCase().contains(searchQuery))
-                .limit(10)  // Limit to 10 results
-                .collect(Collectors.toList());
+        return searchStudentsByName(query, 0, 10);  // Limit to 10 results
+    }
+    
+    public List<Student> searchStudentsByName(String query, int page, int size) {
+        return studentSearchService.search(query, page, size);
     }
     
     /**
@@ -164,6 +176,7 @@ public class FeePaymentService {
                 payment.getBalance().compareTo(BigDecimal.ZERO) <= 0) {
                 payment.setPaymentStatus(PaymentStatus.FULL_PAYMENT);
                 feePaymentRepository.save(payment);
+                paymentRollupService.paymentChanged(payment, PaymentStatus.PART_PAYMENT, payment.getAmountPaid());
                 updatedCount++;
             }
         }
@@ -176,10 +189,7 @@ public class FeePaymentService {
      */
     @Transactional
     public String fixStudentPaymentByName(String studentName) {
-        List<Student> students = studentRepository.findAll().stream()
-            .filter(s -> (s.getFirstName() + " " + s.getLastName()).toLowerCase()
-                .contains(studentName.toLowerCase()))
-            .collect(Collectors.toList());
+        List<Student> students = studentSearchService.findByNameContaining(studentName);
         
         if (students.isEmpty()) {
             return "No students found matching name: " + studentName;
@@ -206,8 +216,10 @@ public class FeePaymentService {
                 // Fix any payment with balance <= 0 but not marked as FULL_PAYMENT
                 if (payment.getBalance().compareTo(BigDecimal.ZERO) <= 0 && 
                     payment.getPaymentStatus() != PaymentStatus.FULL_PAYMENT) {
+                    PaymentStatus previousStatus = payment.getPaymentStatus();
                     payment.setPaymentStatus(PaymentStatus.FULL_PAYMENT);
                     feePaymentRepository.save(payment);
+                    paymentRollupService.paymentChanged(payment, previousStatus, payment.getAmountPaid());
                     result.append("Fixed: Changed status to FULL_PAYMENT\n");
                     fixedCount++;
                 }
@@ -216,6 +228,7 @@ public class FeePaymentService {
                          payment.getPaymentStatus() == PaymentStatus.FULL_PAYMENT) {
                     payment.setPaymentStatus(PaymentStatus.PART_PAYMENT);
                     feePaymentRepository.save(payment);
+                    paymentRollupService.paymentChanged(payment, PaymentStatus.FULL_PAYMENT, payment.getAmountPaid());
                     result.append("Fixed: Changed status to PART_PAYMENT\n");
                     fixedCount++;
                 }
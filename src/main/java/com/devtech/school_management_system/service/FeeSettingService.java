@@ -15,9 +15,12 @@ import java.util.stream.Collectors;
 public class FeeSettingService {
     
     private final FeeSettingRepository feeSettingRepository;
+    private final ReferenceDataCacheService referenceDataCacheService;
     
-    public FeeSettingService(FeeSettingRepository feeSettingRepository) {
+    public FeeSettingService(FeeSettingRepository feeSettingRepository,
+                             ReferenceDataCacheService referenceDataCacheService) {
         this.feeSettingRepository = feeSettingRepository;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
     
     public List<FeeSettingDTO> getAllFeeSettings() {
@@ -61,6 +64,7 @@ public class FeeSettingService {
         existingFeeSetting.setActive(feeSettingDTO.isActive());
         
         FeeSetting updatedFeeSetting = feeSettingRepository.save(existingFeeSetting);
+        referenceDataCacheService.evictAfterCommit(FeeSetting.class);
         return convertToDTO(updatedFeeSetting);
     }
     
@@ -69,6 +73,7 @@ public class FeeSettingService {
             throw new ResourceNotFoundException("Fee setting not found");
         }
         feeSettingRepository.deleteById(id);
+        referenceDataCacheService.evictAfterCommit(FeeSetting.class);
     }
     
     private FeeSettingDTO convertToDTO(FeeSetting feeSetting) {
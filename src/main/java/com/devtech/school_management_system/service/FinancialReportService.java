@@ -3,15 +3,28 @@ package com.devtech.school_management_system.service;
 import com.devtech.school_management_system.dto.*;
 import com.devtech.school_management_system.entity.FeePayment;
 import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.enums.PaymentGranularity;
 import com.devtech.school_management_system.enums.PaymentStatus;
 import com.devtech.school_management_system.repository.FeePaymentRepository;
 import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.ClassPaymentStatusTotals;
+import com.devtech.school_management_system.repository.projection.PaymentExportRow;
+import com.devtech.school_management_system.repository.projection.StudentListRow;
+import com.devtech.school_management_system.repository.projection.StudentPaymentHistoryRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -19,21 +32,30 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Objects;
 
 @Service
 public class FinancialReportService {
     
+    private static final int ROW_ACCESS_WINDOW = 100;
+    private static final String[] ALL_PAYMENTS_COLUMNS = {"Student ID", "Student Name", "Class", "Term", "Month",
+            "Academic Year", "Fee Amount", "Amount Paid", "Balance", "Payment Status", "Payment Date"};
+    private static final int[] ALL_PAYMENTS_COLUMN_WIDTHS = {14, 30, 14, 10, 12, 14, 12, 12, 12, 16, 14};
+    
     private final FeePaymentRepository feePaymentRepository;
     private final StudentRepository studentRepository;
-    private final FeePaymentService feePaymentService;
+    private final PaymentRollupService paymentRollupService;
+    private final ObjectMapper objectMapper;
 
     public FinancialReportService(FeePaymentRepository feePaymentRepository, 
                                 StudentRepository studentRepository,
-                                FeePaymentService feePaymentService) {
+                                PaymentRollupService paymentRollupService,
+                                ObjectMapper objectMapper) {
         this.feePaymentRepository = feePaymentRepository;
         this.studentRepository = studentRepository;
-        this.feePaymentService = feePaymentService;
+        this.paymentRollupService = paymentRollupService;
+        this.objectMapper = objectMapper;
     }
 
     public FinancialReportDTO generateFinancialReport(String term, String academicYear, 
@@ -44,95 +66,59 @@ public class FinancialReportService {
             report.setTerm(term);
             report.setAcademicYear(academicYear);
     
-            // Get all payments for the period
-            List<FeePayment> allPayments = new ArrayList<>();
-            
-            // First get payments by term and academic year
-            List<FeePayment> termPayments = feePaymentRepository.findByTermAndAcademicYear(term, academicYear);
-            if (termPayments != null) {
-                allPayments.addAll(termPayments);
-            }
-            
-            // Also get payments by date range
-            List<FeePayment> dateRangePayments = feePaymentRepository.findByPaymentDateBetween(startDate, endDate);
-            if (dateRangePayments != null) {
-                // Add any payments not already included
-                for (FeePayment payment : dateRangePayments) {
-                    if (!allPayments.contains(payment)) {
-                        allPayments.add(payment);
-                    }
-                }
-            }
-            
-            System.out.println("Found " + allPayments.size() + " payments for report");
+            // Class/status totals over the union of term payments and payments in the date range,
+            // aggregated by the database so no FeePayment or Student entities are loaded
+            List<ClassPaymentStatusTotals> classTotals =
+                    feePaymentRepository.summarizeByClassAndStatus(term, academicYear, startDate, endDate);
     
-            // Filter out invalid payments
-            List<FeePayment> validPayments = allPayments.stream()
-                .filter(p -> p != null && p.getStudent() != null && 
-                       p.getAmountPaid() != null && p.getBalance() != null)
-                .collect(Collectors.toList());
+            Map<String, ClassFinancialSummaryDTO> summariesByClass = new LinkedHashMap<>();
+            BigDecimal totalCollected = BigDecimal.ZERO;
+            BigDecimal totalOutstanding = BigDecimal.ZERO;
+            long paymentCount = 0;
     
-            // Calculate totals
-            BigDecimal totalCollected = validPayments.stream()
-                    .map(FeePayment::getAmountPaid)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            for (ClassPaymentStatusTotals totals : classTotals) {
+                BigDecimal paid = totals.getTotalPaid() != null ? totals.getTotalPaid() : BigDecimal.ZERO;
+                BigDecimal balance = totals.getTotalBalance() != null ? totals.getTotalBalance() : BigDecimal.ZERO;
+                long count = totals.getPaymentCount() != null ? totals.getPaymentCount() : 0L;
     
-            BigDecimal totalOutstanding = validPayments.stream()
-                    .map(FeePayment::getBalance)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                totalCollected = totalCollected.add(paid);
+                totalOutstanding = totalOutstanding.add(balance);
+                paymentCount += count;
+
+                // Payments of students without a form or section count towards the totals but not a class
+                if (totals.getForm() == null || totals.getSection() == null) {
+                    continue;
+                }
+                String className = totals.getForm() + " " + totals.getSection();
+                ClassFinancialSummaryDTO summary = summariesByClass.computeIfAbsent(className,
+                        name -> new ClassFinancialSummaryDTO(name, 0L, 0L, 0L, 0L, BigDecimal.ZERO, BigDecimal.ZERO));
     
-            BigDecimal totalExpected = totalCollected.add(totalOutstanding);
+                summary.setTotalStudents(summary.getTotalStudents() + count);
+                summary.setTotalCollected(summary.getTotalCollected().add(paid));
+                summary.setTotalOutstanding(summary.getTotalOutstanding().add(balance));
+    
+                if (totals.getPaymentStatus() == PaymentStatus.FULL_PAYMENT) {
+                    summary.setFullPayments(summary.getFullPayments() + count);
+                } else if (totals.getPaymentStatus() == PaymentStatus.PART_PAYMENT) {
+                    summary.setPartPayments(summary.getPartPayments() + count);
+                } else if (totals.getPaymentStatus() == PaymentStatus.NON_PAYER) {
+                    summary.setNonPayers(summary.getNonPayers() + count);
+                }
+            }
+            
+            System.out.println("Found " + paymentCount + " payments for report");
     
             report.setTotalCollectedAmount(totalCollected);
             report.setTotalOutstandingAmount(totalOutstanding);
-            report.setTotalExpectedRevenue(totalExpected);
-    
-            // Generate class summaries - only for payments with valid student data
-            Map<String, List<FeePayment>> paymentsByClass = validPayments.stream()
-                    .filter(p -> p.getStudent().getForm() != null && p.getStudent().getSection() != null)
-                    .collect(Collectors.groupingBy(p -> p.getStudent().getForm() + " " + p.getStudent().getSection()));
-    
-            List<ClassFinancialSummaryDTO> classSummaries = paymentsByClass.entrySet().stream()
-                    .map(entry -> {
-                        String className = entry.getKey();
-                        List<FeePayment> classPayments = entry.getValue();
-                        
-                        long fullPayments = classPayments.stream()
-                                .filter(p -> p.getPaymentStatus() == PaymentStatus.FULL_PAYMENT)
-                                .count();
-                        
-                        long partPayments = classPayments.stream()
-                                .filter(p -> p.getPaymentStatus() == PaymentStatus.PART_PAYMENT)
-                                .count();
-                        
-                        long nonPayers = classPayments.stream()
-                                .filter(p -> p.getPaymentStatus() == PaymentStatus.NON_PAYER)
-                                .count();
-    
-                        BigDecimal classCollected = classPayments.stream()
-                                .map(FeePayment::getAmountPaid)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    
-                        BigDecimal classOutstanding = classPayments.stream()
-                                .map(FeePayment::getBalance)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            report.setTotalExpectedRevenue(totalCollected.add(totalOutstanding));
+            report.setClassSummaries(new ArrayList<>(summariesByClass.values()));
     
-                        return new ClassFinancialSummaryDTO(className, (long) classPayments.size(),
-                                fullPayments, partPayments, nonPayers, classCollected, classOutstanding);
-                    })
-                    .collect(Collectors.toList());
-    
-            report.setClassSummaries(classSummaries);
-    
-            // Generate daily summaries for the date range
-            List<DailyPaymentSummaryDTO> dailySummaries = startDate.datesUntil(endDate.plusDays(1))
-                    .map(date -> {
-                        try {
-                            return feePaymentService.getDailyPaymentSummary(date);
-                        } catch (Exception e) {
-                            return new DailyPaymentSummaryDTO(date, BigDecimal.ZERO, 0L);
-                        }
-                    })
+            // Daily summaries for the date range from the daily rollup
+            List<DailyPaymentSummaryDTO> dailySummaries = paymentRollupService
+                    .getTotals(startDate, endDate, PaymentGranularity.DAY)
+                    .stream()
+                    .map(daily -> new DailyPaymentSummaryDTO(
+                            daily.periodStart(), daily.totalAmount(), daily.transactionCount()))
                     .filter(summary -> summary.getTotalAmount().compareTo(BigDecimal.ZERO) > 0)
                     .collect(Collectors.toList());
     
@@ -156,11 +142,90 @@ public class FinancialReportService {
         }
     }
     
-    public List<StudentPaymentHistoryDTO> getAllStudentPaymentHistory() {
-        List<Student> students = studentRepository.findAll();
-        return students.stream()
-                .map(this::createStudentPaymentHistoryDTO)
-                .collect(Collectors.toList());
+    /**
+     * Writes every student's payment history to the stream as one JSON array. A single students LEFT JOIN
+     * fee_payments cursor ordered by student is grouped as it advances, and each history is written as soon
+     * as the next student starts, so only one student's payments are held in memory.
+     */
+    @Transactional(readOnly = true)
+    public void writeAllStudentPaymentHistory(OutputStream outputStream) throws IOException {
+        try (Stream<StudentPaymentHistoryRow> rows = feePaymentRepository.streamPaymentHistoryRows();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            
+            StudentPaymentHistoryDTO current = null;
+            Iterator<StudentPaymentHistoryRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                StudentPaymentHistoryRow row = iterator.next();
+                if (current == null || !current.getStudentId().equals(row.getId())) {
+                    if (current != null) {
+                        generator.writeObject(current);
+                    }
+                    current = new StudentPaymentHistoryDTO(
+                            row.getId(),
+                            row.getFirstName() + " " + row.getLastName() + " (" + row.getStudentId() + ")",
+                            row.getForm() + " " + row.getSection(),
+                            BigDecimal.ZERO,
+                            new ArrayList<>(),
+                            BigDecimal.ZERO);
+                }
+                // No payment columns: the student has no payments yet
+                if (row.getPaymentId() == null) {
+                    continue;
+                }
+                current.getPayments().add(new StudentPaymentHistoryDTO.PaymentRecord(
+                        row.getTerm(),
+                        row.getMonth(),
+                        row.getAcademicYear(),
+                        row.getAmountPaid(),
+                        row.getBalance(),
+                        row.getPaymentDate(),
+                        row.getPaymentStatus()));
+                current.setTotalPaid(current.getTotalPaid().add(row.getAmountPaid()));
+                current.setTotalBalance(current.getTotalBalance().add(row.getBalance()));
+            }
+            if (current != null) {
+                generator.writeObject(current);
+            }
+            
+            generator.writeEndArray();
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<StudentPaymentHistoryDTO> getStudentPaymentHistoryPage(Pageable pageable) {
+        Page<StudentListRow> students = studentRepository.findListRows(pageable);
+        Map<Long, StudentPaymentHistoryDTO> histories = createStudentPaymentHistoryDTOs(students.getContent());
+        return students.map(student -> histories.get(student.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<StudentPaymentHistoryDTO> getStudentPaymentHistoryAfter(Long afterId, int size) {
+        List<StudentListRow> students = studentRepository.findListRowsAfter(afterId, PageRequest.of(0, size));
+        return new ArrayList<>(createStudentPaymentHistoryDTOs(students).values());
+    }
+    
+    // Loads the payments of a whole page of students with one IN query, keyed in page order
+    private Map<Long, StudentPaymentHistoryDTO> createStudentPaymentHistoryDTOs(List<StudentListRow> students) {
+        Map<Long, StudentPaymentHistoryDTO> histories = new LinkedHashMap<>();
+        if (students.isEmpty()) {
+            return histories;
+        }
+        
+        Map<Long, List<FeePayment>> paymentsByStudentId = new HashMap<>();
+        List<Long> studentIds = students.stream().map(StudentListRow::getId).collect(Collectors.toList());
+        for (FeePayment payment : feePaymentRepository.findByStudentIdIn(studentIds)) {
+            paymentsByStudentId.computeIfAbsent(payment.getStudent().getId(), id -> new ArrayList<>()).add(payment);
+        }
+        
+        for (StudentListRow student : students) {
+            histories.put(student.getId(), createStudentPaymentHistoryDTO(student.getId(), student.getStudentId(),
+                    student.getFirstName(), student.getLastName(), student.getForm(), student.getSection(),
+                    paymentsByStudentId.getOrDefault(student.getId(), new ArrayList<>())));
+        }
+        return histories;
     }
     
     public List<StudentPaymentHistoryDTO> getStudentPaymentHistory(Long studentId) {
@@ -176,6 +241,13 @@ public class FinancialReportService {
             payments = new ArrayList<>();
         }
         
+        return createStudentPaymentHistoryDTO(student.getId(), student.getStudentId(), student.getFirstName(),
+                student.getLastName(), student.getForm(), student.getSection(), payments);
+    }
+    
+    private StudentPaymentHistoryDTO createStudentPaymentHistoryDTO(Long id, String studentId, String firstName,
+                                                                    String lastName, String form, String section,
+                                                                    List<FeePayment> payments) {
         List<StudentPaymentHistoryDTO.PaymentRecord> paymentRecords = payments.stream()
                 .map(payment -> new StudentPaymentHistoryDTO.PaymentRecord(
                         payment.getTerm(),
@@ -197,43 +269,31 @@ public class FinancialReportService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         // Use the actual student ID (student_id) instead of the database ID
-        String actualStudentId = student.getStudentId();
+        String actualStudentId = studentId;
         
         // For the DTO, we'll still use the database ID since that's what the system expects
         return new StudentPaymentHistoryDTO(
-                student.getId(),
-                student.getFirstName() + " " + student.getLastName() + " (" + actualStudentId + ")",
-                student.getForm() + " " + student.getSection(),
+                id,
+                firstName + " " + lastName + " (" + actualStudentId + ")",
+                form + " " + section,
                 totalPaid,
                 paymentRecords,
                 totalBalance
         );
     }
     
-    public List<PaymentTrendDTO> getPaymentTrends(LocalDate startDate, LocalDate endDate) {
-        List<FeePayment> payments = feePaymentRepository.findAll();
-        if (payments == null) {
-            payments = new ArrayList<>();
-        }
-        
-        Map<LocalDate, List<FeePayment>> paymentsByDate = payments.stream()
-                .filter(payment -> {
-                    LocalDate paymentDate = payment.getPaymentDate();
-                    return !paymentDate.isBefore(startDate) && !paymentDate.isAfter(endDate);
-                })
-                .collect(Collectors.groupingBy(FeePayment::getPaymentDate));
-        
-        return startDate.datesUntil(endDate.plusDays(1))
-                .map(date -> {
-                    List<FeePayment> paymentsOnDate = paymentsByDate.getOrDefault(date, Collections.emptyList());
-                    
-                    BigDecimal totalAmount = paymentsOnDate.stream()
-                            .map(FeePayment::getAmountPaid)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    
-                    return new PaymentTrendDTO(date, totalAmount, paymentsOnDate.size());
-                })
-                .filter(trend -> trend.getTransactionCount() > 0)
+    /**
+     * Collection totals per day, week, month or term, served from the daily rollup.
+     */
+    public List<PaymentTrendDTO> getPaymentTrends(LocalDate startDate, LocalDate endDate,
+                                                  PaymentGranularity granularity) {
+        return paymentRollupService.getTotals(startDate, endDate, granularity).stream()
+                .map(period -> new PaymentTrendDTO(
+                        period.periodStart(),
+                        period.periodEnd(),
+                        period.label(),
+                        period.totalAmount(),
+                        (int) period.transactionCount()))
                 .collect(Collectors.toList());
     }
     
@@ -437,86 +497,59 @@ public class FinancialReportService {
         }
     }
     
-    public byte[] exportAllPaymentsToExcel(String term, String academicYear) {
-        try {
-            List<FeePayment> payments = feePaymentRepository.findByTermAndAcademicYear(term, academicYear);
-            if (payments == null) {
-                payments = new ArrayList<>();
-            }
+    /**
+     * Writes every payment for the term straight to the given stream. Rows come from a database cursor
+     * into a windowed SXSSF workbook, so only ROW_ACCESS_WINDOW rows are held in memory at a time.
+     */
+    @Transactional(readOnly = true)
+    public void writeAllPaymentsToExcel(String term, String academicYear, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        try (Stream<PaymentExportRow> rows = feePaymentRepository.streamExportRowsByTermAndAcademicYear(term, academicYear)) {
+            Sheet sheet = workbook.createSheet("All Payments");
             
-            // Filter out invalid payments
-            List<FeePayment> validPayments = payments.stream()
-                .filter(p -> p != null && p.getStudent() != null && 
-                       p.getAmountPaid() != null && p.getBalance() != null && 
-                       p.getMonthlyFeeAmount() != null && p.getPaymentStatus() != null && 
-                       p.getPaymentDate() != null)
-                .collect(Collectors.toList());
+            // Fixed widths instead of autoSizeColumn, which would need every row in memory
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < ALL_PAYMENTS_COLUMNS.length; i++) {
+                headerRow.createCell(i).setCellValue(ALL_PAYMENTS_COLUMNS[i]);
+                sheet.setColumnWidth(i, ALL_PAYMENTS_COLUMN_WIDTHS[i] * 256);
+            }
             
-            try (Workbook workbook = new XSSFWorkbook()) {
-                Sheet sheet = workbook.createSheet("All Payments");
-                
-                // Create header row
-                Row headerRow = sheet.createRow(0);
-                String[] columns = {"Student ID", "Student Name", "Class", "Term", "Month", "Academic Year", 
-                                   "Fee Amount", "Amount Paid", "Balance", "Payment Status", "Payment Date"};
-                
-                for (int i = 0; i < columns.length; i++) {
-                    Cell cell = headerRow.createCell(i);
-                    cell.setCellValue(columns[i]);
+            int rowNum = 1;
+            Iterator<PaymentExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                PaymentExportRow payment = iterator.next();
+                if (payment.getAmountPaid() == null || payment.getBalance() == null ||
+                        payment.getMonthlyFeeAmount() == null || payment.getPaymentStatus() == null ||
+                        payment.getPaymentDate() == null) {
+                    continue;
                 }
                 
-                // Create data rows
-                int rowNum = 1;
-                for (FeePayment payment : validPayments) {
-                    try {
-                        Row row = sheet.createRow(rowNum++);
-                        
-                        // Use the actual student ID field (student_id) instead of the database ID
-                        row.createCell(0).setCellValue(payment.getStudent().getStudentId());
-                        row.createCell(1).setCellValue(payment.getStudent().getFirstName() + " " + payment.getStudent().getLastName());
-                        row.createCell(2).setCellValue(payment.getStudent().getForm() + " " + payment.getStudent().getSection());
-                        row.createCell(3).setCellValue(payment.getTerm());
-                        row.createCell(4).setCellValue(payment.getMonth());
-                        row.createCell(5).setCellValue(payment.getAcademicYear());
-                        row.createCell(6).setCellValue(payment.getMonthlyFeeAmount().doubleValue());
-                        row.createCell(7).setCellValue(payment.getAmountPaid().doubleValue());
-                        row.createCell(8).setCellValue(payment.getBalance().doubleValue());
-                        row.createCell(9).setCellValue(payment.getPaymentStatus().toString());
-                        row.createCell(10).setCellValue(payment.getPaymentDate().format(DateTimeFormatter.ISO_DATE));
-                    } catch (Exception e) {
-                        // Skip this row if there's an error
-                        System.err.println("Error processing payment row: " + e.getMessage());
-                    }
-                }
-                
-                // Auto-size columns
-                for (int i = 0; i < columns.length; i++) {
-                    sheet.autoSizeColumn(i);
-                }
+                Row row = sheet.createRow(rowNum++);
                 
-                // Write to byte array
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                workbook.write(outputStream);
-                return outputStream.toByteArray();
+                // Use the actual student ID field (student_id) instead of the database ID
+                row.createCell(0).setCellValue(payment.getStudentId());
+                row.createCell(1).setCellValue(payment.getFirstName() + " " + payment.getLastName());
+                row.createCell(2).setCellValue(payment.getForm() + " " + payment.getSection());
+                row.createCell(3).setCellValue(payment.getTerm());
+                row.createCell(4).setCellValue(payment.getMonth());
+                row.createCell(5).setCellValue(payment.getAcademicYear());
+                row.createCell(6).setCellValue(payment.getMonthlyFeeAmount().doubleValue());
+                row.createCell(7).setCellValue(payment.getAmountPaid().doubleValue());
+                row.createCell(8).setCellValue(payment.getBalance().doubleValue());
+                row.createCell(9).setCellValue(payment.getPaymentStatus().toString());
+                row.createCell(10).setCellValue(payment.getPaymentDate().format(DateTimeFormatter.ISO_DATE));
             }
-        } catch (Exception e) {
-            System.err.println("Failed to generate Excel file: " + e.getMessage());
-            e.printStackTrace();
             
-            // Return an empty Excel file instead of throwing an exception
-            try (Workbook workbook = new XSSFWorkbook()) {
-                Sheet sheet = workbook.createSheet("No Data");
-                Row row = sheet.createRow(0);
-                Cell cell = row.createCell(0);
-                cell.setCellValue("No payment data available for the selected term and academic year.");
-                
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                workbook.write(outputStream);
-                return outputStream.toByteArray();
-            } catch (IOException ex) {
-                // If all else fails, return an empty byte array
-                return new byte[0];
+            if (rowNum == 1) {
+                Row row = sheet.createRow(1);
+                row.createCell(0).setCellValue("No payment data available for the selected term and academic year.");
             }
+            
+            workbook.write(outputStream);
+        } finally {
+            // Removes the temporary files SXSSF flushed the row window to
+            workbook.dispose();
+            workbook.close();
         }
     }
     
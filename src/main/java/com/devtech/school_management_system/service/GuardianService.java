@@ -5,7 +5,11 @@ import com.devtech.school_management_system.entity.Student;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.GuardianRepository;
 import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.projection.GuardianListRow;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -98,6 +102,16 @@ public class GuardianService {
         return guardianRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Page<GuardianListRow> getGuardiansPage(Pageable pageable) {
+        return guardianRepository.findListRows(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GuardianListRow> getGuardiansAfter(Long afterId, int size) {
+        return guardianRepository.findListRowsAfter(afterId, PageRequest.of(0, size));
+    }
+
     public List<Guardian> getGuardiansByPhoneNumber(String phoneNumber) {
         return guardianRepository.findByPhoneNumber(phoneNumber);
     }
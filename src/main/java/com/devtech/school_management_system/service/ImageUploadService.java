@@ -0,0 +1,193 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.enums.ImageVariant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Stores uploaded images without holding them in heap: the upload is streamed to a temp file in the target
+ * directory, its format and dimensions are read from the header alone, resized variants are written once, and
+ * the original is moved into place atomically last, so a visible original always has its variants.
+ */
+@Service
+public class ImageUploadService {
+
+    public record StoredImage(String fileName, String formatName, int width, int height) {
+    }
+
+    private static final Set<String> ALLOWED_FORMATS = Set.of("png", "jpeg", "gif");
+
+    private final int maxWidth;
+    private final int maxHeight;
+
+    public ImageUploadService(@Value("${upload.images.max-width:4096}") int maxWidth,
+                              @Value("${upload.images.max-height:4096}") int maxHeight) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Stores the upload as {@code baseName} plus the extension of its detected format and writes every variant
+     * smaller than the original. Rejects anything that is not a PNG, JPEG or GIF within the configured size.
+     */
+    public StoredImage store(MultipartFile file, Path directory, String baseName) throws IOException {
+        Files.createDirectories(directory);
+        Path upload = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            try (InputStream input = file.getInputStream()) {
+                Files.copy(input, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            StoredImage image = inspect(upload, baseName);
+            writeVariants(upload, directory, image);
+            moveIntoPlace(upload, directory.resolve(image.fileName()));
+            return image;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Deletes an original and its variants, ignoring files that are already gone.
+     */
+    public void delete(Path directory, String fileName) {
+        try {
+            Files.deleteIfExists(directory.resolve(fileName));
+            for (ImageVariant variant : ImageVariant.values()) {
+                Files.deleteIfExists(directory.resolve(variant.fileName(fileName)));
+            }
+        } catch (IOException e) {
+            System.err.println("Could not delete upload " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    // Format and dimensions from the image header; pixel data is not decoded here
+    private StoredImage inspect(Path upload, String baseName) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload.toFile())) {
+            ImageReader reader = firstReader(input);
+            try {
+                reader.setInput(input, true, true);
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (!ALLOWED_FORMATS.contains(format)) {
+                    throw new IllegalArgumentException("Unsupported image type: " + format);
+                }
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxWidth || height > maxHeight) {
+                    throw new IllegalArgumentException("Image is " + width + "x" + height
+                            + ", larger than the allowed " + maxWidth + "x" + maxHeight);
+                }
+                String extension = "jpeg".equals(format) ? ".jpg" : "." + format;
+                return new StoredImage(baseName + extension, format, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeVariants(Path upload, Path directory, StoredImage image) throws IOException {
+        int largest = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (Math.max(image.width(), image.height()) > variant.getMaxDimension()) {
+                largest = Math.max(largest, variant.getMaxDimension());
+            }
+        }
+        if (largest == 0) {
+            // Consumers fall back to the original when a variant does not exist
+            return;
+        }
+
+        BufferedImage source = decodeForSize(upload, image, largest);
+        String outputFormat = "jpeg".equals(image.formatName()) ? "jpeg" : "png";
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (Math.max(image.width(), image.height()) <= variant.getMaxDimension()) {
+                continue;
+            }
+            BufferedImage scaled = scale(source, variant.getMaxDimension(), "png".equals(outputFormat));
+            Path temp = Files.createTempFile(directory, ".variant-", ".tmp");
+            try {
+                if (!ImageIO.write(scaled, outputFormat, temp.toFile())) {
+                    throw new IOException("No image writer for " + outputFormat);
+                }
+                moveIntoPlace(temp, directory.resolve(variant.fileName(image.fileName())));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Decodes with source subsampling so a large upload is never expanded to full resolution in heap when only
+     * a {@code targetDimension}-sized copy is needed.
+     */
+    private BufferedImage decodeForSize(Path upload, StoredImage image, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload.toFile())) {
+            ImageReader reader = firstReader(input);
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(image.width(), image.height()) / (targetDimension * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxDimension, boolean keepAlpha) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static ImageReader firstReader(ImageInputStream input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Upload is not a readable image");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("Upload is not a supported image");
+        }
+        return readers.next();
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
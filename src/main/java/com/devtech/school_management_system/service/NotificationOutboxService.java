@@ -0,0 +1,136 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.Guardian;
+import com.devtech.school_management_system.entity.NotificationOutbox;
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.enums.NotificationStatus;
+import com.devtech.school_management_system.repository.GuardianRepository;
+import com.devtech.school_management_system.repository.NotificationOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class NotificationOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final GuardianRepository guardianRepository;
+    private final WhatsAppService whatsAppService;
+
+    public NotificationOutboxService(NotificationOutboxRepository notificationOutboxRepository,
+                                     GuardianRepository guardianRepository,
+                                     WhatsAppService whatsAppService) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.guardianRepository = guardianRepository;
+        this.whatsAppService = whatsAppService;
+    }
+
+    /**
+     * Queues absentee messages for the WhatsApp-enabled guardians of each student. Runs in the caller's
+     * transaction so the messages are only persisted if the attendance change is. A student whose primary
+     * guardian (or first guardian when none is primary) has no WhatsApp number is skipped. Returns the number of
+     * messages queued, which can overcount by messages a concurrent transaction queued first.
+     */
+    public int enqueueAbsenteeNotifications(Collection<Student> absentStudents, LocalDate date) {
+        if (absentStudents.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> studentIds = absentStudents.stream().map(Student::getId).collect(Collectors.toSet());
+        Map<Long, List<Guardian>> guardiansByStudentId = guardianRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.groupingBy(guardian -> guardian.getStudent().getId()));
+
+        // Keyed by dedup key so a number shared by two guardians of one student is messaged once
+        Map<String, NotificationOutbox> messages = new LinkedHashMap<>();
+        for (Student student : absentStudents) {
+            List<Guardian> guardians = guardiansByStudentId.getOrDefault(student.getId(), Collections.emptyList());
+            Guardian primaryGuardian = guardians.stream()
+                    .filter(Guardian::isPrimaryGuardian)
+                    .findFirst()
+                    .orElse(guardians.isEmpty() ? null : guardians.getFirst());
+            if (primaryGuardian == null || primaryGuardian.getWhatsappNumber() == null) {
+                continue;
+            }
+
+            String message = whatsAppService.formatAbsenteeMessage(student);
+            for (Guardian guardian : guardians) {
+                String number = guardian.getWhatsappNumber();
+                if (number == null || number.isEmpty()) {
+                    continue;
+                }
+                String dedupKey = "ABSENT:" + student.getId() + ":" + date + ":" + number;
+                messages.putIfAbsent(dedupKey, new NotificationOutbox(number, message, dedupKey));
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        // The lookup keeps the returned count exact in the common case; the insert itself skips a message another
+        // transaction queued in the meantime, so two clerks marking the same class cannot roll each other back
+        notificationOutboxRepository.findExistingDedupKeys(messages.keySet()).forEach(messages::remove);
+        notificationOutboxRepository.batchInsertIgnoringDuplicates(messages.values());
+        return messages.size();
+    }
+
+    /**
+     * Claims up to batchSize due messages. Each claimed message has its attempt count incremented and is
+     * leased until now + lease, so if this instance dies mid-delivery the message becomes due again.
+     */
+    public List<NotificationOutbox> claimDueBatch(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> due = notificationOutboxRepository.findDueForUpdate(
+                NotificationStatus.PENDING.name(), now, batchSize);
+
+        for (NotificationOutbox message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    public void markSent(Long id) {
+        notificationOutboxRepository.findById(id).ifPresent(message -> {
+            message.setStatus(NotificationStatus.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+        });
+    }
+
+    /**
+     * Records a failed attempt. The message is retried after an exponential backoff until maxAttempts is reached,
+     * after which it is parked as FAILED.
+     */
+    public void markFailed(Long id, String error, int maxAttempts, Duration baseBackoff, Duration maxBackoff) {
+        notificationOutboxRepository.findById(id).ifPresent(message -> {
+            message.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(NotificationStatus.FAILED);
+                return;
+            }
+
+            long multiplier = 1L << Math.min(message.getAttempts() - 1, 20);
+            Duration backoff = baseBackoff.multipliedBy(multiplier);
+            if (backoff.compareTo(maxBackoff) > 0) {
+                backoff = maxBackoff;
+            }
+            message.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return notificationOutboxRepository.countByStatus(NotificationStatus.PENDING);
+    }
+}
@@ -0,0 +1,126 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.NotificationOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox on a fixed delay. Each claimed batch is delivered on virtual threads, with at
+ * most {@code notification.outbox.workers} sends in flight, and the poll waits for the batch before claiming more.
+ */
+@Component
+public class NotificationOutboxWorker {
+
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationTransport notificationTransport;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer sendLatency;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter drainFailedCounter;
+
+    public NotificationOutboxWorker(NotificationOutboxService notificationOutboxService,
+                                    NotificationTransport notificationTransport,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${notification.outbox.workers:4}") int workers,
+                                    @Value("${notification.outbox.batch-size:50}") int batchSize,
+                                    @Value("${notification.outbox.max-attempts:5}") int maxAttempts,
+                                    @Value("${notification.outbox.lease:5m}") Duration lease,
+                                    @Value("${notification.outbox.base-backoff:30s}") Duration baseBackoff,
+                                    @Value("${notification.outbox.max-backoff:1h}") Duration maxBackoff) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.notificationTransport = notificationTransport;
+        this.inFlight = new Semaphore(workers);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+
+        Gauge.builder("notification.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Pending messages in the notification outbox")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("notification.outbox.send.latency")
+                .description("Time taken by the transport to deliver one message")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notification.outbox.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.outbox.failed").register(meterRegistry);
+        this.drainFailedCounter = Counter.builder("notification.outbox.drain.failed")
+                .description("Polls that stopped early because claiming or recording a delivery failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:2s}")
+    public void drain() {
+        try {
+            List<NotificationOutbox> batch = notificationOutboxService.claimDueBatch(batchSize, lease);
+
+            List<Future<?>> deliveries = new ArrayList<>(batch.size());
+            for (NotificationOutbox message : batch) {
+                inFlight.acquire();
+                deliveries.add(executor.submit(() -> {
+                    try {
+                        deliver(message);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> delivery : deliveries) {
+                delivery.get();
+            }
+
+            queueDepth.set(notificationOutboxService.countPending());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Claimed messages stay leased and become due again, so the next poll picks them up
+            drainFailedCounter.increment();
+            System.err.println("Notification outbox drain failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void deliver(NotificationOutbox message) {
+        Timer.Sample sample = Timer.start();
+        try {
+            notificationTransport.send(message.getRecipient(), message.getMessage());
+        } catch (Exception e) {
+            sample.stop(sendLatency);
+            failedCounter.increment();
+            notificationOutboxService.markFailed(message.getId(), e.getMessage(), maxAttempts, baseBackoff, maxBackoff);
+            return;
+        }
+        sample.stop(sendLatency);
+        sentCounter.increment();
+        notificationOutboxService.markSent(message.getId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,10 @@
+package com.devtech.school_management_system.service;
+
+/**
+ * Delivers a single outbound message. Implementations throw to signal a failed attempt; the outbox worker
+ * takes care of retries, so transports should not retry internally.
+ */
+public interface NotificationTransport {
+
+    void send(String recipient, String message) throws Exception;
+}
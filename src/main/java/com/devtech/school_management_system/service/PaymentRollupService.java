@@ -0,0 +1,150 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.dto.PaymentRollupRebuildResultDTO;
+import com.devtech.school_management_system.entity.FeePayment;
+import com.devtech.school_management_system.enums.PaymentGranularity;
+import com.devtech.school_management_system.enums.PaymentStatus;
+import com.devtech.school_management_system.repository.FeePaymentRepository;
+import com.devtech.school_management_system.repository.PaymentDailyRollupRepository;
+import com.devtech.school_management_system.repository.projection.DailyPaymentTotals;
+import com.devtech.school_management_system.repository.projection.TermPaymentTotals;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payment totals served from the daily rollup instead of fee_payments. Every payment write moves its row's
+ * count and amount between rollup rows (keyed by the payment's date, term and status), in the same transaction,
+ * so the rollup always matches a GROUP BY over fee_payments. The key holds no student columns, so class changes
+ * never leave it stale. Weeks and months are summed from the day rows, which stay in the hundreds for a year.
+ */
+@Service
+@Transactional
+public class PaymentRollupService {
+
+    public record PeriodTotals(LocalDate periodStart, LocalDate periodEnd, String label,
+                               BigDecimal totalAmount, long transactionCount) {
+    }
+
+    private final PaymentDailyRollupRepository rollupRepository;
+    private final FeePaymentRepository feePaymentRepository;
+
+    public PaymentRollupService(PaymentDailyRollupRepository rollupRepository,
+                                FeePaymentRepository feePaymentRepository) {
+        this.rollupRepository = rollupRepository;
+        this.feePaymentRepository = feePaymentRepository;
+    }
+
+    /**
+     * Records a new or changed payment row. For a change, pass the status and amount the row had before it;
+     * for a new row pass null for both.
+     */
+    public void paymentChanged(FeePayment payment, PaymentStatus previousStatus, BigDecimal previousAmountPaid) {
+        if (previousStatus != null) {
+            applyDelta(payment, previousStatus, -1, previousAmountPaid.negate());
+        }
+        applyDelta(payment, payment.getPaymentStatus(), 1, payment.getAmountPaid());
+    }
+
+    public void paymentRemoved(FeePayment payment) {
+        applyDelta(payment, payment.getPaymentStatus(), -1, payment.getAmountPaid().negate());
+    }
+
+    @Transactional(readOnly = true)
+    public PeriodTotals getDayTotals(LocalDate date) {
+        List<PeriodTotals> totals = getTotals(date, date, PaymentGranularity.DAY);
+        return totals.isEmpty() ? new PeriodTotals(date, date, date.toString(), BigDecimal.ZERO, 0) : totals.get(0);
+    }
+
+    /**
+     * Totals per period between the two dates, oldest first, leaving out periods without payments. Weeks start
+     * on Monday; a term runs from its first to its last payment date in the range.
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodTotals> getTotals(LocalDate startDate, LocalDate endDate, PaymentGranularity granularity) {
+        if (granularity == PaymentGranularity.TERM) {
+            List<PeriodTotals> terms = new ArrayList<>();
+            for (TermPaymentTotals term : rollupRepository.sumByTerm(startDate, endDate)) {
+                terms.add(new PeriodTotals(term.getFirstPaymentDate(), term.getLastPaymentDate(),
+                        term.getTerm() + " " + term.getAcademicYear(),
+                        term.getTotalAmount() != null ? term.getTotalAmount() : BigDecimal.ZERO,
+                        term.getTransactionCount() != null ? term.getTransactionCount() : 0L));
+            }
+            return terms;
+        }
+
+        Map<LocalDate, PeriodTotals> periods = new LinkedHashMap<>();
+        for (DailyPaymentTotals day : rollupRepository.sumByDay(startDate, endDate)) {
+            LocalDate date = day.getPaymentDate();
+            LocalDate periodStart = switch (granularity) {
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                default -> date;
+            };
+            BigDecimal amount = day.getTotalAmount() != null ? day.getTotalAmount() : BigDecimal.ZERO;
+            long count = day.getTransactionCount() != null ? day.getTransactionCount() : 0L;
+            periods.merge(periodStart, new PeriodTotals(periodStart, periodEnd(periodStart, granularity),
+                            label(periodStart, granularity), amount, count),
+                    (existing, added) -> new PeriodTotals(existing.periodStart(), existing.periodEnd(), existing.label(),
+                            existing.totalAmount().add(added.totalAmount()),
+                            existing.transactionCount() + added.transactionCount()));
+        }
+        return new ArrayList<>(periods.values());
+    }
+
+    /**
+     * Rebuilds the rollup from fee_payments, for the whole table or one date range.
+     */
+    public PaymentRollupRebuildResultDTO rebuild(LocalDate startDate, LocalDate endDate) {
+        int written = startDate != null && endDate != null
+                ? rollupRepository.rebuildRange(startDate, endDate)
+                : rollupRepository.rebuildAll();
+        System.out.println("Rebuilt payment rollup" + (startDate != null && endDate != null
+                ? " for " + startDate + " to " + endDate : "") + ": " + written + " rows");
+        return new PaymentRollupRebuildResultDTO(startDate, endDate, written);
+    }
+
+    /**
+     * Builds the rollup once for databases that hold payments recorded before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (rollupRepository.count() == 0 && feePaymentRepository.count() > 0) {
+            int written = rollupRepository.rebuildAll();
+            System.out.println("Built " + written + " payment rollup rows from existing fee payments");
+        }
+    }
+
+    private void applyDelta(FeePayment payment, PaymentStatus status, long countDelta, BigDecimal amountDelta) {
+        rollupRepository.applyDelta(payment.getPaymentDate(), payment.getAcademicYear(), payment.getTerm(),
+                status, countDelta, amountDelta);
+    }
+
+    private static LocalDate periodEnd(LocalDate periodStart, PaymentGranularity granularity) {
+        return switch (granularity) {
+            case WEEK -> periodStart.plusDays(6);
+            case MONTH -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+            default -> periodStart;
+        };
+    }
+
+    private static String label(LocalDate periodStart, PaymentGranularity granularity) {
+        return switch (granularity) {
+            case WEEK -> periodStart.get(IsoFields.WEEK_BASED_YEAR) + "-W"
+                    + String.format("%02d", periodStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> String.format("%d-%02d", periodStart.getYear(), periodStart.getMonthValue());
+            default -> periodStart.toString();
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.devtech.school_management_system.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts reference data (subjects, sections, roles, fee settings, school settings and schools) from the
+ * second-level cache. Hibernate already keeps entity regions in step with writes made through the entity manager;
+ * this also drops the cached lookup queries of the shared "reference.queries" region so lists such as active fee
+ * settings are re-read, and does so only after commit so a rolled-back edit never empties the cache for nothing.
+ */
+@Service
+public class ReferenceDataCacheService {
+
+    public static final String QUERY_REGION = "reference.queries";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReferenceDataCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictAfterCommit(Class<?>... entityClasses) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(entityClasses);
+                }
+            });
+        } else {
+            evict(entityClasses);
+        }
+    }
+
+    private void evict(Class<?>... entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            entityManagerFactory.getCache().evict(entityClass);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(QUERY_REGION);
+    }
+}
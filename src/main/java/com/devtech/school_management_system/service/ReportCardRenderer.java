@@ -0,0 +1,275 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.dto.StudentReportDTO;
+import com.devtech.school_management_system.dto.SubjectReportDTO;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lays out one student's report card as an A4 PDF. Stateless and safe to call from several threads at once;
+ * every call builds its own document, fonts and image objects from the shared, read-only batch assets.
+ */
+@Component
+public class ReportCardRenderer {
+
+    /**
+     * School branding and signatures loaded once per batch. Image arrays are null when the file is missing.
+     */
+    public record Assets(String schoolName, String schoolAddress, String headerText, String footerText,
+                         String principalName, String classTeacherName,
+                         byte[] schoolLogo, byte[] principalSignature, byte[] classTeacherSignature) {
+    }
+
+    public record RenderedCard(byte[] pdf, int pageCount) {
+    }
+
+    private static final float MARGIN = 50;
+    private static final float LINE = 14;
+    private static final float[] COLUMN_X = {50, 200, 262, 314, 366, 408};
+    private static final float COMMENT_WIDTH = 545 - 408;
+
+    public RenderedCard render(StudentReportDTO report, Integer position, int classSize, Assets assets)
+            throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PageWriter writer = new PageWriter(document, assets);
+
+            writer.header(assets);
+            writer.centered("Term Report - " + report.getTerm() + " " + report.getAcademicYear(), writer.bold, 13);
+            writer.gap(6);
+            writer.text("Student: " + report.getStudentName(), writer.bold, 11, MARGIN);
+            writer.text("Class: " + report.getForm() + " " + report.getSection()
+                    + (position != null ? "    Position: " + position + " of " + classSize : ""), writer.regular, 10, MARGIN);
+            writer.gap(8);
+
+            writer.tableRow(writer.bold, "Subject", "Coursework", "Exam", "Total", "Grade", "Comment");
+            writer.rule();
+            for (SubjectReportDTO subject : report.getSubjectReports()) {
+                String grade = subject.getFinalMark() != null ? SubjectMarkService.gradeFor(subject.getFinalMark()) : "";
+                writer.tableRow(writer.regular, subject.getSubjectName(), mark(subject.getCourseworkMark()),
+                        mark(subject.getExamMark()), mark(subject.getFinalMark()), grade, subject.getComment());
+            }
+            writer.rule();
+            writer.gap(10);
+
+            if (report.getOverallComment() != null && !report.getOverallComment().isBlank()) {
+                writer.text("Class teacher's comment", writer.bold, 10, MARGIN);
+                for (String line : wrap(report.getOverallComment(), writer.regular, 10, 595 - 2 * MARGIN)) {
+                    writer.text(line, writer.regular, 10, MARGIN);
+                }
+                writer.gap(10);
+            }
+
+            writer.signatures(assets);
+            writer.finish(assets.footerText());
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(16 * 1024);
+            document.save(output);
+            return new RenderedCard(output.toByteArray(), document.getNumberOfPages());
+        }
+    }
+
+    private static String mark(Double value) {
+        return value != null ? String.format(Locale.ROOT, "%.1f", value) : "-";
+    }
+
+    /**
+     * Replaces characters the standard Type 1 fonts cannot encode (WinAnsi) so free-text comments never fail a card.
+     */
+    private static String safe(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\t') {
+                builder.append(' ');
+            } else if ((c >= 0x20 && c <= 0x7E) || (c >= 0xA0 && c <= 0xFF)) {
+                builder.append(c);
+            } else {
+                builder.append('?');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static float width(String text, PDFont font, float size) throws IOException {
+        return font.getStringWidth(text) / 1000 * size;
+    }
+
+    private static List<String> wrap(String text, PDFont font, float size, float maxWidth) throws IOException {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : safe(text).split(" +")) {
+            String candidate = line.length() == 0 ? word : line + " " + word;
+            if (line.length() > 0 && width(candidate, font, size) > maxWidth) {
+                lines.add(line.toString());
+                line = new StringBuilder(word);
+            } else {
+                line = new StringBuilder(candidate);
+            }
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Top-down cursor over the document that starts a new page when the next line would cross the bottom margin.
+     */
+    private static final class PageWriter {
+        private final PDDocument document;
+        private final PDFont regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        private final PDFont bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        private final PDImageXObject logo;
+        private final PDImageXObject principalSignature;
+        private final PDImageXObject classTeacherSignature;
+        private PDPageContentStream content;
+        private float y;
+
+        PageWriter(PDDocument document, Assets assets) throws IOException {
+            this.document = document;
+            this.logo = image(assets.schoolLogo(), "logo");
+            this.principalSignature = image(assets.principalSignature(), "principal");
+            this.classTeacherSignature = image(assets.classTeacherSignature(), "class-teacher");
+            newPage();
+        }
+
+        private PDImageXObject image(byte[] bytes, String name) {
+            if (bytes == null) {
+                return null;
+            }
+            try {
+                return PDImageXObject.createFromByteArray(document, bytes, name);
+            } catch (IOException | IllegalArgumentException e) {
+                // Unsupported or corrupt image: leave it off the card
+                return null;
+            }
+        }
+
+        private void newPage() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            y = page.getMediaBox().getHeight() - MARGIN;
+        }
+
+        private void ensureSpace(float height) throws IOException {
+            if (y - height < MARGIN + LINE) {
+                newPage();
+            }
+        }
+
+        void header(Assets assets) throws IOException {
+            if (logo != null) {
+                content.drawImage(logo, MARGIN, y - 60, 60, 60);
+            }
+            centered(assets.schoolName(), bold, 16);
+            if (assets.schoolAddress() != null) {
+                centered(assets.schoolAddress(), regular, 9);
+            }
+            if (assets.headerText() != null) {
+                centered(assets.headerText(), regular, 10);
+            }
+            y = Math.min(y, PDRectangle.A4.getHeight() - MARGIN - 64);
+            rule();
+            gap(6);
+        }
+
+        void centered(String text, PDFont font, float size) throws IOException {
+            String safeText = safe(text);
+            float x = (PDRectangle.A4.getWidth() - width(safeText, font, size)) / 2;
+            text(safeText, font, size, Math.max(MARGIN, x));
+        }
+
+        void text(String text, PDFont font, float size, float x) throws IOException {
+            ensureSpace(LINE);
+            y -= LINE;
+            show(safe(text), font, size, x, y);
+        }
+
+        void tableRow(PDFont font, String subject, String coursework, String exam, String total, String grade,
+                      String comment) throws IOException {
+            List<String> commentLines = wrap(comment, regular, 8, COMMENT_WIDTH);
+            ensureSpace(LINE * Math.max(1, commentLines.size()));
+            y -= LINE;
+            String[] cells = {safe(subject), coursework, exam, total, grade};
+            for (int i = 0; i < cells.length; i++) {
+                show(cells[i], font, 9, COLUMN_X[i], y);
+            }
+            if (font == bold) {
+                show(safe(comment), bold, 9, COLUMN_X[5], y);
+                return;
+            }
+            for (int i = 0; i < commentLines.size(); i++) {
+                if (i > 0) {
+                    y -= LINE - 4;
+                }
+                show(commentLines.get(i), regular, 8, COLUMN_X[5], y);
+            }
+        }
+
+        void rule() throws IOException {
+            y -= 4;
+            content.moveTo(MARGIN, y);
+            content.lineTo(PDRectangle.A4.getWidth() - MARGIN, y);
+            content.stroke();
+        }
+
+        void gap(float height) {
+            y -= height;
+        }
+
+        void signatures(Assets assets) throws IOException {
+            ensureSpace(70);
+            float top = y;
+            signature(classTeacherSignature, "Class teacher", assets.classTeacherName(), MARGIN, top);
+            signature(principalSignature, "Principal", assets.principalName(), 330, top);
+            y = top - 70;
+        }
+
+        private void signature(PDImageXObject image, String role, String name, float x, float top) throws IOException {
+            if (image != null) {
+                content.drawImage(image, x, top - 40, 120, 36);
+            }
+            content.moveTo(x, top - 44);
+            content.lineTo(x + 160, top - 44);
+            content.stroke();
+            show(role + (name != null ? ": " + safe(name) : ""), regular, 9, x, top - 56);
+        }
+
+        void finish(String footerText) throws IOException {
+            if (footerText != null) {
+                String safeText = safe(footerText);
+                float x = (PDRectangle.A4.getWidth() - width(safeText, regular, 8)) / 2;
+                show(safeText, regular, 8, Math.max(MARGIN, x), MARGIN / 2);
+            }
+            content.close();
+        }
+
+        private void show(String text, PDFont font, float size, float x, float baseline) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            content.newLineAtOffset(x, baseline);
+            content.showText(text);
+            content.endText();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.dto.ClassStatisticsDTO;
+import com.devtech.school_management_system.dto.SignatureDTO;
+import com.devtech.school_management_system.dto.StudentRankingDTO;
+import com.devtech.school_management_system.dto.StudentReportDTO;
+import com.devtech.school_management_system.entity.SchoolSettings;
+import com.devtech.school_management_system.enums.ImageVariant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Server-side report cards for a class and term. Report data, class positions, branding and signatures are
+ * loaded once per batch; cards are then rendered in parallel on a bounded fork-join pool and written to the
+ * output in class order, either merged into one PDF or as one PDF per student in a ZIP.
+ */
+@Service
+public class ReportCardService {
+
+    /**
+     * Everything needed to render a class without touching the database again.
+     */
+    public record ReportCardBatch(String form, String section, String term, String academicYear,
+                                  List<StudentReportDTO> reports, Map<Long, Integer> positions,
+                                  ReportCardRenderer.Assets assets) {
+    }
+
+    private final ReportService reportService;
+    private final ClassStatisticsService classStatisticsService;
+    private final SchoolSettingsService schoolSettingsService;
+    private final SignatureService signatureService;
+    private final ReportCardRenderer renderer;
+    private final ForkJoinPool pool;
+    private final String uploadDirectory;
+    private final Timer batchTimer;
+    private final Counter pageCounter;
+
+    public ReportCardService(ReportService reportService,
+                             ClassStatisticsService classStatisticsService,
+                             SchoolSettingsService schoolSettingsService,
+                             SignatureService signatureService,
+                             ReportCardRenderer renderer,
+                             MeterRegistry meterRegistry,
+                             @Value("${report.cards.parallelism:4}") int parallelism,
+                             @Value("${file.upload.directory:./uploads}") String uploadDirectory) {
+        this.reportService = reportService;
+        this.classStatisticsService = classStatisticsService;
+        this.schoolSettingsService = schoolSettingsService;
+        this.signatureService = signatureService;
+        this.renderer = renderer;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.uploadDirectory = uploadDirectory;
+        this.batchTimer = Timer.builder("report.cards.batch.latency")
+                .description("Time taken to render and write one class of report cards")
+                .register(meterRegistry);
+        this.pageCounter = Counter.builder("report.cards.pages").register(meterRegistry);
+    }
+
+    public ReportCardBatch prepare(String form, String section, String term, String academicYear, String username) {
+        List<StudentReportDTO> reports = reportService.getClassReports(form, section, term, academicYear, username);
+
+        ClassStatisticsDTO statistics = classStatisticsService.getClassStatistics(form, section, term, academicYear);
+        Map<Long, Integer> positions = new HashMap<>();
+        for (StudentRankingDTO ranking : statistics.getRankings()) {
+            positions.put(ranking.getStudentId(), ranking.getPosition());
+        }
+
+        SchoolSettings settings = schoolSettingsService.getSchoolSettings();
+        SignatureDTO principal = signatureService.getPrincipalSignature();
+        SignatureDTO classTeacher = signatureService.getClassTeacherSignature(form, section);
+        ReportCardRenderer.Assets assets = new ReportCardRenderer.Assets(
+                settings.getSchoolName(),
+                settings.getSchoolAddress(),
+                settings.getReportHeaderText(),
+                settings.getReportFooterText(),
+                settings.getPrincipalName() != null ? settings.getPrincipalName()
+                        : principal != null ? principal.getTeacherName() : null,
+                classTeacher != null ? classTeacher.getTeacherName() : null,
+                readUpload(settings.getSchoolLogoUrl()),
+                readUpload(settings.getPrincipalSignatureUrl() != null ? settings.getPrincipalSignatureUrl()
+                        : principal != null ? principal.getSignatureUrl() : null),
+                readUpload(classTeacher != null ? classTeacher.getSignatureUrl() : null));
+
+        return new ReportCardBatch(form, section, term, academicYear, reports, positions, assets);
+    }
+
+    /**
+     * Writes all cards of the batch as one multi-page PDF.
+     */
+    public void writePdf(ReportCardBatch batch, OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        List<ForkJoinTask<ReportCardRenderer.RenderedCard>> tasks = submitAll(batch);
+        int pages = 0;
+        try (PDDocument merged = new PDDocument(IOUtils.createMemoryOnlyStreamCache())) {
+            PDFMergerUtility merger = new PDFMergerUtility();
+            for (ForkJoinTask<ReportCardRenderer.RenderedCard> task : tasks) {
+                ReportCardRenderer.RenderedCard card = await(task, tasks);
+                try (PDDocument document = Loader.loadPDF(card.pdf())) {
+                    merger.appendDocument(merged, document);
+                }
+                pages += card.pageCount();
+            }
+            merged.save(outputStream);
+        }
+        record(batch, pages, start);
+    }
+
+    /**
+     * Writes one PDF per student into a ZIP, each entry as soon as it and every card before it are rendered.
+     */
+    public void writeZip(ReportCardBatch batch, OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        List<ForkJoinTask<ReportCardRenderer.RenderedCard>> tasks = submitAll(batch);
+        int pages = 0;
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        for (int i = 0; i < tasks.size(); i++) {
+            ReportCardRenderer.RenderedCard card = await(tasks.get(i), tasks);
+            StudentReportDTO report = batch.reports().get(i);
+            zip.putNextEntry(new ZipEntry(fileName(report) + ".pdf"));
+            zip.write(card.pdf());
+            zip.closeEntry();
+            pages += card.pageCount();
+        }
+        zip.finish();
+        record(batch, pages, start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private List<ForkJoinTask<ReportCardRenderer.RenderedCard>> submitAll(ReportCardBatch batch) {
+        int classSize = batch.positions().size();
+        List<ForkJoinTask<ReportCardRenderer.RenderedCard>> tasks = new ArrayList<>(batch.reports().size());
+        for (StudentReportDTO report : batch.reports()) {
+            Integer position = batch.positions().get(report.getStudentId());
+            tasks.add(pool.submit(() -> renderer.render(report, position, classSize, batch.assets())));
+        }
+        return tasks;
+    }
+
+    private ReportCardRenderer.RenderedCard await(ForkJoinTask<ReportCardRenderer.RenderedCard> task,
+                                                  List<ForkJoinTask<ReportCardRenderer.RenderedCard>> tasks)
+            throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            tasks.forEach(pending -> pending.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Report card rendering interrupted", e);
+        } catch (ExecutionException e) {
+            // The client gets a broken download either way; stop rendering the rest of the class
+            tasks.forEach(pending -> pending.cancel(true));
+            throw new IOException("Failed to render report card", e.getCause());
+        }
+    }
+
+    private void record(ReportCardBatch batch, int pages, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        pageCounter.increment(pages);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("Rendered %d report cards (%d pages) for %s %s %s %s in %d ms (%.1f pages/s)%n",
+                batch.reports().size(), pages, batch.form(), batch.section(), batch.term(), batch.academicYear(),
+                elapsedNanos / 1_000_000, seconds > 0 ? pages / seconds : 0.0);
+    }
+
+    private static String fileName(StudentReportDTO report) {
+        String name = report.getStudentId() + "_" + report.getStudentName();
+        return name.replaceAll("[^A-Za-z0-9_-]+", "_");
+    }
+
+    /**
+     * Reads an uploaded file from its public URL: school files under the upload directory, signatures under
+     * uploads/signatures. Prefers the report-card variant when one was generated at upload time. Returns null
+     * when the URL is empty or the file is missing.
+     */
+    private byte[] readUpload(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        Path base;
+        Path path;
+        if (url.startsWith("/api/uploads/")) {
+            base = Paths.get(uploadDirectory).toAbsolutePath().normalize();
+            path = base.resolve(url.substring("/api/uploads/".length())).normalize();
+        } else if (url.startsWith("/uploads/")) {
+            base = Paths.get("uploads").toAbsolutePath().normalize();
+            path = base.resolve(url.substring("/uploads/".length())).normalize();
+        } else {
+            return null;
+        }
+        if (!path.startsWith(base)) {
+            return null;
+        }
+        Path cardVariant = path.resolveSibling(ImageVariant.REPORT_CARD.fileName(path.getFileName().toString()));
+        if (Files.isReadable(cardVariant)) {
+            path = cardVariant;
+        }
+        try {
+            return Files.isReadable(path) ? Files.readAllBytes(path) : null;
+        } catch (IOException e) {
+            System.err.println("Could not read report card image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -2,13 +2,15 @@ package com.devtech.school_management_system.service;
 
 import com.devtech.school_management_system.dto.*;
 import com.devtech.school_management_system.entity.*;
+import com.devtech.school_management_system.event.MarksChangedEvent;
 import com.devtech.school_management_system.repository.*;
 import com.devtech.school_management_system.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,60 +18,101 @@ import java.util.stream.Collectors;
 public class ReportService {
 
     private final StudentRepository studentRepository;
-    private final AssessmentRepository assessmentRepository;
     private final TeacherRepository teacherRepository;
     private final StudentSubjectRepository studentSubjectRepository;
     private final ReportRepository reportRepository;
     private final SubjectReportRepository subjectReportRepository;
     private final SubjectRepository subjectRepository;
+    private final SubjectMarkService subjectMarkService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ReportService(StudentRepository studentRepository,
-                        AssessmentRepository assessmentRepository,
                         TeacherRepository teacherRepository,
                         StudentSubjectRepository studentSubjectRepository,
                         ReportRepository reportRepository,
                         SubjectReportRepository subjectReportRepository,
-                        SubjectRepository subjectRepository) {
+                        SubjectRepository subjectRepository,
+                        SubjectMarkService subjectMarkService,
+                        ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
-        this.assessmentRepository = assessmentRepository;
         this.teacherRepository = teacherRepository;
         this.studentSubjectRepository = studentSubjectRepository;
         this.reportRepository = reportRepository;
         this.subjectReportRepository = subjectReportRepository;
         this.subjectRepository = subjectRepository;
+        this.subjectMarkService = subjectMarkService;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<StudentReportDTO> getClassReports(String form, String section, String term, String year, String username) {
         // Get all students in the class
         List<Student> students = studentRepository.findByFormAndSectionAndYear(form, section, year);
         
-        return students.stream()
-                .map(student -> createStudentReportDTO(student, term, year))
-                .collect(Collectors.toList());
+        return createStudentReportDTOs(students, term, year);
     }
 
     public List<StudentReportDTO> getSubjectReports(Long subjectId, String form, String section, String term, String year, String username) {
         // Get all students in the class
         List<Student> students = studentRepository.findByFormAndSectionAndYear(form, section, year);
         
+        return createStudentReportDTOs(students, term, year);
+    }
+
+    /**
+     * Builds report DTOs for a whole class with a fixed number of queries: one for existing reports,
+     * one batch insert plus reload for missing ones, one for subject reports and one for student subjects.
+     */
+    private List<StudentReportDTO> createStudentReportDTOs(List<Student> students, String term, String year) {
+        if (students.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Set<Long> studentIds = students.stream().map(Student::getId).collect(Collectors.toSet());
+        
+        // Find or create reports for every student, term, and year
+        Map<Long, Report> reportsByStudentId = new HashMap<>();
+        for (Report report : reportRepository.findByStudentIdInAndTermAndAcademicYear(studentIds, term, year)) {
+            reportsByStudentId.put(report.getStudent().getId(), report);
+        }
+        
+        Set<Long> missingStudentIds = new HashSet<>(studentIds);
+        missingStudentIds.removeAll(reportsByStudentId.keySet());
+        if (!missingStudentIds.isEmpty()) {
+            reportRepository.batchInsertEmptyReports(missingStudentIds, term, year);
+            for (Report report : reportRepository.findByStudentIdInAndTermAndAcademicYear(missingStudentIds, term, year)) {
+                reportsByStudentId.put(report.getStudent().getId(), report);
+            }
+        }
+        
+        Set<Long> reportIds = reportsByStudentId.values().stream().map(Report::getId).collect(Collectors.toSet());
+        Map<Long, List<SubjectReport>> subjectReportsByReportId = subjectReportRepository
+                .findByReportIdInWithSubjectAndTeacher(reportIds).stream()
+                .collect(Collectors.groupingBy(sr -> sr.getReport().getId()));
+        
+        // Fallback to StudentSubject relationships for students whose report has no subject reports yet
+        Set<Long> studentIdsWithoutSubjectReports = reportsByStudentId.entrySet().stream()
+                .filter(entry -> !subjectReportsByReportId.containsKey(entry.getValue().getId()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        Map<Long, List<StudentSubject>> studentSubjectsByStudentId = studentIdsWithoutSubjectReports.isEmpty()
+                ? new HashMap<>()
+                : studentSubjectRepository.findByStudentIdInWithSubject(studentIdsWithoutSubjectReports).stream()
+                        .collect(Collectors.groupingBy(ss -> ss.getStudent().getId()));
+        
         return students.stream()
-                .map(student -> createStudentReportDTO(student, term, year))
+                .map(student -> {
+                    Report report = reportsByStudentId.get(student.getId());
+                    return createStudentReportDTO(student, report, term, year,
+                            subjectReportsByReportId.getOrDefault(report.getId(), Collections.emptyList()),
+                            studentSubjectsByStudentId.getOrDefault(student.getId(), Collections.emptyList()));
+                })
                 .collect(Collectors.toList());
     }
 
-    private StudentReportDTO createStudentReportDTO(Student student, String term, String year) {
-        // Find or create report for this student, term, and year
-        Report report = reportRepository.findByStudentIdAndTermAndAcademicYear(student.getId(), term, year)
-                .orElseGet(() -> {
-                    Report newReport = new Report();
-                    newReport.setStudent(student);
-                    newReport.setTerm(term);
-                    newReport.setAcademicYear(year);
-                    newReport.setFinalized(false);
-                    return reportRepository.save(newReport);
-                });
-        
+    private StudentReportDTO createStudentReportDTO(Student student, Report report, String term, String year,
+                                                    List<SubjectReport> existingSubjectReports,
+                                                    List<StudentSubject> studentSubjects) {
         StudentReportDTO dto = new StudentReportDTO();
         dto.setId(report.getId()); // Set the actual report ID
         dto.setStudentId(student.getId());
@@ -81,15 +124,11 @@ public class ReportService {
         dto.setFinalized(report.isFinalized());
         dto.setOverallComment(report.getOverallComment());
         
-        // Find existing report for this student, term, and year
-        Report existingReport = reportRepository.findByStudentIdAndTermAndAcademicYear(student.getId(), term, year)
-                .orElse(null);
-        
         List<SubjectReportDTO> subjectReports;
         
-        if (existingReport != null && !existingReport.getSubjectReports().isEmpty()) {
+        if (!existingSubjectReports.isEmpty()) {
             // Use existing subject reports with comments
-            subjectReports = existingReport.getSubjectReports().stream()
+            subjectReports = existingSubjectReports.stream()
                     .map(subjectReport -> {
                         SubjectReportDTO subjectDto = new SubjectReportDTO();
                         subjectDto.setId(subjectReport.getId());
@@ -107,7 +146,6 @@ public class ReportService {
                     .collect(Collectors.toList());
         } else {
             // Fallback to StudentSubject relationships if no report exists
-            List<StudentSubject> studentSubjects = studentSubjectRepository.findByStudentId(student.getId());
             subjectReports = studentSubjects.stream()
                     .map(studentSubject -> {
                         Subject subject = studentSubject.getSubject();
@@ -144,59 +182,10 @@ public class ReportService {
                     newSubjectReport.setReport(report);
                     newSubjectReport.setSubject(subject);
                     
-                    // Calculate and set marks from assessments
-                    try {
-                        List<Assessment> assessments = assessmentRepository.findByStudentSubjectTermAndYear(
-                                report.getStudent().getId(), subject.getId(), report.getTerm(), report.getAcademicYear());
-                        
-                        double courseworkTotal = 0, examTotal = 0;
-                        int courseworkCount = 0, examCount = 0;
-                        
-                        for (Assessment assessment : assessments) {
-                            double percentage = (assessment.getScore() / assessment.getMaxScore()) * 100;
-                            if ("COURSEWORK".equals(assessment.getType().name())) {
-                                courseworkTotal += percentage;
-                                courseworkCount++;
-                            } else if ("FINAL_EXAM".equals(assessment.getType().name())) {
-                                examTotal += percentage;
-                                examCount++;
-                            }
-                        }
-                        
-                        if (courseworkCount > 0) {
-                            newSubjectReport.setCourseworkMark(courseworkTotal / courseworkCount);
-                        }
-                        if (examCount > 0) {
-                            newSubjectReport.setExamMark(examTotal / examCount);
-                        }
-                        
-                        // Calculate total mark
-                        double totalMark = 0;
-                        if (newSubjectReport.getCourseworkMark() != null && newSubjectReport.getExamMark() != null) {
-                            totalMark = (newSubjectReport.getCourseworkMark() * 0.4) + (newSubjectReport.getExamMark() * 0.6);
-                        } else if (newSubjectReport.getCourseworkMark() != null) {
-                            totalMark = newSubjectReport.getCourseworkMark();
-                        } else if (newSubjectReport.getExamMark() != null) {
-                            totalMark = newSubjectReport.getExamMark();
-                        }
-                        
-                        newSubjectReport.setTotalMark(totalMark);
-                        
-                        // Set grade based on total mark
-                        if (totalMark >= 75) newSubjectReport.setGrade("A");
-                        else if (totalMark >= 60) newSubjectReport.setGrade("B");
-                        else if (totalMark >= 50) newSubjectReport.setGrade("C");
-                        else if (totalMark >= 40) newSubjectReport.setGrade("D");
-                        else if (totalMark >= 30) newSubjectReport.setGrade("E");
-                        else newSubjectReport.setGrade("U");
-                        
-                    } catch (Exception e) {
-                        // If error calculating marks, set defaults
-                        newSubjectReport.setCourseworkMark(0.0);
-                        newSubjectReport.setExamMark(0.0);
-                        newSubjectReport.setTotalMark(0.0);
-                        newSubjectReport.setGrade("N/A");
-                    }
+                    // Marks come from the subject's accumulators and follow later assessment changes
+                    subjectMarkService.getMarks(report.getStudent().getId(), subject.getId(),
+                            report.getTerm(), report.getAcademicYear()).applyTo(newSubjectReport);
+                    eventPublisher.publishEvent(new MarksChangedEvent(report.getTerm(), report.getAcademicYear()));
                     
                     report.getSubjectReports().add(newSubjectReport);
                     return newSubjectReport;
@@ -4,19 +4,19 @@ import com.devtech.school_management_system.dto.SchoolConfigDTO;
 import com.devtech.school_management_system.entity.School;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.SchoolRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class SchoolServiceImpl implements SchoolService {
@@ -24,12 +24,38 @@ public class SchoolServiceImpl implements SchoolService {
     @Autowired
     private SchoolRepository schoolRepository;
 
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+
     @Value("${file.upload.directory:./uploads}")
     private String uploadDirectory;
 
+    // Published once configuration is known; read on every request by SchoolConfigurationFilter
+    private final AtomicBoolean configured = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void loadConfiguredFlag() {
+        refreshConfiguredFlag();
+    }
+
+    /**
+     * Re-reads the configured state from the database. Runs periodically only while this instance still
+     * believes the school is unconfigured, so an instance picks up a setup performed on another node.
+     * Configuration is never undone, so once the flag is set there is nothing left to refresh.
+     */
+    @Scheduled(fixedDelayString = "${school.config.refresh-interval:30s}")
+    public void refreshConfiguredFlag() {
+        if (!configured.get() && schoolRepository.existsByConfiguredTrue()) {
+            configured.set(true);
+        }
+    }
+
     @Override
     public boolean isSchoolConfigured() {
-        return schoolRepository.findAll().stream().anyMatch(School::isConfigured);
+        return configured.get();
     }
     @Override
     public School getSchoolConfiguration() {
@@ -42,7 +68,9 @@ public class SchoolServiceImpl implements SchoolService {
     }
 
     public School setupSchool(SchoolConfigDTO schoolConfigDTO, MultipartFile logo, MultipartFile background, MultipartFile ministryLogo) throws IOException {
-        if (isSchoolConfigured()) {
+        // Check the database rather than the flag, which may lag behind another instance
+        if (schoolRepository.existsByConfiguredTrue()) {
+            configured.set(true);
             throw new IllegalStateException("School is already configured");
         }
 
@@ -64,7 +92,9 @@ public class SchoolServiceImpl implements SchoolService {
             school.setMinistryLogoPath(ministryLogoPath);
         }
 
-        return schoolRepository.save(school);
+        School savedSchool = schoolRepository.save(school);
+        configured.set(savedSchool.isConfigured());
+        return savedSchool;
     }
 
     @Override
@@ -105,7 +135,12 @@ public class SchoolServiceImpl implements SchoolService {
             school.setMinistryLogoPath(ministryLogoPath);
         }
 
-        return schoolRepository.save(school);
+        School savedSchool = schoolRepository.save(school);
+        referenceDataCacheService.evictAfterCommit(School.class);
+        if (savedSchool.isConfigured()) {
+            configured.set(true);
+        }
+        return savedSchool;
     }
 
     private void mapDTOToEntity(SchoolConfigDTO dto, School school) {
@@ -122,28 +157,17 @@ public class SchoolServiceImpl implements SchoolService {
 
     private String saveFile(MultipartFile file, String prefix) throws IOException {
         String fileName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
-        String uniqueFileName = prefix + "_" + UUID.randomUUID().toString() + "_" + fileName;
+        String stem = StringUtils.stripFilenameExtension(StringUtils.getFilename(fileName));
+        String baseName = prefix + "_" + UUID.randomUUID().toString() + "_" + stem;
 
-        Path uploadPath = Paths.get(uploadDirectory);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        Path filePath = uploadPath.resolve(uniqueFileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        return "/api/uploads/" + uniqueFileName;
+        ImageUploadService.StoredImage stored = imageUploadService.store(file, Paths.get(uploadDirectory), baseName);
+        return "/api/uploads/" + stored.fileName();
     }
 
     private void deleteFile(String filePath) {
-        try {
-            if (filePath != null && filePath.startsWith("/api/uploads/")) {
-                String fileName = filePath.substring("/api/uploads/".length());
-                Path path = Paths.get(uploadDirectory, fileName);
-                Files.deleteIfExists(path);
-            }
-        } catch (IOException e) {
-            // Ignore file deletion errors
+        if (filePath != null && filePath.startsWith("/api/uploads/")) {
+            String fileName = filePath.substring("/api/uploads/".length());
+            imageUploadService.delete(Paths.get(uploadDirectory), fileName);
         }
     }
 }
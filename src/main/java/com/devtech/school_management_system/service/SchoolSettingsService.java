@@ -11,10 +11,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class SchoolSettingsService {
 
     private final SchoolSettingsRepository schoolSettingsRepository;
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     @Autowired
-    public SchoolSettingsService(SchoolSettingsRepository schoolSettingsRepository) {
+    public SchoolSettingsService(SchoolSettingsRepository schoolSettingsRepository,
+                                 ReferenceDataCacheService referenceDataCacheService) {
         this.schoolSettingsRepository = schoolSettingsRepository;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     public SchoolSettings getSchoolSettings() {
@@ -43,6 +46,7 @@ public class SchoolSettingsService {
         existingSettings.setReportHeaderText(updatedSettings.getReportHeaderText());
         existingSettings.setReportFooterText(updatedSettings.getReportFooterText());
         
+        referenceDataCacheService.evictAfterCommit(SchoolSettings.class);
         return schoolSettingsRepository.save(existingSettings);
     }
 }
\ No newline at end of file
@@ -13,9 +13,12 @@ import java.util.List;
 public class SectionService {
     
     private final SectionRepository sectionRepository;
+    private final ReferenceDataCacheService referenceDataCacheService;
 
-    public SectionService(SectionRepository sectionRepository) {
+    public SectionService(SectionRepository sectionRepository,
+                          ReferenceDataCacheService referenceDataCacheService) {
         this.sectionRepository = sectionRepository;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     public List<Section> getAllSections() {
@@ -50,6 +53,7 @@ public class SectionService {
         section.setDescription(sectionDetails.getDescription());
         section.setActive(sectionDetails.getActive());
         
+        referenceDataCacheService.evictAfterCommit(Section.class);
         return sectionRepository.save(section);
     }
 
@@ -57,5 +61,6 @@ public class SectionService {
         Section section = getSectionById(id);
         section.setActive(false);
         sectionRepository.save(section);
+        referenceDataCacheService.evictAfterCommit(Section.class);
     }
 }
\ No newline at end of file
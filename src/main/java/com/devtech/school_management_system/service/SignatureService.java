@@ -12,7 +12,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -23,15 +22,18 @@ public class SignatureService {
     private final TeacherRepository teacherRepository;
     private final TeacherSubjectClassRepository teacherSubjectClassRepository;
     private final UserRepository userRepository;
+    private final ImageUploadService imageUploadService;
     private final String uploadDir = "uploads/signatures/";
 
     @Autowired
     public SignatureService(TeacherRepository teacherRepository,
                            TeacherSubjectClassRepository teacherSubjectClassRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           ImageUploadService imageUploadService) {
         this.teacherRepository = teacherRepository;
         this.teacherSubjectClassRepository = teacherSubjectClassRepository;
         this.userRepository = userRepository;
+        this.imageUploadService = imageUploadService;
         
         // Create upload directory if it doesn't exist
         try {
@@ -67,18 +69,12 @@ public class SignatureService {
                 }
             }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null ? 
-                originalFilename.substring(originalFilename.lastIndexOf(".")) : ".png";
-            String filename = "signature_" + teacher.getId() + "_" + UUID.randomUUID() + extension;
-            
-            // Save file
-            Path filePath = Paths.get(uploadDir + filename);
-            Files.write(filePath, file.getBytes());
+            // Stream to disk under a unique name; the extension follows the detected image format
+            String baseName = "signature_" + teacher.getId() + "_" + UUID.randomUUID();
+            ImageUploadService.StoredImage stored = imageUploadService.store(file, Paths.get(uploadDir), baseName);
             
             // Update teacher signature URL
-            String signatureUrl = "/uploads/signatures/" + filename;
+            String signatureUrl = "/uploads/signatures/" + stored.fileName();
             teacher.setSignatureUrl(signatureUrl);
             teacherRepository.save(teacher);
             
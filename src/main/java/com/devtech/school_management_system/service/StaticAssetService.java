@@ -0,0 +1,363 @@
+package com.devtech.school_management_system.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves uploaded files (signatures, logos) with sniffed content types, strong ETags from a SHA-256 of the
+ * content, conditional GET, single byte ranges and long-lived caching headers. Small files are kept in an
+ * in-heap LRU bounded by a byte budget; larger ones are sent with Tomcat sendfile when the connector supports it
+ * and with {@link FileChannel#transferTo} otherwise. Entries are revalidated against file size and modification
+ * time on every request, so a replaced file is never served stale.
+ */
+@Service
+public class StaticAssetService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Hash and type of files too large for the content cache, so they are hashed once per version
+    private static final int MAX_METADATA_ENTRIES = 4096;
+
+    private record AssetMetadata(long size, long lastModified, String etag, String contentType) {
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+
+    private record CachedAsset(AssetMetadata metadata, byte[] content) {
+    }
+
+    private record ByteRange(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    private final long cacheBudgetBytes;
+    private final long maxCachedFileBytes;
+    private final String cacheControl;
+
+    private final LinkedHashMap<Path, CachedAsset> contentCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes = 0;
+
+    private final Map<Path, AssetMetadata> metadataCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, AssetMetadata> eldest) {
+            return size() > MAX_METADATA_ENTRIES;
+        }
+    };
+
+    public StaticAssetService(@Value("${assets.cache.max-size:8MB}") DataSize cacheBudget,
+                              @Value("${assets.cache.max-file-size:256KB}") DataSize maxCachedFileSize,
+                              @Value("${assets.cache-control:public, max-age=86400}") String cacheControl) {
+        this.cacheBudgetBytes = cacheBudget.toBytes();
+        this.maxCachedFileBytes = Math.min(maxCachedFileSize.toBytes(), cacheBudget.toBytes());
+        this.cacheControl = cacheControl;
+    }
+
+    /**
+     * Writes the file at {@code relativePath} under {@code baseDirectory} to the response, answering 404 for
+     * missing files or paths that escape the directory, 304 when the client copy is current and 206/416 for
+     * range requests.
+     */
+    public void serve(Path baseDirectory, String relativePath, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        Path base = baseDirectory.toAbsolutePath().normalize();
+        Path path = base.resolve(relativePath).normalize();
+        if (!path.startsWith(base) || !Files.isRegularFile(path) || !Files.isReadable(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        CachedAsset cached = cachedContent(path, attributes);
+        AssetMetadata metadata = cached != null ? cached.metadata() : null;
+        if (metadata == null) {
+            if (attributes.size() <= maxCachedFileBytes) {
+                cached = loadIntoCache(path, attributes);
+                metadata = cached.metadata();
+            } else {
+                metadata = metadata(path, attributes);
+            }
+        }
+
+        response.setHeader(HttpHeaders.ETAG, metadata.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, metadata.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        // Uploaded SVGs or HTML must never run script when opened directly
+        response.setHeader("Content-Security-Policy", "default-src 'none'; style-src 'unsafe-inline'; sandbox");
+
+        if (notModified(request, metadata)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(metadata.contentType());
+        String fileName = path.getFileName().toString().replace('"', '_');
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
+
+        long size = metadata.size();
+        ByteRange range = new ByteRange(0, size - 1);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && size > 0 && rangeApplies(request, metadata)) {
+            ByteRange requested = parseRange(rangeHeader, size);
+            if (requested == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (requested.length() < size) {
+                range = requested;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + range.end() + "/" + size);
+            }
+        }
+        response.setContentLengthLong(size > 0 ? range.length() : 0);
+
+        if ("HEAD".equals(request.getMethod()) || size == 0) {
+            return;
+        }
+        if (cached != null) {
+            response.getOutputStream().write(cached.content(), (int) range.start(), (int) range.length());
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+        } else {
+            transfer(path, range, response.getOutputStream());
+        }
+    }
+
+    private boolean notModified(HttpServletRequest request, AssetMetadata metadata) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(metadata.etag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && metadata.lastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // If-Range: serve the range only while the client's validator still identifies this version
+    private boolean rangeApplies(HttpServletRequest request, AssetMetadata metadata) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(metadata.etag());
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && metadata.lastModified() / 1000 <= date / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses a single-range "bytes=" header. Multiple ranges and malformed headers fall back to the full body;
+     * null means the range lies outside the file.
+     */
+    private static ByteRange parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new ByteRange(0, size - 1);
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new ByteRange(0, size - 1);
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size || end < start) {
+                return null;
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return new ByteRange(0, size - 1);
+        }
+    }
+
+    private static void transfer(Path path, ByteRange range, OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private synchronized CachedAsset cachedContent(Path path, BasicFileAttributes attributes) {
+        CachedAsset cached = contentCache.get(path);
+        if (cached != null && !cached.metadata().matches(attributes)) {
+            contentCache.remove(path);
+            cachedBytes -= cached.content().length;
+            return null;
+        }
+        return cached;
+    }
+
+    private CachedAsset loadIntoCache(Path path, BasicFileAttributes attributes) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        AssetMetadata metadata = new AssetMetadata(content.length, attributes.lastModifiedTime().toMillis(),
+                etag(sha256().digest(content)), contentType(path, content, content.length));
+        CachedAsset cached = new CachedAsset(metadata, content);
+
+        synchronized (this) {
+            CachedAsset previous = contentCache.put(path, cached);
+            if (previous != null) {
+                cachedBytes -= previous.content().length;
+            }
+            cachedBytes += content.length;
+            var eldest = contentCache.entrySet().iterator();
+            while (cachedBytes > cacheBudgetBytes && eldest.hasNext()) {
+                CachedAsset evicted = eldest.next().getValue();
+                eldest.remove();
+                cachedBytes -= evicted.content().length;
+            }
+        }
+        return cached;
+    }
+
+    private AssetMetadata metadata(Path path, BasicFileAttributes attributes) throws IOException {
+        synchronized (this) {
+            AssetMetadata known = metadataCache.get(path);
+            if (known != null && known.matches(attributes)) {
+                return known;
+            }
+        }
+
+        MessageDigest digest = sha256();
+        byte[] head = new byte[16];
+        int headLength = 0;
+        try (InputStream input = Files.newInputStream(path)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                if (headLength < head.length) {
+                    int copied = Math.min(head.length - headLength, read);
+                    System.arraycopy(buffer, 0, head, headLength, copied);
+                    headLength += copied;
+                }
+                digest.update(ByteBuffer.wrap(buffer, 0, read));
+            }
+        }
+        AssetMetadata metadata = new AssetMetadata(attributes.size(), attributes.lastModifiedTime().toMillis(),
+                etag(digest.digest()), contentType(path, head, headLength));
+        synchronized (this) {
+            metadataCache.put(path, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Content type from the leading magic bytes, falling back to the file extension for formats without one.
+     */
+    private static String contentType(Path path, byte[] head, int length) {
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (startsWith(head, length, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        if (length >= 12 && startsWith(head, length, 'R', 'I', 'F', 'F')
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        if (startsWith(head, length, '%', 'P', 'D', 'F')) {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+        String name = path.getFileName().toString().toLowerCase();
+        if (name.endsWith(".svg")) {
+            return "image/svg+xml";
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String etag(byte[] hash) {
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
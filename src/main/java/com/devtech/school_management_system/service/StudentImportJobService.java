@@ -0,0 +1,216 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.dto.StudentImportJobDTO;
+import com.devtech.school_management_system.entity.StudentImportJob;
+import com.devtech.school_management_system.entity.StudentImportRow;
+import com.devtech.school_management_system.enums.ImportJobStatus;
+import com.devtech.school_management_system.enums.ImportRowStatus;
+import com.devtech.school_management_system.exception.ResourceNotFoundException;
+import com.devtech.school_management_system.repository.StudentImportJobRepository;
+import com.devtech.school_management_system.repository.StudentImportRowRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs student imports in the background. An upload is copied to a temp file and queued, and the request returns
+ * the job id at once; at most {@code student.import.workers} imports run together, with up to
+ * {@code student.import.queue-capacity} waiting. Progress is read back from the job row. Each instance keeps the
+ * heartbeat of its own open jobs fresh, and any instance fails open jobs whose heartbeat has gone stale.
+ */
+@Service
+public class StudentImportJobService {
+
+    private final StudentImportService studentImportService;
+    private final StudentImportJobRepository importJobRepository;
+    private final StudentImportRowRepository importRowRepository;
+    private final ThreadPoolExecutor executor;
+    private final Duration staleAfter;
+
+    // Jobs queued or running in this instance, whose heartbeats it refreshes
+    private final Set<Long> openJobIds = ConcurrentHashMap.newKeySet();
+
+    public StudentImportJobService(StudentImportService studentImportService,
+                                   StudentImportJobRepository importJobRepository,
+                                   StudentImportRowRepository importRowRepository,
+                                   @Value("${student.import.workers:2}") int workers,
+                                   @Value("${student.import.queue-capacity:20}") int queueCapacity,
+                                   @Value("${student.import.stale-after:5m}") Duration staleAfter) {
+        this.studentImportService = studentImportService;
+        this.importJobRepository = importJobRepository;
+        this.importRowRepository = importRowRepository;
+        this.staleAfter = staleAfter;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "student-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public StudentImportJobDTO submit(MultipartFile file, String username) throws IOException {
+        Path upload = Files.createTempFile("student-import-", ".xlsx");
+        try {
+            file.transferTo(upload);
+        } catch (IOException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+
+        StudentImportJob job = importJobRepository.save(new StudentImportJob(file.getOriginalFilename(), username));
+        openJobIds.add(job.getId());
+        try {
+            executor.execute(() -> run(job.getId(), upload));
+        } catch (RejectedExecutionException e) {
+            openJobIds.remove(job.getId());
+            Files.deleteIfExists(upload);
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setMessage("Import queue is full, try again later");
+            job.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            throw new RuntimeException("Import queue is full, try again later");
+        }
+        return toDTO(job);
+    }
+
+    public StudentImportJobDTO getJob(Long jobId) {
+        return toDTO(findJob(jobId));
+    }
+
+    public Page<StudentImportRow> getRows(Long jobId, ImportRowStatus status, Pageable pageable) {
+        findJob(jobId);
+        if (status == null) {
+            return importRowRepository.findByJobIdOrderByRowNumber(jobId, pageable);
+        }
+        return importRowRepository.findByJobIdAndStatusOrderByRowNumber(jobId, status, pageable);
+    }
+
+    @Scheduled(fixedDelayString = "${student.import.heartbeat-interval:30s}")
+    @Transactional
+    public void refreshHeartbeats() {
+        if (!openJobIds.isEmpty()) {
+            importJobRepository.touchHeartbeats(List.copyOf(openJobIds), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Jobs run from temp files that do not survive their instance, so an open job whose heartbeat is older than
+     * {@code student.import.stale-after} belongs to an instance that stopped or restarted. Jobs of instances
+     * that are still running keep a fresh heartbeat and are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${student.import.stale-check-interval:1m}")
+    @Transactional
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int interrupted = importJobRepository.failStaleJobs(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING), ImportJobStatus.FAILED,
+                "Interrupted: the instance running the import stopped", now.minus(staleAfter), now);
+        if (interrupted > 0) {
+            System.out.println("Marked " + interrupted + " interrupted student import jobs as failed");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Long jobId, Path upload) {
+        try {
+            StudentImportJob job = findJob(jobId);
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setTotalRows(studentImportService.countDataRows(upload));
+            importJobRepository.save(job);
+
+            studentImportService.importStudents(jobId, upload);
+            finish(jobId, ImportJobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            System.err.println("Student import job " + jobId + " failed: " + e.getMessage());
+            finish(jobId, ImportJobStatus.FAILED, "Import failed: " + e.getMessage());
+        } finally {
+            openJobIds.remove(jobId);
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                System.err.println("Could not delete import file " + upload + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void finish(Long jobId, ImportJobStatus status, String message) {
+        // Reload: the counters were advanced by bulk updates while the job ran
+        StudentImportJob job = findJob(jobId);
+        job.setStatus(status);
+        job.setMessage(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+        job.setFinishedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+    }
+
+    private StudentImportJob findJob(Long jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id: " + jobId));
+    }
+
+    private StudentImportJobDTO toDTO(StudentImportJob job) {
+        StudentImportJobDTO dto = new StudentImportJobDTO();
+        dto.setJobId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setFileName(job.getFileName());
+        dto.setTotalRows(job.getTotalRows());
+        dto.setProcessedRows(job.getProcessedRows());
+        dto.setSuccessfulImports(job.getSuccessfulImports());
+        dto.setErrorCount(job.getErrorCount());
+        dto.setMessage(job.getMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            double elapsedSeconds = Math.max(Duration.between(job.getStartedAt(), end).toMillis(), 1) / 1000.0;
+            double rowsPerSecond = job.getProcessedRows() / elapsedSeconds;
+            dto.setRowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0);
+            if (job.getStatus() == ImportJobStatus.RUNNING && rowsPerSecond > 0) {
+                int remaining = Math.max(job.getTotalRows() - job.getProcessedRows(), 0);
+                dto.setEtaSeconds((long) Math.ceil(remaining / rowsPerSecond));
+            }
+        }
+
+        if (job.getErrorCount() > 0) {
+            dto.setFirstErrors(importRowRepository
+                    .findTop20ByJobIdAndStatusOrderByRowNumber(job.getId(), ImportRowStatus.FAILED).stream()
+                    .map(row -> "Row " + row.getRowNumber() + ": " + row.getMessage())
+                    .collect(Collectors.toList()));
+        } else {
+            dto.setFirstErrors(List.of());
+        }
+        return dto;
+    }
+}
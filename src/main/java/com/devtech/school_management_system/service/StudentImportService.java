@@ -1,31 +1,58 @@
 package com.devtech.school_management_system.service;
 
+import com.devtech.school_management_system.entity.Guardian;
 import com.devtech.school_management_system.entity.Section;
 import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.entity.StudentImportRow;
+import com.devtech.school_management_system.enums.ImportRowStatus;
+import com.devtech.school_management_system.event.StudentChangedEvent;
+import com.devtech.school_management_system.repository.GuardianRepository;
 import com.devtech.school_management_system.repository.SectionRepository;
+import com.devtech.school_management_system.repository.StudentImportJobRepository;
+import com.devtech.school_management_system.repository.StudentImportRowRepository;
 import com.devtech.school_management_system.repository.StudentRepository;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
 
 @Service
 public class StudentImportService {
 
+    private static final int IMPORT_COLUMNS = 15;
+    private static final int IMPORT_BATCH_SIZE = 500;
+
     @Autowired
     private StudentRepository studentRepository;
     
     @Autowired
     private SectionRepository sectionRepository;
 
+    @Autowired
+    private GuardianRepository guardianRepository;
+
+    @Autowired
+    private StudentImportJobRepository importJobRepository;
+
+    @Autowired
+    private StudentImportRowRepository importRowRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Resource generateTemplate() throws IOException {
         Workbook workbook = new XSSFWorkbook();
         Sheet sheet = workbook.createSheet("Students");
@@ -85,7 +112,8 @@ public class StudentImportService {
             "Notes:",
             "- Sections will be created automatically if they don't exist",
             "- Duplicate Student IDs will be skipped",
-            "- Guardian information is optional"
+            "- Guardian information is optional; Guardian Name and Guardian Phone go together",
+            "- Relationship defaults to 'Guardian' when left blank"
         };
 
         for (int i = 0; i < instructions.length; i++) {
@@ -100,51 +128,120 @@ public class StudentImportService {
         return new ByteArrayResource(outputStream.toByteArray());
     }
 
-    public Map<String, Object> importStudents(MultipartFile file) throws IOException {
-        Workbook workbook = new XSSFWorkbook(file.getInputStream());
-        Sheet sheet = workbook.getSheetAt(0);
+    int countDataRows(Path upload) throws IOException {
+        return Math.max(new StudentSheetReader(IMPORT_COLUMNS).countRows(upload) - 1, 0);
+    }
+
+    /**
+     * Streams the sheet row by row: each row is validated against student IDs and sections prefetched in one
+     * query each, and every chunk of IMPORT_BATCH_SIZE rows is written in one transaction - its students and
+     * guardians in JDBC batches, one status row per sheet row, and the job's progress counters. Memory use
+     * depends on the chunk size and the number of existing students, not on the size of the sheet.
+     */
+    void importStudents(Long jobId, Path upload) throws IOException {
+        ImportRun run = new ImportRun(jobId, new HashSet<>(studentRepository.findAllStudentIds()),
+                new HashSet<>(sectionRepository.findAllNames()));
+
+        new StudentSheetReader(IMPORT_COLUMNS).read(upload, run::accept);
+        run.flush();
+    }
+
+    private record ParsedRow(Student student, Guardian guardian) {
+    }
+
+    private class ImportRun {
 
-        List<String> errors = new ArrayList<>();
-        List<Student> successfulImports = new ArrayList<>();
-        int totalRows = sheet.getLastRowNum();
-        int processedRows = 0;
+        private final Long jobId;
+        private final Set<String> knownStudentIds;
+        private final Set<String> knownSections;
+        private final List<Student> students = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<Guardian> guardians = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<StudentImportRow> rowStatuses = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private int failedRows;
 
-        for (int i = 1; i <= totalRows; i++) { // Skip header row
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
+        ImportRun(Long jobId, Set<String> knownStudentIds, Set<String> knownSections) {
+            this.jobId = jobId;
+            this.knownStudentIds = knownStudentIds;
+            this.knownSections = knownSections;
+        }
+
+        void accept(int rowNumber, String[] values) {
+            if (rowNumber == 1 || Arrays.stream(values).allMatch(StudentImportService.this::isEmpty)) {
+                return; // Skip header and blank rows
+            }
 
             try {
-                Student student = processRow(row, i + 1);
-                if (student != null) {
-                    successfulImports.add(student);
+                ParsedRow parsed = validateRow(values, knownStudentIds, knownSections);
+                students.add(parsed.student());
+                if (parsed.guardian() != null) {
+                    guardians.add(parsed.guardian());
                 }
-                processedRows++;
-            } catch (Exception e) {
-                errors.add("Row " + (i + 1) + ": " + e.getMessage());
+                rowStatuses.add(new StudentImportRow(jobId, rowNumber, ImportRowStatus.IMPORTED,
+                        parsed.student().getStudentId(), null));
+            } catch (RuntimeException e) {
+                rowStatuses.add(new StudentImportRow(jobId, rowNumber, ImportRowStatus.FAILED,
+                        truncate(values[2], 64), truncate(e.getMessage(), 500)));
+                failedRows++;
             }
-        }
-
-        workbook.close();
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalRows", totalRows);
-        result.put("processedRows", processedRows);
-        result.put("successfulImports", successfulImports.size());
-        result.put("errors", errors);
-        result.put("students", successfulImports);
+            if (rowStatuses.size() >= IMPORT_BATCH_SIZE) {
+                flush();
+            }
+        }
 
-        return result;
+        void flush() {
+            if (rowStatuses.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    studentRepository.batchInsertStudents(students);
+                    guardianRepository.batchInsertGuardians(guardians);
+                    importRowRepository.batchInsertRows(rowStatuses);
+                    importJobRepository.addProgress(jobId, rowStatuses.size(), students.size(), failedRows);
+                    for (Student student : students) {
+                        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.ChangeType.CREATED,
+                                student.getId(), student.getStudentId(), student.getFirstName(), student.getLastName(),
+                                student.getForm(), student.getSection(), student.getAcademicYear()));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The chunk rolled back as a whole: record every row in it as failed
+                String message = truncate("Could not save student: " + e.getMessage(), 500);
+                for (StudentImportRow row : rowStatuses) {
+                    if (row.getStatus() == ImportRowStatus.IMPORTED) {
+                        knownStudentIds.remove(row.getStudentId());
+                        row.setStatus(ImportRowStatus.FAILED);
+                        row.setMessage(message);
+                    }
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    importRowRepository.batchInsertRows(rowStatuses);
+                    importJobRepository.addProgress(jobId, rowStatuses.size(), 0, rowStatuses.size());
+                });
+            } finally {
+                students.clear();
+                guardians.clear();
+                rowStatuses.clear();
+                failedRows = 0;
+            }
+        }
     }
 
-    private Student processRow(Row row, int rowNumber) {
+    private ParsedRow validateRow(String[] values, Set<String> knownStudentIds, Set<String> knownSections) {
         // Required fields
-        String firstName = getCellValue(row, 0);
-        String lastName = getCellValue(row, 1);
-        String studentId = getCellValue(row, 2);
-        String form = getCellValue(row, 3);
-        String sectionName = getCellValue(row, 4);
-        String level = getCellValue(row, 5);
-        String academicYear = getCellValue(row, 6);
+        String firstName = values[0];
+        String lastName = values[1];
+        String studentId = values[2];
+        String form = values[3];
+        String sectionName = values[4];
+        String level = values[5];
+        String academicYear = values[6];
+
+        // Optional guardian
+        String guardianName = values[12];
+        String guardianPhone = values[13];
+        String guardianRelationship = values[14];
 
         // Validate required fields
         if (isEmpty(firstName) || isEmpty(lastName) || isEmpty(studentId) || 
@@ -152,20 +249,24 @@ public class StudentImportService {
             throw new RuntimeException("Missing required fields");
         }
 
-        // Check for duplicate student ID
-        if (studentRepository.existsByStudentId(studentId)) {
+        if (isEmpty(guardianName) != isEmpty(guardianPhone)) {
+            throw new RuntimeException("Guardian Name and Guardian Phone must be given together");
+        }
+
+        // Check for duplicate student ID, against the database and earlier rows of this sheet
+        if (!knownStudentIds.add(studentId.trim())) {
             throw new RuntimeException("Student ID already exists: " + studentId);
         }
 
-        // Create or get section
-        Section section = sectionRepository.findByName(sectionName)
-                .orElseGet(() -> {
-                    Section newSection = new Section();
-                    newSection.setName(sectionName);
-                    newSection.setDescription("Section " + sectionName);
-                    newSection.setActive(true);
-                    return sectionRepository.save(newSection);
-                });
+        // Create section on first sight
+        if (!knownSections.contains(sectionName.trim())) {
+            Section newSection = new Section();
+            newSection.setName(sectionName.trim());
+            newSection.setDescription("Section " + sectionName.trim());
+            newSection.setActive(true);
+            sectionRepository.save(newSection);
+            knownSections.add(sectionName.trim());
+        }
 
         // Create student
         Student student = new Student();
@@ -180,21 +281,24 @@ public class StudentImportService {
         // Set enrollment date
         student.setEnrollmentDate(LocalDate.now());
 
-        return studentRepository.save(student);
+        Guardian guardian = null;
+        if (!isEmpty(guardianName)) {
+            guardian = new Guardian();
+            guardian.setStudent(student);
+            guardian.setName(guardianName.trim());
+            guardian.setPhoneNumber(guardianPhone.trim());
+            guardian.setRelationship(isEmpty(guardianRelationship) ? "Guardian" : guardianRelationship.trim());
+            guardian.setPrimaryGuardian(true);
+        }
+
+        return new ParsedRow(student, guardian);
     }
 
-    private String getCellValue(Row row, int cellIndex) {
-        Cell cell = row.getCell(cellIndex);
-        if (cell == null) return "";
-        
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                return String.valueOf((long) cell.getNumericCellValue());
-            default:
-                return "";
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
         }
+        return value.substring(0, maxLength);
     }
 
     private boolean isEmpty(String value) {
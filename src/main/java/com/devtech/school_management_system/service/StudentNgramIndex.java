@@ -0,0 +1,132 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.event.StudentChangedEvent;
+import com.devtech.school_management_system.repository.projection.StudentSearchRow;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process trigram index over the normalized student name and student ID, for type-ahead lookups without
+ * a database round trip. A query of three or more characters only verifies students sharing its rarest
+ * trigram; shorter queries scan every entry, which is still fast at school scale.
+ */
+public class StudentNgramIndex {
+
+    private record Entry(long id, String name, String studentId) {
+    }
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    public void load(List<StudentSearchRow> rows) {
+        entries.clear();
+        postings.clear();
+        for (StudentSearchRow row : rows) {
+            put(row.getId(), row.getSearchName(), row.getSearchStudentId());
+        }
+    }
+
+    public synchronized void apply(StudentChangedEvent event) {
+        remove(event.getId());
+        if (event.getChangeType() != StudentChangedEvent.ChangeType.DELETED) {
+            put(event.getId(),
+                    Student.normalizeForSearch(event.getFirstName() + " " + event.getLastName()),
+                    Student.normalizeForSearch(event.getStudentId()));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns matching student ids ranked like the database search: exact student ID, student ID prefix,
+     * name prefix, then any infix match, ties broken by name and id.
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        Collection<Entry> candidates;
+        if (query.length() < GRAM) {
+            candidates = entries.values();
+        } else {
+            Set<Long> rarest = null;
+            for (int i = 0; i + GRAM <= query.length(); i++) {
+                Set<Long> ids = postings.get(query.substring(i, i + GRAM));
+                if (ids == null) {
+                    return List.of();
+                }
+                if (rarest == null || ids.size() < rarest.size()) {
+                    rarest = ids;
+                }
+            }
+            candidates = new ArrayList<>(rarest.size());
+            for (Long id : rarest) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    candidates.add(entry);
+                }
+            }
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (entry.studentId().contains(query) || entry.name().contains(query)) {
+                matches.add(entry);
+            }
+        }
+
+        matches.sort(Comparator.<Entry>comparingInt(entry -> rank(entry, query))
+                .thenComparing(Entry::name)
+                .thenComparingLong(Entry::id));
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = offset; i < matches.size() && ids.size() < limit; i++) {
+            ids.add(matches.get(i).id());
+        }
+        return ids;
+    }
+
+    private static int rank(Entry entry, String query) {
+        if (entry.studentId().equals(query)) return 0;
+        if (entry.studentId().startsWith(query)) return 1;
+        if (entry.name().startsWith(query)) return 2;
+        return 3;
+    }
+
+    private void put(Long id, String name, String studentId) {
+        Entry entry = new Entry(id, name != null ? name : "", studentId != null ? studentId : "");
+        entries.put(id, entry);
+        for (String gram : grams(entry)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : grams(entry)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+
+    private static Set<String> grams(Entry entry) {
+        Set<String> grams = new HashSet<>();
+        addGrams(entry.name(), grams);
+        addGrams(entry.studentId(), grams);
+        return grams;
+    }
+
+    private static void addGrams(String value, Set<String> grams) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+    }
+}
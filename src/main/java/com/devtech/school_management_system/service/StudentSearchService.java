@@ -0,0 +1,104 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.event.StudentChangedEvent;
+import com.devtech.school_management_system.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Student look-up for the fee counter and admin tools. Searches the normalized search columns in the database
+ * by prefix, falling back to an infix scan only when {@code student.search.infix-fallback.enabled} is set and no
+ * prefix matches; or, when {@code student.search.ngram-index.enabled} is set, a warm in-process trigram index.
+ */
+@Service
+@Transactional
+public class StudentSearchService {
+
+    private final StudentRepository studentRepository;
+    private final StudentNgramIndex ngramIndex;
+    private final boolean infixFallbackEnabled;
+    private volatile boolean ngramIndexReady = false;
+
+    public StudentSearchService(StudentRepository studentRepository,
+                                @Value("${student.search.ngram-index.enabled:false}") boolean ngramIndexEnabled,
+                                @Value("${student.search.infix-fallback.enabled:true}") boolean infixFallbackEnabled) {
+        this.studentRepository = studentRepository;
+        this.ngramIndex = ngramIndexEnabled ? new StudentNgramIndex() : null;
+        this.infixFallbackEnabled = infixFallbackEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        int backfilled = studentRepository.backfillSearchColumns();
+        if (backfilled > 0) {
+            System.out.println("Backfilled search columns for " + backfilled + " students");
+        }
+        if (ngramIndex != null) {
+            ngramIndex.load(studentRepository.findAllSearchRows());
+            ngramIndexReady = true;
+            System.out.println("Student search index warmed with " + ngramIndex.size() + " students");
+        }
+    }
+
+    // Runs after commit and only touches the in-memory index, so it opts out of the class-level transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (ngramIndex != null) {
+            ngramIndex.apply(event);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Student> search(String query, int page, int size) {
+        String normalized = Student.normalizeForSearch(query);
+        if (normalized == null || normalized.isEmpty()) {
+            return List.of();
+        }
+
+        if (ngramIndexReady) {
+            List<Long> ids = ngramIndex.search(normalized, page * size, size);
+            Map<Long, Student> studentsById = studentRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Student::getId, Function.identity()));
+            return ids.stream()
+                    .map(studentsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        String pattern = escapeLike(normalized);
+        List<Student> matches = studentRepository.searchByNormalizedPrefix(normalized, pattern, PageRequest.of(page, size));
+        if (!matches.isEmpty() || !infixFallbackEnabled) {
+            return matches;
+        }
+        // Fall back only when no prefix matches at all, so the pages of one query never mix the two result sets
+        if (page > 0 && studentRepository.existsByNormalizedPrefix(pattern)) {
+            return matches;
+        }
+        return studentRepository.searchByNormalizedInfix(pattern, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Student> findByNameContaining(String name) {
+        String normalized = Student.normalizeForSearch(name);
+        if (normalized == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        return studentRepository.findBySearchNameContaining(escapeLike(normalized));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
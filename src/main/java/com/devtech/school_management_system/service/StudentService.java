@@ -4,15 +4,24 @@ import com.devtech.school_management_system.dto.StudentUpdateDTO;
 import com.devtech.school_management_system.dto.StudentSubjectAssignmentDTO;
 import com.devtech.school_management_system.dto.StudentRegistrationDTO;
 import com.devtech.school_management_system.dto.GuardianDTO;
+import com.devtech.school_management_system.dto.SubjectAssignmentResultDTO;
 import com.devtech.school_management_system.entity.*;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.*;
+import com.devtech.school_management_system.repository.projection.StudentListRow;
+import com.devtech.school_management_system.repository.projection.StudentSubjectPair;
+import com.devtech.school_management_system.util.LongHashSet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -20,6 +29,9 @@ import java.util.ArrayList;
 @Transactional
 public class StudentService {
 
+    // Student ids per existing-pair lookup, keeping the IN list well inside MySQL's packet limits
+    private static final int ASSIGNMENT_QUERY_CHUNK = 1000;
+
     private final StudentRepository studentRepository;
     private final ClassGroupRepository classGroupRepository;
     private final SubjectRepository subjectRepository;
@@ -29,6 +41,8 @@ public class StudentService {
     private final FeePaymentRepository feePaymentRepository;
     private final ReportRepository reportRepository;
     private final AttendanceRepository attendanceRepository;
+    private final MarkAccumulatorRepository markAccumulatorRepository;
+    private final PaymentRollupService paymentRollupService;
 
     @Autowired
     public StudentService(StudentRepository studentRepository,
@@ -39,7 +53,9 @@ public class StudentService {
                           AssessmentRepository assessmentRepository,
                           FeePaymentRepository feePaymentRepository,
                           ReportRepository reportRepository,
-                          AttendanceRepository attendanceRepository) {
+                          AttendanceRepository attendanceRepository,
+                          MarkAccumulatorRepository markAccumulatorRepository,
+                          PaymentRollupService paymentRollupService) {
         this.studentRepository = studentRepository;
         this.classGroupRepository = classGroupRepository;
         this.subjectRepository = subjectRepository;
@@ -49,12 +65,24 @@ public class StudentService {
         this.feePaymentRepository = feePaymentRepository;
         this.reportRepository = reportRepository;
         this.attendanceRepository = attendanceRepository;
+        this.markAccumulatorRepository = markAccumulatorRepository;
+        this.paymentRollupService = paymentRollupService;
     }
 
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Page<StudentListRow> getStudentsPage(Pageable pageable) {
+        return studentRepository.findListRows(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentListRow> getStudentsAfter(Long afterId, int size) {
+        return studentRepository.findListRowsAfter(afterId, PageRequest.of(0, size));
+    }
+
     public Student getStudentById(Long id) {
         return studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
@@ -149,7 +177,10 @@ public class StudentService {
         
         // Delete related records first to avoid foreign key constraint violations
         
-        // Delete fee payments
+        // Delete fee payments, taking them out of the daily rollup first
+        for (FeePayment payment : feePaymentRepository.findByStudentId(id)) {
+            paymentRollupService.paymentRemoved(payment);
+        }
         feePaymentRepository.deleteByStudentId(id);
         
         // Delete reports
@@ -161,6 +192,9 @@ public class StudentService {
         // Delete assessments (they depend on student-subject relationships)
         assessmentRepository.deleteByStudentId(id);
         
+        // Delete mark accumulators (keyed by student-subject relationship)
+        markAccumulatorRepository.deleteByStudentId(id);
+        
         // Delete student-subject assignments
         studentSubjectRepository.deleteByStudentId(id);
         
@@ -200,6 +234,7 @@ public class StudentService {
         StudentSubject studentSubject = studentSubjectRepository.findByStudentIdAndSubjectId(studentId, subjectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student-Subject assignment not found"));
 
+        markAccumulatorRepository.deleteByStudentSubjectId(studentSubject.getId());
         studentSubjectRepository.delete(studentSubject);
     }
 
@@ -249,39 +284,18 @@ public class StudentService {
     }
 
     @Transactional
-    public void bulkAssignSubjectsToClass(String form, String section, List<Long> subjectIds) {
+    public SubjectAssignmentResultDTO bulkAssignSubjectsToClass(String form, String section, List<Long> subjectIds) {
         List<Student> students = studentRepository.findByFormAndSection(form, section);
         
         if (students.isEmpty()) {
             throw new ResourceNotFoundException("No students found in class " + form + " " + section);
         }
         
-        for (Student student : students) {
-            for (Long subjectId : subjectIds) {
-                boolean alreadyAssigned = studentSubjectRepository
-                        .findByStudentIdAndSubjectId(student.getId(), subjectId)
-                        .isPresent();
-                
-                if (!alreadyAssigned) {
-                    Subject subject = subjectRepository.findById(subjectId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
-                    
-                    StudentSubject studentSubject = new StudentSubject();
-                    studentSubject.setStudent(student);
-                    studentSubject.setSubject(subject);
-                    studentSubject.setAcademicYear(student.getAcademicYear());
-                    studentSubject.setAssignedDate(LocalDateTime.now());
-                    studentSubject.setCreatedAt(LocalDateTime.now());
-                    studentSubject.setUpdatedAt(LocalDateTime.now());
-                    
-                    studentSubjectRepository.save(studentSubject);
-                }
-            }
-        }
+        return assignSubjects(students, findSubjects(subjectIds), null);
     }
 
     @Transactional
-    public List<StudentSubject> hybridAssignSubjects(StudentSubjectAssignmentDTO assignmentDTO) {
+    public SubjectAssignmentResultDTO hybridAssignSubjects(StudentSubjectAssignmentDTO assignmentDTO) {
         List<Student> targetStudents;
         
         // Determine target students based on assignment type
@@ -316,37 +330,53 @@ public class StudentService {
             throw new ResourceNotFoundException("No students found for assignment");
         }
         
-        // Validate subjects exist
-        List<Subject> subjects = subjectRepository.findAllById(assignmentDTO.getSubjectIds());
-        if (subjects.size() != assignmentDTO.getSubjectIds().size()) {
+        return assignSubjects(targetStudents, findSubjects(assignmentDTO.getSubjectIds()), assignmentDTO.getAcademicYear());
+    }
+
+    private List<Subject> findSubjects(List<Long> subjectIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(subjectIds);
+        List<Subject> subjects = subjectRepository.findAllById(distinctIds);
+        if (subjects.size() != distinctIds.size()) {
             throw new ResourceNotFoundException("One or more subjects not found");
         }
-        
-        List<StudentSubject> assignments = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-        
-        // Create assignments
-        for (Student student : targetStudents) {
-            for (Subject subject : subjects) {
-                // Check if already assigned
-                if (!studentSubjectRepository.findByStudentIdAndSubjectId(
-                        student.getId(), subject.getId()).isPresent()) {
-                    
-                    StudentSubject studentSubject = new StudentSubject();
-                    studentSubject.setStudent(student);
-                    studentSubject.setSubject(subject);
-                    studentSubject.setAcademicYear(assignmentDTO.getAcademicYear() != null ? 
-                        assignmentDTO.getAcademicYear() : student.getAcademicYear());
-                    studentSubject.setAssignedDate(now);
-                    studentSubject.setCreatedAt(now);
-                    studentSubject.setUpdatedAt(now);
-                    
-                    assignments.add(studentSubjectRepository.save(studentSubject));
+        return subjects;
+    }
+
+    /**
+     * Assigns every subject to every student in a fixed number of statements: existing pairs are read with IN
+     * queries into a primitive set, and only the missing pairs are inserted, in one JDBC batch.
+     */
+    private SubjectAssignmentResultDTO assignSubjects(List<Student> students, List<Subject> subjects,
+                                                      String academicYearOverride) {
+        List<Long> subjectIds = subjects.stream().map(Subject::getId).collect(Collectors.toList());
+        List<Long> studentIds = students.stream().map(Student::getId).collect(Collectors.toList());
+
+        LongHashSet existingPairs = new LongHashSet(students.size() * subjects.size());
+        for (int from = 0; from < studentIds.size(); from += ASSIGNMENT_QUERY_CHUNK) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + ASSIGNMENT_QUERY_CHUNK, studentIds.size()));
+            for (StudentSubjectPair pair : studentSubjectRepository.findPairsByStudentIdInAndSubjectIdIn(chunk, subjectIds)) {
+                existingPairs.add(LongHashSet.pairKey(pair.getStudentId(), pair.getSubjectId()));
+            }
+        }
+
+        List<Long> newStudentIds = new ArrayList<>();
+        List<Long> newSubjectIds = new ArrayList<>();
+        List<String> newAcademicYears = new ArrayList<>();
+        for (Student student : students) {
+            String academicYear = academicYearOverride != null ? academicYearOverride : student.getAcademicYear();
+            for (Long subjectId : subjectIds) {
+                if (!existingPairs.contains(LongHashSet.pairKey(student.getId(), subjectId))) {
+                    newStudentIds.add(student.getId());
+                    newSubjectIds.add(subjectId);
+                    newAcademicYears.add(academicYear);
                 }
             }
         }
-        
-        return assignments;
+
+        // Pairs assigned concurrently since the read above are skipped by the insert and reported as skipped here
+        int inserted = studentSubjectRepository.batchInsertStudentSubjects(newStudentIds, newSubjectIds, newAcademicYears);
+        int skipped = students.size() * subjects.size() - inserted;
+        return new SubjectAssignmentResultDTO(students.size(), subjects.size(), inserted, skipped);
     }
 
     public StudentSubject getStudentSubjectRelationship(Long studentId, Long subjectId) {
@@ -0,0 +1,186 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.dto.MarkRecomputeResultDTO;
+import com.devtech.school_management_system.entity.Assessment;
+import com.devtech.school_management_system.entity.StudentSubject;
+import com.devtech.school_management_system.entity.SubjectReport;
+import com.devtech.school_management_system.enums.AssessmentType;
+import com.devtech.school_management_system.event.MarksChangedEvent;
+import com.devtech.school_management_system.repository.AssessmentRepository;
+import com.devtech.school_management_system.repository.MarkAccumulatorRepository;
+import com.devtech.school_management_system.repository.SubjectReportRepository;
+import com.devtech.school_management_system.repository.projection.MarkTotals;
+import com.devtech.school_management_system.repository.projection.SubjectReportMarkRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Subject marks derived from per-term accumulators. Every assessment write adds or removes its percentage from
+ * the running coursework or exam sum of its student subject, and open subject reports for that subject and term
+ * are refreshed from the new sums. Finalized reports keep the marks they were finalized with.
+ */
+@Service
+@Transactional
+public class SubjectMarkService {
+
+    /**
+     * Coursework and exam averages, the 40/60 weighted total and the A–U grade. A missing component leaves the
+     * total to the other one.
+     */
+    public record SubjectMarks(Double courseworkMark, Double examMark, double totalMark, String grade) {
+
+        public static final SubjectMarks NONE = of(0, 0, 0, 0);
+
+        public static SubjectMarks of(double courseworkSum, int courseworkCount, double examSum, int examCount) {
+            Double courseworkMark = courseworkCount > 0 ? courseworkSum / courseworkCount : null;
+            Double examMark = examCount > 0 ? examSum / examCount : null;
+
+            double totalMark = 0;
+            if (courseworkMark != null && examMark != null) {
+                totalMark = (courseworkMark * 0.4) + (examMark * 0.6);
+            } else if (courseworkMark != null) {
+                totalMark = courseworkMark;
+            } else if (examMark != null) {
+                totalMark = examMark;
+            }
+            return new SubjectMarks(courseworkMark, examMark, totalMark, gradeFor(totalMark));
+        }
+
+        public static SubjectMarks of(MarkTotals totals) {
+            return of(totals.getCourseworkSum(), totals.getCourseworkCount(), totals.getExamSum(), totals.getExamCount());
+        }
+
+        public void applyTo(SubjectReport subjectReport) {
+            subjectReport.setCourseworkMark(courseworkMark);
+            subjectReport.setExamMark(examMark);
+            subjectReport.setTotalMark(totalMark);
+            subjectReport.setGrade(grade);
+        }
+    }
+
+    private final MarkAccumulatorRepository markAccumulatorRepository;
+    private final SubjectReportRepository subjectReportRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SubjectMarkService(MarkAccumulatorRepository markAccumulatorRepository,
+                              SubjectReportRepository subjectReportRepository,
+                              AssessmentRepository assessmentRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.markAccumulatorRepository = markAccumulatorRepository;
+        this.subjectReportRepository = subjectReportRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public static String gradeFor(double totalMark) {
+        if (totalMark >= 75) return "A";
+        if (totalMark >= 60) return "B";
+        if (totalMark >= 50) return "C";
+        if (totalMark >= 40) return "D";
+        if (totalMark >= 30) return "E";
+        return "U";
+    }
+
+    public void assessmentAdded(Assessment assessment) {
+        applyDelta(assessment, assessment.getPercentage(), 1);
+    }
+
+    public void assessmentRemoved(Assessment assessment) {
+        applyDelta(assessment, -assessment.getPercentage(), -1);
+    }
+
+    /**
+     * Replaces the percentage an assessment contributed before its score or maximum changed.
+     */
+    public void assessmentRescored(Assessment assessment, double previousPercentage) {
+        double delta = assessment.getPercentage() - previousPercentage;
+        if (delta != 0) {
+            applyDelta(assessment, delta, 0);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SubjectMarks getMarks(Long studentId, Long subjectId, String term, String academicYear) {
+        return markAccumulatorRepository.findTotalsByStudentAndSubject(studentId, subjectId, term, academicYear)
+                .map(SubjectMarks::of)
+                .orElse(SubjectMarks.NONE);
+    }
+
+    /**
+     * Rebuilds the accumulators of one term from its assessments in a single aggregate statement, then rewrites
+     * the marks of every open subject report in that term with one JDBC batch.
+     */
+    public MarkRecomputeResultDTO recomputeTerm(String term, String academicYear) {
+        int accumulatorCount = markAccumulatorRepository.rebuildTerm(term, academicYear);
+
+        List<SubjectReportMarkRow> rows = markAccumulatorRepository.findOpenSubjectReportMarks(term, academicYear);
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<Double> courseworkMarks = new ArrayList<>(rows.size());
+        List<Double> examMarks = new ArrayList<>(rows.size());
+        List<Double> totalMarks = new ArrayList<>(rows.size());
+        List<String> grades = new ArrayList<>(rows.size());
+        for (SubjectReportMarkRow row : rows) {
+            SubjectMarks marks = row.getCourseworkCount() == null ? SubjectMarks.NONE
+                    : SubjectMarks.of(row.getCourseworkSum(), row.getCourseworkCount(), row.getExamSum(), row.getExamCount());
+            ids.add(row.getSubjectReportId());
+            courseworkMarks.add(marks.courseworkMark());
+            examMarks.add(marks.examMark());
+            totalMarks.add(marks.totalMark());
+            grades.add(marks.grade());
+        }
+        subjectReportRepository.batchUpdateMarks(ids, courseworkMarks, examMarks, totalMarks, grades);
+        eventPublisher.publishEvent(new MarksChangedEvent(term, academicYear));
+
+        System.out.println("Recomputed marks for term " + term + " " + academicYear + ": "
+                + accumulatorCount + " accumulators, " + ids.size() + " subject reports");
+        return new MarkRecomputeResultDTO(term, academicYear, accumulatorCount, ids.size());
+    }
+
+    /**
+     * Builds the accumulators once for databases that hold assessments recorded before they existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (markAccumulatorRepository.count() == 0 && assessmentRepository.count() > 0) {
+            int written = markAccumulatorRepository.rebuildAll();
+            System.out.println("Built " + written + " mark accumulators from existing assessments");
+        }
+    }
+
+    private void applyDelta(Assessment assessment, double percentageDelta, int countDelta) {
+        StudentSubject studentSubject = assessment.getStudentSubject();
+        if (assessment.getType() == AssessmentType.COURSEWORK) {
+            markAccumulatorRepository.applyDelta(studentSubject.getId(), assessment.getTerm(), assessment.getAcademicYear(),
+                    percentageDelta, countDelta, 0, 0);
+        } else {
+            markAccumulatorRepository.applyDelta(studentSubject.getId(), assessment.getTerm(), assessment.getAcademicYear(),
+                    0, 0, percentageDelta, countDelta);
+        }
+        refreshSubjectReports(studentSubject, assessment.getTerm(), assessment.getAcademicYear());
+    }
+
+    private void refreshSubjectReports(StudentSubject studentSubject, String term, String academicYear) {
+        Long studentId = studentSubject.getStudent().getId();
+        Long subjectId = studentSubject.getSubject().getId();
+        List<SubjectReport> subjectReports =
+                subjectReportRepository.findOpenByStudentSubjectTermAndYear(studentId, subjectId, term, academicYear);
+        if (subjectReports.isEmpty()) {
+            return;
+        }
+
+        SubjectMarks marks = markAccumulatorRepository.findTotals(studentSubject.getId(), term, academicYear)
+                .map(SubjectMarks::of)
+                .orElse(SubjectMarks.NONE);
+        for (SubjectReport subjectReport : subjectReports) {
+            marks.applyTo(subjectReport);
+        }
+        eventPublisher.publishEvent(new MarksChangedEvent(term, academicYear));
+    }
+}
@@ -22,14 +22,17 @@ public class SubjectService {
     private final SubjectRepository subjectRepository;
     private final TeacherSubjectClassRepository teacherSubjectClassRepository;
     private final StudentSubjectRepository studentSubjectRepository;
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     @Autowired
     public SubjectService(SubjectRepository subjectRepository,
                           TeacherSubjectClassRepository teacherSubjectClassRepository,
-                          StudentSubjectRepository studentSubjectRepository) {
+                          StudentSubjectRepository studentSubjectRepository,
+                          ReferenceDataCacheService referenceDataCacheService) {
         this.subjectRepository = subjectRepository;
         this.teacherSubjectClassRepository = teacherSubjectClassRepository;
         this.studentSubjectRepository = studentSubjectRepository;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     public List<Subject> getAllSubjects() {
@@ -65,6 +68,7 @@ public class SubjectService {
         subject.setDescription(subjectDetails.getDescription());
         subject.setUpdatedAt(LocalDateTime.now());
 
+        referenceDataCacheService.evictAfterCommit(Subject.class);
         return subjectRepository.save(subject);
     }
 
@@ -73,6 +77,7 @@ public class SubjectService {
             throw new ResourceNotFoundException("Subject not found with id: " + id);
         }
         subjectRepository.deleteById(id);
+        referenceDataCacheService.evictAfterCommit(Subject.class);
     }
 
     public List<Teacher> getTeachersBySubject(Long subjectId) {
@@ -4,21 +4,24 @@ import com.devtech.school_management_system.dto.ClassGroupWithStudentsDTO;
 import com.devtech.school_management_system.dto.TeacherSubjectClassDTO;
 import com.devtech.school_management_system.dto.TeacherWithUserDTO;
 import com.devtech.school_management_system.entity.ClassGroup;
-import com.devtech.school_management_system.entity.Student;
 import com.devtech.school_management_system.entity.Teacher;
 import com.devtech.school_management_system.entity.TeacherSubjectClass;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.ClassGroupRepository;
-import com.devtech.school_management_system.repository.StudentRepository;
 import com.devtech.school_management_system.repository.TeacherRepository;
 import com.devtech.school_management_system.repository.TeacherSubjectClassRepository;
+import com.devtech.school_management_system.repository.projection.TeacherListRow;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -27,23 +30,33 @@ public class TeacherService {
     private final TeacherRepository teacherRepository;
     private final TeacherSubjectClassRepository teacherSubjectClassRepository;
     private final ClassGroupRepository classGroupRepository;
-    private final StudentRepository studentRepository;
+    private final EnrollmentStatisticsService enrollmentStatisticsService;
 
     @Autowired
     public TeacherService(TeacherRepository teacherRepository,
                           TeacherSubjectClassRepository teacherSubjectClassRepository,
                           ClassGroupRepository classGroupRepository,
-                          StudentRepository studentRepository) {
+                          EnrollmentStatisticsService enrollmentStatisticsService) {
         this.teacherRepository = teacherRepository;
         this.teacherSubjectClassRepository = teacherSubjectClassRepository;
         this.classGroupRepository = classGroupRepository;
-        this.studentRepository = studentRepository;
+        this.enrollmentStatisticsService = enrollmentStatisticsService;
     }
 
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Page<TeacherListRow> getTeachersPage(Pageable pageable) {
+        return teacherRepository.findListRows(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TeacherListRow> getTeachersAfter(Long afterId, int size) {
+        return teacherRepository.findListRowsAfter(afterId, PageRequest.of(0, size));
+    }
+
     public Teacher getTeacherById(Long id) {
         return teacherRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id: " + id));
@@ -107,6 +120,18 @@ public class TeacherService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public Page<TeacherWithUserDTO> getTeachersWithUserDetailsPage(Pageable pageable) {
+        return teacherRepository.findPageWithUser(pageable).map(TeacherWithUserDTO::new);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TeacherWithUserDTO> getTeachersWithUserDetailsAfter(Long afterId, int size) {
+        return teacherRepository.findWithUserAfter(afterId, PageRequest.of(0, size)).stream()
+            .map(TeacherWithUserDTO::new)
+            .collect(java.util.stream.Collectors.toList());
+    }
+
     public List<TeacherWithUserDTO> getAllTeachersWithUserDetails() {
         List<Teacher> teachers = teacherRepository.findAll();
         return teachers.stream()
@@ -125,6 +150,7 @@ public class TeacherService {
     public List<ClassGroupWithStudentsDTO> getSupervisedClasses(String username) {
         Teacher teacher = getTeacherByUsername(username);
         List<ClassGroup> classGroups = classGroupRepository.findByClassTeacherId(teacher.getId());
+        Map<EnrollmentStatisticsService.ClassKey, Long> enrollment = enrollmentStatisticsService.getEnrollmentCounts();
         
         return classGroups.stream().map(classGroup -> {
             ClassGroupWithStudentsDTO dto = new ClassGroupWithStudentsDTO();
@@ -142,13 +168,7 @@ public class TeacherService {
                 dto.setClassTeacherName(classGroup.getClassTeacher().getFullName());
             }
             
-            // Get student count for this class
-            List<Student> students = studentRepository.findByFormAndSectionAndYear(
-                classGroup.getForm(), 
-                classGroup.getSection(), 
-                classGroup.getAcademicYear()
-            );
-            dto.setStudentCount(students.size());
+            dto.setStudentCount(enrollment.getOrDefault(EnrollmentStatisticsService.ClassKey.of(classGroup), 0L).intValue());
             
             return dto;
         }).collect(java.util.stream.Collectors.toList());
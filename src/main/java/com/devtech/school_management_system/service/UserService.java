@@ -7,14 +7,23 @@ import com.devtech.school_management_system.entity.User;
 import com.devtech.school_management_system.enums.ERole;
 import com.devtech.school_management_system.exception.ResourceNotFoundException;
 import com.devtech.school_management_system.repository.UserRepository;
+import com.devtech.school_management_system.repository.projection.UserListRow;
+import com.devtech.school_management_system.repository.projection.UserRoleRow;
+import com.devtech.school_management_system.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,12 +34,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Autowired
-    public UserService(UserRepository userRepository, RoleService roleService, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleService roleService, PasswordEncoder passwordEncoder,
+                       UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
         this.roleService = roleService;
         this.passwordEncoder = passwordEncoder;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     public User createTeacherUser(String username, String email, String password) {
@@ -142,6 +154,42 @@ public class UserService {
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
+
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getUsersPage(Pageable pageable) {
+        Page<UserListRow> rows = userRepository.findListRows(pageable);
+        return new PageImpl<>(convertRowsToDTOs(rows.getContent()), pageable, rows.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersAfter(Long afterId, int size) {
+        return convertRowsToDTOs(userRepository.findListRowsAfter(afterId, PageRequest.of(0, size)));
+    }
+
+    // Roles for the whole page come from one join-table query instead of one eager fetch per user
+    private List<UserDTO> convertRowsToDTOs(List<UserListRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Set<String>> rolesByUserId = new HashMap<>();
+        List<Long> userIds = rows.stream().map(UserListRow::getId).collect(Collectors.toList());
+        for (UserRoleRow roleRow : userRepository.findRoleRowsByUserIdIn(userIds)) {
+            rolesByUserId.computeIfAbsent(roleRow.getUserId(), id -> new HashSet<>()).add(roleRow.getRoleName().name());
+        }
+
+        return rows.stream().map(row -> {
+            UserDTO dto = new UserDTO();
+            dto.setId(row.getId());
+            dto.setUsername(row.getUsername());
+            dto.setEmail(row.getEmail());
+            dto.setEnabled(Boolean.TRUE.equals(row.getEnabled()));
+            dto.setCreatedAt(row.getCreatedAt());
+            dto.setUpdatedAt(row.getUpdatedAt());
+            dto.setRoles(rolesByUserId.getOrDefault(row.getId(), new HashSet<>()));
+            return dto;
+        }).collect(Collectors.toList());
+    }
     
     public UserDTO getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
@@ -156,6 +204,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setUpdatedAt(LocalDateTime.now());
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evictAfterCommit(username);
         
         return convertToDTO(updatedUser);
     }
@@ -171,6 +220,7 @@ public class UserService {
         user.setEmail(newEmail);
         user.setUpdatedAt(LocalDateTime.now());
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evictAfterCommit(username);
         
         return convertToDTO(updatedUser);
     }
@@ -215,6 +265,7 @@ public class UserService {
         user.setRoles(roles);
         user.setUpdatedAt(LocalDateTime.now());
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evictAfterCommit(username);
         
         return convertToDTO(updatedUser);
     }
@@ -226,6 +277,7 @@ public class UserService {
         user.setEnabled(!user.isEnabled());
         user.setUpdatedAt(LocalDateTime.now());
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evictAfterCommit(username);
         
         return convertToDTO(updatedUser);
     }
@@ -1,19 +1,13 @@
 package com.devtech.school_management_system.service;
 
-import com.devtech.school_management_system.entity.Guardian;
 import com.devtech.school_management_system.entity.Student;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
-public class WhatsAppService {
-
-    public void sendAbsenteeNotification(Student student, List<Guardian> guardians) {
-        // Implementation for sending WhatsApp messages
-        // This would integrate with a WhatsApp Business API service
+public class WhatsAppService implements NotificationTransport {
 
-        String message = String.format(
+    public String formatAbsenteeMessage(Student student) {
+        return String.format(
                 """
                         Dear Parent/Guardian,
                         
@@ -27,16 +21,11 @@ public class WhatsAppService {
                 student.getLastName(),
                 student.getStudentId()
         );
-
-        for (Guardian guardian : guardians) {
-            if (guardian.getWhatsappNumber() != null && !guardian.getWhatsappNumber().isEmpty()) {
-                sendWhatsAppMessage(guardian.getWhatsappNumber(), message);
-            }
-        }
     }
 
-    public void sendMessage(String phoneNumber, String message) {
-        sendWhatsAppMessage(phoneNumber, message);
+    @Override
+    public void send(String recipient, String message) {
+        sendWhatsAppMessage(recipient, message);
     }
 
     private void sendWhatsAppMessage(String phoneNumber, String message) {
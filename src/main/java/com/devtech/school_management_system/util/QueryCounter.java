@@ -0,0 +1,82 @@
+package com.devtech.school_management_system.util;
+
+/**
+ * Thread-bound counters for SQL statements, entity loads and collection fetches issued through Hibernate.
+ * Scopes nest: a count is added to every scope open on the current thread, so a test can wrap a request that
+ * also opens its own scope in the request filter. Statements issued through JdbcTemplate or on another thread
+ * (async downloads, executors) are not counted.
+ */
+public final class QueryCounter {
+
+    public record Snapshot(long statements, long entityLoads, long collectionFetches) {
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + entityLoads + " entity loads, "
+                    + collectionFetches + " collection fetches";
+        }
+    }
+
+    private static final class Scope {
+        private final Scope parent;
+        private long statements;
+        private long entityLoads;
+        private long collectionFetches;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(statements, entityLoads, collectionFetches);
+        }
+    }
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Scope(CURRENT.get()));
+    }
+
+    /**
+     * Closes the innermost scope and returns what it counted; empty when no scope is open.
+     */
+    public static Snapshot stop() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return new Snapshot(0, 0, 0);
+        }
+        if (scope.parent != null) {
+            CURRENT.set(scope.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return scope.snapshot();
+    }
+
+    public static Snapshot current() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.snapshot() : new Snapshot(0, 0, 0);
+    }
+
+    public static void statementPrepared() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+        }
+    }
+
+    public static void entityLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.entityLoads++;
+        }
+    }
+
+    public static void collectionFetched() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.collectionFetches++;
+        }
+    }
+}
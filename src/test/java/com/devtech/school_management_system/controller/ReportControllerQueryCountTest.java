@@ -0,0 +1,164 @@
+package com.devtech.school_management_system.controller;
+
+import com.devtech.school_management_system.entity.Report;
+import com.devtech.school_management_system.entity.School;
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.entity.Subject;
+import com.devtech.school_management_system.entity.SubjectReport;
+import com.devtech.school_management_system.enums.SubjectCategory;
+import com.devtech.school_management_system.repository.ReportRepository;
+import com.devtech.school_management_system.repository.SchoolRepository;
+import com.devtech.school_management_system.repository.StudentRepository;
+import com.devtech.school_management_system.repository.SubjectRepository;
+import com.devtech.school_management_system.service.SchoolServiceImpl;
+import com.devtech.school_management_system.util.QueryCountAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements behind GET /api/reports/class/{form}/{section}/{term}/{year}. ReportService
+ * builds a class's report DTOs from a fixed set of queries, so the count must not grow with the class size; a
+ * change that brings back a per-student query fails here. Missing reports are inserted with one JDBC batch,
+ * which QueryCounter does not see, so only the Hibernate queries around it are counted.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reportquerycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY,DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN")
+class ReportControllerQueryCountTest {
+
+    // A class of its own, so students seeded at startup never fall into it
+    private static final String FORM = "Form 6";
+    private static final String SECTION = "QC";
+    private static final String YEAR = "2099";
+    private static final String TERM = "Term 1";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ReportRepository reportRepository;
+    @Autowired private SubjectRepository subjectRepository;
+    @Autowired private SchoolRepository schoolRepository;
+    @Autowired private SchoolServiceImpl schoolService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final List<Student> students = new ArrayList<>();
+    private Subject subject;
+
+    @BeforeEach
+    void setUp() {
+        if (!schoolService.isSchoolConfigured()) {
+            School school = new School();
+            school.setName("Query Count High");
+            school.setConfigured(true);
+            schoolRepository.save(school);
+            schoolService.refreshConfiguredFlag();
+        }
+
+        subject = new Subject();
+        subject.setName("Query Count Mathematics");
+        subject.setCode("QCM");
+        subject.setCategory(SubjectCategory.A_LEVEL_SCIENCES);
+        subject.setLevel("A_LEVEL");
+        subject = subjectRepository.save(subject);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Plain SQL: the endpoint batch-inserts reports behind the persistence context, so the saved students are
+        // stale and cannot be removed through the cascade
+        List<Long> studentIds = students.stream().map(Student::getId).toList();
+        if (!studentIds.isEmpty()) {
+            String ids = studentIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            jdbcTemplate.update("DELETE FROM subject_reports WHERE report_id IN "
+                    + "(SELECT id FROM reports WHERE student_id IN (" + ids + "))");
+            jdbcTemplate.update("DELETE FROM reports WHERE student_id IN (" + ids + ")");
+            jdbcTemplate.update("DELETE FROM student_subjects WHERE student_id IN (" + ids + ")");
+            jdbcTemplate.update("DELETE FROM students WHERE id IN (" + ids + ")");
+        }
+        students.clear();
+        subjectRepository.deleteById(subject.getId());
+    }
+
+    @Test
+    void classWithReportsIsServedWithThreeStatements() throws Exception {
+        addStudentsWithReports(4);
+        // students, reports of the class, subject reports fetch-joined with subject and teacher
+        QueryCountAssertions.assertStatements(3, () -> getClassReports(4));
+
+        addStudentsWithReports(12);
+        QueryCountAssertions.assertStatements(3, () -> getClassReports(16));
+    }
+
+    @Test
+    void classWithoutReportsIsServedWithFiveStatements() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            addStudent();
+        }
+        // students, reports of the class (none), reload after the batch insert, subject reports (none),
+        // student subjects for the fallback
+        QueryCountAssertions.assertStatements(5, () -> getClassReports(6));
+        // The reports now exist but still have no subject reports
+        QueryCountAssertions.assertStatements(4, () -> getClassReports(6));
+    }
+
+    private void getClassReports(int expectedStudents) throws Exception {
+        mockMvc.perform(get("/api/reports/class/{form}/{section}/{term}/{year}", FORM, SECTION, TERM, YEAR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedStudents));
+    }
+
+    private void addStudentsWithReports(int count) {
+        for (int i = 0; i < count; i++) {
+            Student student = addStudent();
+
+            Report report = new Report();
+            report.setStudent(student);
+            report.setTerm(TERM);
+            report.setAcademicYear(YEAR);
+            report.setFinalized(false);
+
+            SubjectReport subjectReport = new SubjectReport();
+            subjectReport.setReport(report);
+            subjectReport.setSubject(subject);
+            subjectReport.setTotalMark(60.0);
+            subjectReport.setTeacherComment("Steady progress");
+            report.setSubjectReports(new ArrayList<>(List.of(subjectReport)));
+            reportRepository.save(report);
+        }
+    }
+
+    private Student addStudent() {
+        Student student = new Student();
+        student.setFirstName("Query");
+        student.setLastName("Count " + students.size());
+        student.setStudentId("QC" + String.format("%04d", students.size()));
+        student.setForm(FORM);
+        student.setSection(SECTION);
+        student.setLevel("A_LEVEL");
+        student.setAcademicYear(YEAR);
+        student = studentRepository.save(student);
+        students.add(student);
+        return student;
+    }
+}
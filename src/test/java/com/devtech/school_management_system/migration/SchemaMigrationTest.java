@@ -0,0 +1,159 @@
+package com.devtech.school_management_system.migration;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Production validates the schema instead of changing it, so every table, column and key the entities add must
+ * come from a migration. Starting from the schema Hibernate creates on embedded H2, the test removes what the
+ * migrations own, runs them, and checks that the columns (with their nullability) and keys are back.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemamigration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY,DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaMigrationTest {
+
+    private static final List<String> MIGRATED_TABLES = List.of("payment_daily_rollup", "notification_outbox",
+            "student_import_jobs", "student_import_rows", "mark_accumulators");
+
+    private static final List<JavaMigration> MIGRATIONS = List.of(new V2__HotLookupIndexes(),
+            new V3__PaymentDailyRollup(), new V4__NotificationOutbox(), new V5__StudentSearchColumns(),
+            new V6__StudentImportJobs(), new V7__MarkAccumulators());
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void migrationsRecreateWhatTheEntitiesDeclare() throws Exception {
+        Map<String, String> expectedColumns = columns();
+        Map<String, Boolean> expectedKeys = keys();
+
+        // The schema as the series found it: no new tables, search columns or report key
+        for (String table : MIGRATED_TABLES) {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+        jdbcTemplate.execute("ALTER TABLE reports DROP CONSTRAINT uk_reports_student_period");
+        jdbcTemplate.execute("DROP INDEX idx_students_search_name");
+        jdbcTemplate.execute("DROP INDEX idx_students_search_student_id");
+        jdbcTemplate.execute("ALTER TABLE students DROP COLUMN search_name");
+        jdbcTemplate.execute("ALTER TABLE students DROP COLUMN search_student_id");
+        jdbcTemplate.update("INSERT INTO students (first_name, last_name, student_id, form, section, level, "
+                + "academic_year) VALUES ('Tendai', 'Moyo', ' S1001 ', 'Form 1', 'A', 'O_LEVEL', '2025')");
+
+        runMigrations();
+
+        assertEquals(expectedColumns, columns());
+        assertEquals(expectedKeys, keys());
+        assertEquals(Map.of("search_name", "tendai moyo", "search_student_id", "s1001"),
+                jdbcTemplate.queryForMap("SELECT search_name, search_student_id FROM students"));
+    }
+
+    @Test
+    void migrationsLeaveAnUpToDateSchemaAlone() throws Exception {
+        Map<String, String> columns = columns();
+        Map<String, Boolean> keys = keys();
+
+        runMigrations();
+
+        assertEquals(columns, columns());
+        assertEquals(keys, keys());
+    }
+
+    private void runMigrations() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = new MigrationContext(connection);
+            for (JavaMigration migration : MIGRATIONS) {
+                migration.migrate(context);
+            }
+        }
+    }
+
+    // Column name to nullability for the migrated tables and the students search columns
+    private Map<String, String> columns() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, String>>) connection -> {
+            Map<String, String> columns = new TreeMap<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : MIGRATED_TABLES) {
+                try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                        table, null)) {
+                    while (resultSet.next()) {
+                        columns.put(table + "." + resultSet.getString("COLUMN_NAME"),
+                                resultSet.getString("IS_NULLABLE"));
+                    }
+                }
+            }
+            for (String column : List.of("search_name", "search_student_id")) {
+                try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                        "students", column)) {
+                    while (resultSet.next()) {
+                        columns.put("students." + column, resultSet.getString("IS_NULLABLE"));
+                    }
+                }
+            }
+            assertTrue(columns.size() > MIGRATED_TABLES.size(), "no migrated columns found");
+            return columns;
+        });
+    }
+
+    // Named keys and indexes to whether they are unique; H2 names the index of a constraint <constraint>_INDEX_<n>
+    private Map<String, Boolean> keys() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Boolean>>) connection -> {
+            Map<String, Boolean> keys = new TreeMap<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : List.of("payment_daily_rollup", "notification_outbox", "student_import_rows",
+                    "mark_accumulators", "students", "reports")) {
+                try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                        table, false, false)) {
+                    while (resultSet.next()) {
+                        String name = resultSet.getString("INDEX_NAME");
+                        if (name != null && (name.startsWith("idx_") || name.startsWith("uk_"))) {
+                            keys.put(name.replaceFirst("(?i)_index_[0-9a-z]+$", ""),
+                                    !resultSet.getBoolean("NON_UNIQUE"));
+                        }
+                    }
+                }
+            }
+            return keys;
+        });
+    }
+
+    private record MigrationContext(Connection connection) implements Context {
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.entity.Subject;
+import com.devtech.school_management_system.enums.SubjectCategory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the persistence unit with the second-level cache settings from application.properties and checks that
+ * every region named by an entity or a cacheable query is backed by ehcache.xml. With
+ * missing_cache_strategy=fail a region missing from the file, or a file that cannot be found, stops startup.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:referencecache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY,DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReferenceCacheRegionsTest {
+
+    private static final List<String> ENTITY_REGIONS = List.of("reference.subject", "reference.section",
+            "reference.role", "reference.fee-setting", "reference.school-settings", "reference.school");
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private SubjectRepository subjectRepository;
+
+    @Test
+    void entityRegionsStartFromEhcacheXml() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled(), "second-level cache is off");
+        for (String region : ENTITY_REGIONS) {
+            assertNotNull(sessionFactory.getCache().getRegion(region), "region " + region + " did not start");
+        }
+    }
+
+    // Outside the test transaction: the query cache only trusts results once the write to subjects has committed
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void subjectsAreServedFromTheCache() {
+        Subject subject = new Subject();
+        subject.setName("Mathematics");
+        subject.setCode("MATH");
+        subject.setCategory(SubjectCategory.O_LEVEL_SCIENCES);
+        subject.setLevel("O_LEVEL");
+        Long id = subjectRepository.save(subject).getId();
+        try {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            // Hibernate does not cache IDENTITY inserts, so the region is filled by the first load
+            sessionFactory.getCache().evictEntityData(Subject.class);
+            subjectRepository.findById(id);
+            assertTrue(sessionFactory.getCache().containsEntity(Subject.class, id), "subject was not put in its region");
+
+            Statistics statistics = sessionFactory.getStatistics();
+            statistics.clear();
+            subjectRepository.findByLevel("O_LEVEL");
+            long hitsAfterFirst = statistics.getQueryCacheHitCount();
+            subjectRepository.findByLevel("O_LEVEL");
+            assertEquals(hitsAfterFirst + 1, statistics.getQueryCacheHitCount(),
+                    "second findByLevel did not hit reference.queries");
+            assertEquals(1, statistics.getPrepareStatementCount(), "second findByLevel went to the database");
+        } finally {
+            subjectRepository.deleteById(id);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.devtech.school_management_system.repository;
+
+import com.devtech.school_management_system.enums.AssessmentType;
+import com.devtech.school_management_system.enums.PaymentStatus;
+import com.devtech.school_management_system.migration.V2__HotLookupIndexes;
+import com.devtech.school_management_system.util.CapturingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository finders against embedded H2 in MySQL mode, captures the SQL Hibernate generates and
+ * EXPLAINs it, failing when any table in a plan is read without an index condition. Finders that read a whole
+ * table by design (findAll, paged lists, class-wide aggregates) are not listed. The schema comes from the entity
+ * annotations, so the test also checks that they declare every index the migration creates.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY,DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devtech.school_management_system.util.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest {
+
+    // H2 prints each table access as /* schema.table.tableScan */ or /* schema.index: condition */;
+    // an access comment without a condition reads every row
+    private static final Pattern UNCONDITIONED_ACCESS = Pattern.compile("/\\*\\s*(\\w+\\.[\\w.]+)\\s*\\*/");
+
+    private static final String TERM = "Term 1";
+    private static final String YEAR = "2025";
+    private static final String FORM = "Form 1";
+    private static final String SECTION = "A";
+
+    @Autowired private FeePaymentRepository feePaymentRepository;
+    @Autowired private AssessmentRepository assessmentRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ReportRepository reportRepository;
+    @Autowired private AttendanceRepository attendanceRepository;
+    @Autowired private TeacherSubjectClassRepository teacherSubjectClassRepository;
+    @Autowired private PaymentDailyRollupRepository paymentDailyRollupRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entitiesDeclareEveryMigratedIndex() {
+        for (V2__HotLookupIndexes.IndexDefinition index : V2__HotLookupIndexes.INDEXES) {
+            Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                try (ResultSet indexes = connection.getMetaData().getIndexInfo(connection.getCatalog(),
+                        connection.getSchema(), index.table(), index.unique(), false)) {
+                    while (indexes.next()) {
+                        // H2 names the index backing a unique constraint <constraint>_INDEX_<n>
+                        String name = indexes.getString("INDEX_NAME");
+                        if (name != null && name.toLowerCase().startsWith(index.name().toLowerCase())) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+            assertTrue(Boolean.TRUE.equals(exists), "Entity mapping for " + index.table() + " does not declare "
+                    + index.name() + "; keep it in step with " + V2__HotLookupIndexes.class.getSimpleName());
+        }
+    }
+
+    @Test
+    void hotFindersUseIndexes() {
+        LocalDate today = LocalDate.of(2025, 3, 14);
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+
+        finders.put("FeePayment.findByStudentIdAndTermAndAcademicYear",
+                () -> feePaymentRepository.findByStudentIdAndTermAndAcademicYear(1L, TERM, YEAR));
+        finders.put("FeePayment.findByStudentIdAndTermAndMonthAndAcademicYear",
+                () -> feePaymentRepository.findByStudentIdAndTermAndMonthAndAcademicYear(1L, TERM, "January", YEAR));
+        finders.put("FeePayment.findByClassAndPaymentStatus",
+                () -> feePaymentRepository.findByClassAndPaymentStatus(FORM, SECTION, PaymentStatus.PART_PAYMENT));
+        finders.put("FeePayment.findTotalAmountByDate", () -> feePaymentRepository.findTotalAmountByDate(today));
+        finders.put("FeePayment.findTotalTransactionsByDate", () -> feePaymentRepository.findTotalTransactionsByDate(today));
+        finders.put("FeePayment.findByPaymentDate", () -> feePaymentRepository.findByPaymentDate(today));
+        finders.put("FeePayment.findByStudentId", () -> feePaymentRepository.findByStudentId(1L));
+        finders.put("FeePayment.findByStudentIdIn", () -> feePaymentRepository.findByStudentIdIn(List.of(1L, 2L)));
+        finders.put("FeePayment.findByTermAndAcademicYear", () -> feePaymentRepository.findByTermAndAcademicYear(TERM, YEAR));
+        finders.put("FeePayment.findByAcademicYear", () -> feePaymentRepository.findByAcademicYear(YEAR));
+        finders.put("FeePayment.findByPaymentDateBetween",
+                () -> feePaymentRepository.findByPaymentDateBetween(today.minusDays(30), today));
+        finders.put("FeePayment.findOutstandingPaymentsByTermAndAcademicYear",
+                () -> feePaymentRepository.findOutstandingPaymentsByTermAndAcademicYear(TERM, YEAR));
+        finders.put("FeePayment.summarizeByPaymentDate",
+                () -> feePaymentRepository.summarizeByPaymentDate(today.minusDays(30), today));
+
+        finders.put("Assessment.findByStudentSubjectId", () -> assessmentRepository.findByStudentSubjectId(1L));
+        finders.put("Assessment.findByStudentIdAndTermAndAcademicYear",
+                () -> assessmentRepository.findByStudentIdAndTermAndAcademicYear(1L, TERM, YEAR));
+        finders.put("Assessment.findByStudentSubjectTermAndYear",
+                () -> assessmentRepository.findByStudentSubjectTermAndYear(1L, 1L, TERM, YEAR));
+        finders.put("Assessment.findByStudentSubjectIdAndTypeAndTermAndAcademicYear",
+                () -> assessmentRepository.findByStudentSubjectIdAndTypeAndTermAndAcademicYear(1L,
+                        AssessmentType.COURSEWORK, TERM, YEAR));
+
+        finders.put("Student.findByStudentId", () -> studentRepository.findByStudentId("S1001"));
+        finders.put("Student.findByFormAndSection", () -> studentRepository.findByFormAndSection(FORM, SECTION));
+        finders.put("Student.existsByFormAndSection", () -> studentRepository.existsByFormAndSection(FORM, SECTION));
+        finders.put("Student.findByFormAndSectionAndYear",
+                () -> studentRepository.findByFormAndSectionAndYear(FORM, SECTION, YEAR));
+        finders.put("Student.countByFormAndSectionAndAcademicYear",
+                () -> studentRepository.countByFormAndSectionAndAcademicYear(FORM, SECTION, YEAR));
+        finders.put("Student.findByForm", () -> studentRepository.findByForm(FORM));
+
+        finders.put("Report.findByStudentId", () -> reportRepository.findByStudentId(1L));
+        finders.put("Report.findByClassTeacherId", () -> reportRepository.findByClassTeacherId(1L));
+        finders.put("Report.findByStudentIdAndTermAndAcademicYear",
+                () -> reportRepository.findByStudentIdAndTermAndAcademicYear(1L, TERM, YEAR));
+        finders.put("Report.findByFormAndSectionAndTermAndAcademicYear",
+                () -> reportRepository.findByFormAndSectionAndTermAndAcademicYear(FORM, SECTION, TERM, YEAR));
+        finders.put("Report.findByStudentIdInAndTermAndAcademicYear",
+                () -> reportRepository.findByStudentIdInAndTermAndAcademicYear(List.of(1L, 2L), TERM, YEAR));
+
+        finders.put("Attendance.findByDate", () -> attendanceRepository.findByDate(today));
+        finders.put("Attendance.findByStudentIdAndDate", () -> attendanceRepository.findByStudentIdAndDate(1L, today));
+        finders.put("Attendance.findByStudentIdAndDateRange",
+                () -> attendanceRepository.findByStudentIdAndDateRange(1L, today.minusDays(30), today));
+        finders.put("Attendance.findByStudentFormAndStudentSectionAndDate",
+                () -> attendanceRepository.findByStudentFormAndStudentSectionAndDate(FORM, SECTION, today));
+
+        finders.put("TeacherSubjectClass.findByFormAndSectionAndYear",
+                () -> teacherSubjectClassRepository.findByFormAndSectionAndYear(FORM, SECTION, YEAR));
+        finders.put("TeacherSubjectClass.findBySubjectIdAndFormAndSectionAndAcademicYear",
+                () -> teacherSubjectClassRepository.findBySubjectIdAndFormAndSectionAndAcademicYear(1L, FORM, SECTION, YEAR));
+
+        finders.put("PaymentDailyRollup.sumByDay",
+                () -> paymentDailyRollupRepository.sumByDay(today.minusDays(365), today));
+        finders.put("PaymentDailyRollup.sumByTerm",
+                () -> paymentDailyRollupRepository.sumByTerm(today.minusDays(365), today));
+
+        List<String> failures = new ArrayList<>();
+        CapturingStatementInspector.drain();
+        for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+            finder.getValue().run();
+            List<String> statements = CapturingStatementInspector.drain();
+            assertFalse(statements.isEmpty(), finder.getKey() + " issued no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                Matcher matcher = UNCONDITIONED_ACCESS.matcher(plan);
+                if (matcher.find()) {
+                    failures.add(finder.getKey() + " reads " + matcher.group(1) + " without an index:\n" + plan);
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> explain(connection, sql));
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // The plan is fixed when the statement is prepared; the values only have to be bound
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+}
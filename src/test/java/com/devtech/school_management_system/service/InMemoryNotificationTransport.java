@@ -0,0 +1,39 @@
+package com.devtech.school_management_system.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process transport for tests. Records every delivered message and can be told to fail the next N sends.
+ * Register it as a {@code @Primary} bean to replace WhatsApp delivery.
+ */
+public class InMemoryNotificationTransport implements NotificationTransport {
+
+    public record SentMessage(String recipient, String message) {
+    }
+
+    private final List<SentMessage> sent = new CopyOnWriteArrayList<>();
+    private int failuresRemaining;
+
+    @Override
+    public synchronized void send(String recipient, String message) throws Exception {
+        if (failuresRemaining > 0) {
+            failuresRemaining--;
+            throw new Exception("Simulated transport failure");
+        }
+        sent.add(new SentMessage(recipient, message));
+    }
+
+    public synchronized void failNext(int count) {
+        this.failuresRemaining = count;
+    }
+
+    public List<SentMessage> getSent() {
+        return new ArrayList<>(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
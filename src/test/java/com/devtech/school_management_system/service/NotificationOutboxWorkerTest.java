@@ -0,0 +1,244 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.Guardian;
+import com.devtech.school_management_system.entity.NotificationOutbox;
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.enums.NotificationStatus;
+import com.devtech.school_management_system.repository.GuardianRepository;
+import com.devtech.school_management_system.repository.NotificationOutboxRepository;
+import com.devtech.school_management_system.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the outbox end to end on embedded H2: absentee messages are enqueued through NotificationOutboxService
+ * and delivered by NotificationOutboxWorker to an InMemoryNotificationTransport. The tests run outside a test
+ * transaction because the worker claims, sends and records each message in transactions of its own.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY,DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({NotificationOutboxService.class, WhatsAppService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationOutboxWorkerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 14);
+
+    @Autowired private NotificationOutboxService notificationOutboxService;
+    @Autowired private NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private GuardianRepository guardianRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final InMemoryNotificationTransport transport = new InMemoryNotificationTransport();
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        student = new Student();
+        student.setFirstName("Tendai");
+        student.setLastName("Moyo");
+        student.setStudentId("S1001");
+        student.setForm("Form 1");
+        student.setSection("A");
+        student.setLevel("O_LEVEL");
+        student.setAcademicYear("2025");
+        student = studentRepository.save(student);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationOutboxRepository.deleteAll();
+        guardianRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void enqueueWritesOneMessagePerRecipientOnce() {
+        addGuardian("Mother", "263771000001", true);
+        addGuardian("Father", "263771000001", false);
+        addGuardian("Aunt", "263771000002", false);
+
+        assertEquals(2, notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE));
+        // Marking the same absence again must not message anyone twice
+        assertEquals(0, notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE));
+
+        List<NotificationOutbox> queued = notificationOutboxRepository.findAll();
+        assertEquals(2, queued.size());
+        assertTrue(queued.stream().allMatch(message -> message.getStatus() == NotificationStatus.PENDING));
+        assertEquals(2, queued.stream().map(NotificationOutbox::getRecipient).distinct().count());
+    }
+
+    @Test
+    void insertSkipsMessagesAnotherTransactionAlreadyQueued() {
+        addGuardian("Mother", "263771000001", true);
+        notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE);
+        NotificationOutbox queued = onlyMessage();
+
+        // What a concurrent enqueue that passed the dedup lookup at the same time ends up inserting
+        notificationOutboxRepository.batchInsertIgnoringDuplicates(List.of(
+                new NotificationOutbox(queued.getRecipient(), queued.getMessage(), queued.getDedupKey())));
+
+        assertEquals(queued.getId(), onlyMessage().getId());
+    }
+
+    @Test
+    void drainDeliversQueuedMessagesAndMarksThemSent() {
+        addGuardian("Mother", "263771000001", true);
+        addGuardian("Aunt", "263771000002", false);
+        notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE);
+
+        worker(5).drain();
+
+        assertEquals(2, transport.getSent().size());
+        assertTrue(transport.getSent().stream().allMatch(sent -> sent.message().contains("Tendai Moyo")));
+        for (NotificationOutbox message : notificationOutboxRepository.findAll()) {
+            assertEquals(NotificationStatus.SENT, message.getStatus());
+            assertEquals(1, message.getAttempts());
+        }
+        assertEquals(0, notificationOutboxService.countPending());
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoffAndThenSucceeds() {
+        addGuardian("Mother", "263771000001", true);
+        notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE);
+        NotificationOutboxWorker worker = worker(5);
+
+        transport.failNext(1);
+        LocalDateTime beforeFailure = LocalDateTime.now();
+        worker.drain();
+
+        NotificationOutbox failed = onlyMessage();
+        assertTrue(transport.getSent().isEmpty());
+        assertEquals(NotificationStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertEquals("Simulated transport failure", failed.getLastError());
+        assertTrue(!failed.getNextAttemptAt().isBefore(beforeFailure.plus(BASE_BACKOFF)),
+                "retry was not pushed back by the base backoff");
+
+        // Not due yet, so an immediate poll leaves it alone
+        worker.drain();
+        assertTrue(transport.getSent().isEmpty());
+        assertEquals(1, onlyMessage().getAttempts());
+
+        makeDue(failed);
+        worker.drain();
+
+        NotificationOutbox sent = onlyMessage();
+        assertEquals(1, transport.getSent().size());
+        assertEquals(NotificationStatus.SENT, sent.getStatus());
+        assertEquals(2, sent.getAttempts());
+        assertNull(sent.getLastError());
+    }
+
+    @Test
+    void messageIsParkedAsFailedAfterMaxAttempts() {
+        addGuardian("Mother", "263771000001", true);
+        notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE);
+        NotificationOutboxWorker worker = worker(2);
+
+        transport.failNext(2);
+        worker.drain();
+        makeDue(onlyMessage());
+        worker.drain();
+
+        NotificationOutbox parked = onlyMessage();
+        assertEquals(NotificationStatus.FAILED, parked.getStatus());
+        assertEquals(2, parked.getAttempts());
+        assertTrue(transport.getSent().isEmpty());
+        assertEquals(0, notificationOutboxService.countPending());
+    }
+
+    @Test
+    void claimSkipsMessagesLockedByAnotherInstance() throws Exception {
+        addGuardian("Mother", "263771000001", true);
+        addGuardian("Aunt", "263771000002", false);
+        notificationOutboxService.enqueueAbsenteeNotifications(List.of(student), DATE);
+
+        Long lockedId = notificationOutboxRepository.findAll().getFirst().getId();
+
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // This transaction holds the row lock of one due message until it ends. It locks by id because
+                // H2, unlike MySQL, locks every row an ORDER BY ... LIMIT FOR UPDATE reads, not just those returned
+                jdbcTemplate.queryForObject("SELECT id FROM notification_outbox WHERE id = ? FOR UPDATE",
+                        Long.class, lockedId);
+                try {
+                    List<NotificationOutbox> claimed = otherInstance
+                            .submit(() -> notificationOutboxService.claimDueBatch(10, LEASE))
+                            .get(10, TimeUnit.SECONDS);
+                    assertEquals(1, claimed.size(), "claim did not skip the locked row");
+                    assertNotEquals(lockedId, claimed.getFirst().getId());
+                } catch (Exception e) {
+                    throw new AssertionError("claim blocked on or failed over the locked row", e);
+                }
+            });
+        } finally {
+            otherInstance.shutdownNow();
+        }
+    }
+
+    private NotificationOutboxWorker worker(int maxAttempts) {
+        return new NotificationOutboxWorker(notificationOutboxService, transport, new SimpleMeterRegistry(),
+                2, 50, maxAttempts, LEASE, BASE_BACKOFF, MAX_BACKOFF);
+    }
+
+    private void addGuardian(String relationship, String whatsappNumber, boolean primary) {
+        Guardian guardian = new Guardian();
+        guardian.setStudent(student);
+        guardian.setName(relationship + " Moyo");
+        guardian.setRelationship(relationship);
+        guardian.setPhoneNumber(whatsappNumber);
+        guardian.setWhatsappNumber(whatsappNumber);
+        guardian.setPrimaryGuardian(primary);
+        guardianRepository.save(guardian);
+    }
+
+    private NotificationOutbox onlyMessage() {
+        List<NotificationOutbox> messages = notificationOutboxRepository.findAll();
+        assertEquals(1, messages.size());
+        return messages.getFirst();
+    }
+
+    // Stands in for the backoff elapsing
+    private void makeDue(NotificationOutbox message) {
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        notificationOutboxRepository.save(message);
+    }
+}
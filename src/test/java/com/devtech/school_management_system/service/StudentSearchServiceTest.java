@@ -0,0 +1,99 @@
+package com.devtech.school_management_system.service;
+
+import com.devtech.school_management_system.entity.Student;
+import com.devtech.school_management_system.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the ranking of student search on embedded H2: an exact student ID first, then student ID prefixes, then
+ * name prefixes, with the infix scan used only when nothing matches by prefix. The trigram index must rank the
+ * same way as the database.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:studentsearch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY,DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StudentSearchService.class)
+class StudentSearchServiceTest {
+
+    @Autowired private StudentSearchService studentSearchService;
+    @Autowired private StudentRepository studentRepository;
+
+    @Test
+    void exactStudentIdRanksAheadOfLongerIds() {
+        // By name alone the exact match would come last
+        Student exact = addStudent("S100", "Zodwa", "Zulu");
+        Student first = addStudent("S1001", "Anesu", "Banda");
+        Student second = addStudent("S1002", "Bongani", "Chari");
+
+        assertEquals(ids(exact, first, second), ids(studentSearchService.search("S100", 0, 10)));
+        assertEquals(ids(exact), ids(studentSearchService.search("s100", 0, 1)));
+        assertEquals(ids(second), ids(studentSearchService.search("S100", 1, 2)));
+    }
+
+    @Test
+    void studentIdPrefixRanksAheadOfNamePrefix() {
+        Student byName = addStudent("X900", "Tatenda", "Moyo");
+        Student byId = addStudent("TA01", "Zvikomborero", "Ncube");
+
+        assertEquals(ids(byId, byName), ids(studentSearchService.search("ta", 0, 10)));
+    }
+
+    @Test
+    void infixScanRunsOnlyWithoutPrefixMatches() {
+        Student tatenda = addStudent("S2001", "Tatenda", "Moyo");
+        Student rudo = addStudent("S2002", "Rudo", "Moyo");
+
+        // No name or ID starts with "moyo", so the infix scan finds the last names, ordered by name
+        assertEquals(ids(rudo, tatenda), ids(studentSearchService.search("Moyo", 0, 10)));
+
+        // Once a name starts with it, the last names are no longer searched
+        Student moyo = addStudent("S2003", "Moyo", "Dube");
+        assertEquals(ids(moyo), ids(studentSearchService.search("Moyo", 0, 10)));
+    }
+
+    @Test
+    void trigramIndexRanksLikeTheDatabase() {
+        Student exact = addStudent("S100", "Zodwa", "Zulu");
+        Student first = addStudent("S1001", "Anesu", "Banda");
+        Student byName = addStudent("X900", "S100 Tapiwa", "Gumbo");
+
+        StudentNgramIndex index = new StudentNgramIndex();
+        index.load(studentRepository.findAllSearchRows());
+
+        assertEquals(ids(exact, first, byName), index.search("s100", 0, 10));
+    }
+
+    private Student addStudent(String studentId, String firstName, String lastName) {
+        Student student = new Student();
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setStudentId(studentId);
+        student.setForm("Form 1");
+        student.setSection("A");
+        student.setLevel("O_LEVEL");
+        student.setAcademicYear("2025");
+        return studentRepository.save(student);
+    }
+
+    private static List<Long> ids(Student... students) {
+        return ids(List.of(students));
+    }
+
+    private static List<Long> ids(List<Student> students) {
+        return students.stream().map(Student::getId).toList();
+    }
+}
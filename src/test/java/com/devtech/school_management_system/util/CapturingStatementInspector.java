@@ -0,0 +1,35 @@
+package com.devtech.school_management_system.util;
+
+import com.devtech.school_management_system.config.QueryCountInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement inspector for tests that need the SQL Hibernate actually generates, e.g. to EXPLAIN it.
+ * Register with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}; statements are
+ * still counted by {@link QueryCounter}.
+ */
+public class CapturingStatementInspector extends QueryCountInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return super.inspect(sql);
+    }
+
+    /**
+     * Returns the statements captured since the last call and clears them.
+     */
+    public static List<String> drain() {
+        synchronized (STATEMENTS) {
+            List<String> captured = new ArrayList<>(STATEMENTS);
+            STATEMENTS.clear();
+            return captured;
+        }
+    }
+}
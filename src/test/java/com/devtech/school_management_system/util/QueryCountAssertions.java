@@ -0,0 +1,56 @@
+package com.devtech.school_management_system.util;
+
+/**
+ * Query-count checks for integration tests. Wrap a MockMvc call (which runs on the test thread) or a service call:
+ * <pre>
+ * QueryCountAssertions.assertStatements(3, () -&gt; mockMvc.perform(get("/api/subjects")));
+ * </pre>
+ * Only statements issued through Hibernate on the calling thread are counted.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryCounter.Snapshot count(Action action) throws Exception {
+        QueryCounter.start();
+        try {
+            action.run();
+        } catch (Exception | Error e) {
+            QueryCounter.stop();
+            throw e;
+        }
+        return QueryCounter.stop();
+    }
+
+    public static QueryCounter.Snapshot assertStatements(long expected, Action action) throws Exception {
+        QueryCounter.Snapshot counts = count(action);
+        if (counts.statements() != expected) {
+            throw new AssertionError("Expected " + expected + " SQL statements but got " + counts);
+        }
+        return counts;
+    }
+
+    public static QueryCounter.Snapshot assertMaxStatements(long max, Action action) throws Exception {
+        QueryCounter.Snapshot counts = count(action);
+        if (counts.statements() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but got " + counts);
+        }
+        return counts;
+    }
+
+    public static QueryCounter.Snapshot assertCounts(long statements, long entityLoads, long collectionFetches,
+                                                     Action action) throws Exception {
+        QueryCounter.Snapshot counts = count(action);
+        QueryCounter.Snapshot expected = new QueryCounter.Snapshot(statements, entityLoads, collectionFetches);
+        if (!counts.equals(expected)) {
+            throw new AssertionError("Expected " + expected + " but got " + counts);
+        }
+        return counts;
+    }
+}